@@ -291,6 +291,12 @@ open class OpenApiGeneratorGenerateExtension(project: Project) {
      */
     val configOptions = project.objects.property<Map<String, String>>()
 
+    /**
+     * How generation is isolated from the build: "none" (default) shares the plugin's already loaded generator
+     * classes, "classloader" runs in an isolated classloader, and "process" runs in a separate worker process.
+     */
+    val workerIsolation = project.objects.property<String>()
+
     init {
         applyDefaults()
     }
@@ -311,5 +317,6 @@ open class OpenApiGeneratorGenerateExtension(project: Project) {
         enablePostProcessFile.set(false)
         skipValidateSpec.set(false)
         generateAliasAsModel.set(false)
+        workerIsolation.set("none")
     }
 }
\ No newline at end of file
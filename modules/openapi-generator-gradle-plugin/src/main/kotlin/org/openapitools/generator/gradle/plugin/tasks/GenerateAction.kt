@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.generator.gradle.plugin.tasks
+
+import org.gradle.api.GradleException
+import org.gradle.api.logging.Logging
+import org.gradle.api.provider.MapProperty
+import org.gradle.api.provider.Property
+import org.gradle.workers.WorkAction
+import org.gradle.workers.WorkParameters
+import org.openapitools.codegen.CodegenConstants
+import org.openapitools.codegen.DefaultGenerator
+import org.openapitools.codegen.config.CodegenConfigurator
+import org.openapitools.codegen.config.GeneratorProperties
+
+/**
+ * The unit of work submitted by [GenerateTask] to Gradle's worker API.
+ *
+ * Everything the generator needs travels in the (serializable) [CodegenConfigurator], and all generator
+ * settings are scoped to the worker thread, so several actions can run side by side in one JVM.
+ */
+abstract class GenerateAction : WorkAction<GenerateAction.Parameters> {
+
+    interface Parameters : WorkParameters {
+        val configurator: Property<CodegenConfigurator>
+        val configOptions: MapProperty<String, String>
+    }
+
+    override fun execute() {
+        val configurator = parameters.configurator.get()
+        val configOptions = parameters.configOptions.get()
+        try {
+            // file constraints are only taken from the task, not from the JVM or a previous task on this thread
+            listOf(CodegenConstants.MODELS, CodegenConstants.APIS, CodegenConstants.SUPPORTING_FILES).forEach {
+                GeneratorProperties.clearProperty(it)
+            }
+
+            val clientOptInput = configurator.toClientOptInput()
+            val codegenConfig = clientOptInput.config
+
+            codegenConfig.cliOptions().forEach {
+                if (configOptions.containsKey(it.opt)) {
+                    codegenConfig.additionalProperties()[it.opt] = configOptions[it.opt]
+                }
+            }
+
+            try {
+                DefaultGenerator().opts(clientOptInput).generate()
+
+                Logging.getLogger(GenerateAction::class.java).lifecycle("Successfully generated code to ${configurator.outputDir}")
+            } catch (e: RuntimeException) {
+                throw GradleException("Code generation failed.", e)
+            }
+        } finally {
+            GeneratorProperties.reset()
+        }
+    }
+}
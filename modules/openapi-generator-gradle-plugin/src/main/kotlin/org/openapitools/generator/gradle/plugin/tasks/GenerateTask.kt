@@ -19,16 +19,25 @@ package org.openapitools.generator.gradle.plugin.tasks
 import org.gradle.api.DefaultTask
 import org.gradle.api.GradleException
 import org.gradle.api.provider.Property
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Console
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputDirectory
+import org.gradle.api.tasks.InputFile
 import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
 import org.gradle.api.tasks.TaskAction
-import org.gradle.internal.logging.text.StyledTextOutput
-import org.gradle.internal.logging.text.StyledTextOutputFactory
 import org.gradle.kotlin.dsl.listProperty
 import org.gradle.kotlin.dsl.property
+import org.gradle.workers.WorkerExecutor
 import org.openapitools.codegen.CodegenConstants
-import org.openapitools.codegen.DefaultGenerator
 import org.openapitools.codegen.config.CodegenConfigurator
-import org.openapitools.codegen.config.GeneratorProperties
+import org.openapitools.codegen.utils.ImplementationVersion
+import java.io.File
+import javax.inject.Inject
 
 
 /**
@@ -38,57 +47,66 @@ import org.openapitools.codegen.config.GeneratorProperties
  *
  * ./gradlew -q openApiGenerate
  *
+ * The task declares its inputs and outputs, so it is skipped when nothing changed since the last run
+ * and its output can be restored from the build cache.
+ *
+ * Generation is submitted to Gradle's worker API, so independent generate tasks run concurrently.
+ *
  * @author Jim Schubert
  */
-open class GenerateTask : DefaultTask() {
+@CacheableTask
+open class GenerateTask @Inject constructor(private val workerExecutor: WorkerExecutor) : DefaultTask() {
 
     /**
      * The verbosity of generation
      */
-    @get:Internal
+    @get:Console
     val verbose = project.objects.property<Boolean>()
 
     /**
      * Whether or not an input specification should be validated upon generation.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val validateSpec = project.objects.property<Boolean>()
 
     /**
      * The name of the generator which will handle codegen. (see "openApiGenerators" task)
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generatorName = project.objects.property<String>()
 
     /**
      * The output target directory into which code will be generated.
      */
-    @get:Internal
+    @get:Internal // tracked through the file getters below, so absolute paths don't break the build cache
     val outputDir = project.objects.property<String>()
 
     /**
      * The Open API 2.0/3.x specification location.
      */
-    @get:Internal
+    @get:Internal // tracked through the file getters below, so absolute paths don't break the build cache
     val inputSpec = project.objects.property<String>()
 
     /**
      * The template directory holding a custom template.
      */
-    @get:Internal
+    @get:Internal // tracked through the file getters below, so absolute paths don't break the build cache
     val templateDir = project.objects.property<String?>()
 
     /**
      * Adds authorization headers when fetching the OpenAPI definitions remotely.
      * Pass in a URL-encoded string of name:header with a comma separating multiple values
      */
-    @get:Internal
+    @get:Internal // credentials don't change the generated output
     val auth = project.objects.property<String>()
 
     /**
      * Sets specified system properties.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val systemProperties = project.objects.property<Map<String, String>>()
 
     /**
@@ -96,140 +114,161 @@ open class GenerateTask : DefaultTask() {
      * File content should be in a json format { "optionKey":"optionValue", "optionKey1":"optionValue1"...}
      * Supported options can be different for each language. Run config-help -g {generator name} command for language specific config options.
      */
-    @get:Internal
+    @get:Internal // tracked through the file getters below, so absolute paths don't break the build cache
     val configFile = project.objects.property<String>()
 
     /**
      * Specifies if the existing files should be overwritten during the generation.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val skipOverwrite = project.objects.property<Boolean?>()
 
     /**
      * Package for generated api classes
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val apiPackage = project.objects.property<String>()
 
     /**
      * Package for generated models
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelPackage = project.objects.property<String>()
 
     /**
      * Prefix that will be prepended to all model names. Default is the empty string.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelNamePrefix = project.objects.property<String>()
 
     /**
      * Suffix that will be appended to all model names. Default is the empty string.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelNameSuffix = project.objects.property<String>()
 
     /**
      * Sets instantiation type mappings.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val instantiationTypes = project.objects.property<Map<String, String>>()
 
     /**
      * Sets mappings between OpenAPI spec types and generated code types.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val typeMappings = project.objects.property<Map<String, String>>()
 
     /**
      * Sets additional properties that can be referenced by the mustache templates in the format of name=value,name=value.
      * You can also have multiple occurrences of this option.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val additionalProperties = project.objects.property<Map<String, String>>()
 
     /**
      * Specifies additional language specific primitive types in the format of type1,type2,type3,type3. For example: String,boolean,Boolean,Double.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val languageSpecificPrimitives = project.objects.listProperty<String>()
 
     /**
      * Specifies mappings between a given class and the import that should be used for that class.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val importMappings = project.objects.property<Map<String, String>>()
 
     /**
      * Root package for generated code.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val invokerPackage = project.objects.property<String>()
 
     /**
      * GroupId in generated pom.xml/build.gradle or other build script. Language-specific conversions occur in non-jvm generators.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val groupId = project.objects.property<String>()
 
     /**
      * ArtifactId in generated pom.xml/build.gradle or other build script. Language-specific conversions occur in non-jvm generators.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val id = project.objects.property<String>()
 
     /**
      * Artifact version in generated pom.xml/build.gradle or other build script. Language-specific conversions occur in non-jvm generators.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val version = project.objects.property<String>()
 
     /**
      * Reference the library template (sub-template) of a generator.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val library = project.objects.property<String?>()
 
     /**
      * Git user ID, e.g. openapitools.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val gitUserId = project.objects.property<String?>()
 
     /**
      * Git repo ID, e.g. openapi-generator.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val gitRepoId = project.objects.property<String?>()
 
     /**
      * Release note, default to 'Minor update'.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val releaseNote = project.objects.property<String?>()
 
     /**
      * HTTP user agent, e.g. codegen_csharp_api_client, default to 'OpenAPI-Generator/{packageVersion}}/{language}'
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val httpUserAgent = project.objects.property<String?>()
 
     /**
      * Specifies how a reserved name should be escaped to.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val reservedWordsMappings = project.objects.property<Map<String, String>>()
 
     /**
      * Specifies an override location for the .openapi-generator-ignore file. Most useful on initial generation.
      */
-    @get:Internal
+    @get:Internal // tracked through the file getters below, so absolute paths don't break the build cache
     val ignoreFileOverride = project.objects.property<String?>()
 
     /**
      * Remove prefix of operationId, e.g. config_getId => getId
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val removeOperationIdPrefix = project.objects.property<Boolean?>()
 
     /**
@@ -241,7 +280,8 @@ open class GenerateTask : DefaultTask() {
      *   in others being disabled. That is, OpenAPI Generator considers any one of these to define a subset of generation.
      *   For more control over generation of individual files, configure an ignore file and refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val apiFilesConstrainedTo = project.objects.listProperty<String>()
 
     /**
@@ -251,7 +291,8 @@ open class GenerateTask : DefaultTask() {
      *   in others being disabled. That is, OpenAPI Generator considers any one of these to define a subset of generation.
      *   For more control over generation of individual files, configure an ignore file and refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelFilesConstrainedTo = project.objects.listProperty<String>()
 
     /**
@@ -264,7 +305,8 @@ open class GenerateTask : DefaultTask() {
      *   in others being disabled. That is, OpenAPI Generator considers any one of these to define a subset of generation.
      *   For more control over generation of individual files, configure an ignore file and refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val supportingFilesConstrainedTo = project.objects.listProperty<String>()
 
     /**
@@ -275,7 +317,8 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateModelTests = project.objects.property<Boolean>()
 
     /**
@@ -286,7 +329,8 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateModelDocumentation = project.objects.property<Boolean>()
 
     /**
@@ -297,7 +341,8 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateApiTests = project.objects.property<Boolean>()
 
     /**
@@ -308,21 +353,23 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateApiDocumentation = project.objects.property<Boolean>()
 
     /**
      * A special-case setting which configures some generators with XML support. In some cases,
      * this forces json OR xml, so the default here is false.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val withXml = project.objects.property<Boolean>()
 
 
     /**
      * To write all log messages (not just errors) to STDOUT
      */
-    @get:Internal
+    @get:Console
     val logToStderr = project.objects.property<Boolean>()
 
     /**
@@ -331,13 +378,15 @@ open class GenerateTask : DefaultTask() {
      * LANG_POST_PROCESS_FILE (e.g. GO_POST_PROCESS_FILE, SCALA_POST_PROCESS_FILE). Please open an issue if your target
      * generator does not support this functionality.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val enablePostProcessFile = project.objects.property<Boolean>()
 
     /**
      * To skip spec validation. When true, we will skip the default behavior of validating a spec before generation.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val skipValidateSpec = project.objects.property<Boolean>()
 
     /**
@@ -345,15 +394,95 @@ open class GenerateTask : DefaultTask() {
      * definitions generated as top-level Array-of-items, List-of-items, Map-of-items definitions.
      * When true, A model representation either containing or extending the array,list,map (depending on specific generator implementation) will be generated.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateAliasAsModel = project.objects.property<Boolean>()
 
     /**
      * A dynamic map of options specific to a generator.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val configOptions = project.objects.property<Map<String, String>>()
 
+    /**
+     * How generation is isolated from the build: "none" (default) shares the plugin's already loaded generator
+     * classes, "classloader" runs in an isolated classloader, and "process" runs in a separate worker process.
+     */
+    @get:Internal
+    val workerIsolation = project.objects.property<String>()
+
+    /**
+     * The local specification file, or null when [inputSpec] refers to a remote location.
+     */
+    @get:InputFile
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.NAME_ONLY)
+    val inputSpecFile: File?
+        get() = localFile(inputSpec.orNull)?.takeIf { it.isFile }
+
+    /**
+     * The specification URL, or null when [inputSpec] refers to a local file.
+     */
+    @get:Input
+    @get:Optional
+    val remoteInputSpec: String?
+        get() = inputSpec.orNull?.takeIf { isRemote(it) }
+
+    /**
+     * The custom template directory, or null when no (existing) [templateDir] is configured.
+     */
+    @get:InputDirectory
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    val templateDirectory: File?
+        get() = localFile(templateDir.orNull)?.takeIf { it.isDirectory }
+
+    /**
+     * The json configuration file, or null when no [configFile] is configured.
+     */
+    @get:InputFile
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.NONE)
+    val configurationFile: File?
+        get() = localFile(configFile.orNull)?.takeIf { it.isFile }
+
+    /**
+     * The ignore file override, or null when no (existing) [ignoreFileOverride] is configured.
+     */
+    @get:InputFile
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.NONE)
+    val ignoreFile: File?
+        get() = localFile(ignoreFileOverride.orNull)?.takeIf { it.isFile }
+
+    /**
+     * The directory receiving the generated code.
+     */
+    @get:OutputDirectory
+    @get:Optional
+    val outputDirectory: File?
+        get() = localFile(outputDir.orNull)
+
+    /**
+     * The version of OpenAPI Generator, so that upgrading the generator invalidates previously generated code.
+     */
+    @get:Input
+    val generatorVersion: String
+        get() = ImplementationVersion.read()
+
+    init {
+        // the content behind a URL can't be fingerprinted, so always regenerate from remote specifications,
+        // neither reusing the previous output nor restoring a possibly stale one from the build cache
+        outputs.upToDateWhen { remoteInputSpec == null }
+        outputs.doNotCacheIf("remote input spec") { remoteInputSpec != null }
+    }
+
+    private fun localFile(location: String?): File? =
+            if (location == null || location.isEmpty() || isRemote(location)) null else project.file(location)
+
+    private fun isRemote(location: String): Boolean = location.matches(Regex("^[a-zA-Z][a-zA-Z0-9+.-]*://.*"))
+
     private fun <T : Any?> Property<T>.ifNotEmpty(block: Property<T>.(T) -> Unit) {
         if (isPresent) {
             val item: T? = get()
@@ -378,226 +507,201 @@ open class GenerateTask : DefaultTask() {
             CodegenConfigurator.fromFile(configFile.get())
         } else CodegenConfigurator()
 
-        try {
-            if (systemProperties.isPresent) {
-                systemProperties.get().forEach { (key, value) ->
-                    configurator.addSystemProperty(key, value)
-                }
-            }
-
-            if (supportingFilesConstrainedTo.isPresent && supportingFilesConstrainedTo.get().isNotEmpty()) {
-                GeneratorProperties.setProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesConstrainedTo.get().joinToString(","))
-            } else {
-                GeneratorProperties.clearProperty(CodegenConstants.SUPPORTING_FILES)
-            }
-
-            if (modelFilesConstrainedTo.isPresent && modelFilesConstrainedTo.get().isNotEmpty()) {
-                GeneratorProperties.setProperty(CodegenConstants.MODELS, modelFilesConstrainedTo.get().joinToString(","))
-            } else {
-                GeneratorProperties.clearProperty(CodegenConstants.MODELS)
-            }
+        if (supportingFilesConstrainedTo.isPresent && supportingFilesConstrainedTo.get().isNotEmpty()) {
+            configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesConstrainedTo.get().joinToString(","))
+        }
 
-            if (apiFilesConstrainedTo.isPresent && apiFilesConstrainedTo.get().isNotEmpty()) {
-                GeneratorProperties.setProperty(CodegenConstants.APIS, apiFilesConstrainedTo.get().joinToString(","))
-            } else {
-                GeneratorProperties.clearProperty(CodegenConstants.APIS)
-            }
+        if (modelFilesConstrainedTo.isPresent && modelFilesConstrainedTo.get().isNotEmpty()) {
+            configurator.addSystemProperty(CodegenConstants.MODELS, modelFilesConstrainedTo.get().joinToString(","))
+        }
 
-            if (generateApiDocumentation.isPresent) {
-                GeneratorProperties.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.get().toString())
-            }
+        if (apiFilesConstrainedTo.isPresent && apiFilesConstrainedTo.get().isNotEmpty()) {
+            configurator.addSystemProperty(CodegenConstants.APIS, apiFilesConstrainedTo.get().joinToString(","))
+        }
 
-            if (generateModelDocumentation.isPresent) {
-                GeneratorProperties.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.get().toString())
-            }
+        if (generateApiDocumentation.isPresent) {
+            configurator.addSystemProperty(CodegenConstants.API_DOCS, generateApiDocumentation.get().toString())
+        }
 
-            if (generateModelTests.isPresent) {
-                GeneratorProperties.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.get().toString())
-            }
+        if (generateModelDocumentation.isPresent) {
+            configurator.addSystemProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.get().toString())
+        }
 
-            if (generateApiTests.isPresent) {
-                GeneratorProperties.setProperty(CodegenConstants.API_TESTS, generateApiTests.get().toString())
-            }
+        if (generateModelTests.isPresent) {
+            configurator.addSystemProperty(CodegenConstants.MODEL_TESTS, generateModelTests.get().toString())
+        }
 
-            if (withXml.isPresent) {
-                GeneratorProperties.setProperty(CodegenConstants.WITH_XML, withXml.get().toString())
-            }
+        if (generateApiTests.isPresent) {
+            configurator.addSystemProperty(CodegenConstants.API_TESTS, generateApiTests.get().toString())
+        }
 
-            // now override with any specified parameters
-            verbose.ifNotEmpty { value ->
-                configurator.isVerbose = value
-            }
+        if (withXml.isPresent) {
+            configurator.addSystemProperty(CodegenConstants.WITH_XML, withXml.get().toString())
+        }
 
-            validateSpec.ifNotEmpty { value ->
-                configurator.isValidateSpec = value
-            }
+        // now override with any specified parameters
+        verbose.ifNotEmpty { value ->
+            configurator.isVerbose = value
+        }
 
-            skipOverwrite.ifNotEmpty { value ->
-                configurator.isSkipOverwrite = value ?: false
-            }
+        validateSpec.ifNotEmpty { value ->
+            configurator.isValidateSpec = value
+        }
 
-            inputSpec.ifNotEmpty { value ->
-                configurator.inputSpec = value
-            }
+        skipOverwrite.ifNotEmpty { value ->
+            configurator.isSkipOverwrite = value ?: false
+        }
 
-            generatorName.ifNotEmpty { value ->
-                configurator.generatorName = value
-            }
+        inputSpec.ifNotEmpty { value ->
+            configurator.inputSpec = value
+        }
 
-            outputDir.ifNotEmpty { value ->
-                configurator.outputDir = value
-            }
+        generatorName.ifNotEmpty { value ->
+            configurator.generatorName = value
+        }
 
-            auth.ifNotEmpty { value ->
-                configurator.auth = value
-            }
+        outputDir.ifNotEmpty { value ->
+            configurator.outputDir = value
+        }
 
-            templateDir.ifNotEmpty { value ->
-                configurator.templateDir = value
-            }
+        auth.ifNotEmpty { value ->
+            configurator.auth = value
+        }
 
-            apiPackage.ifNotEmpty { value ->
-                configurator.apiPackage = value
-            }
+        templateDir.ifNotEmpty { value ->
+            configurator.templateDir = value
+        }
 
-            modelPackage.ifNotEmpty { value ->
-                configurator.modelPackage = value
-            }
+        apiPackage.ifNotEmpty { value ->
+            configurator.apiPackage = value
+        }
 
-            modelNamePrefix.ifNotEmpty { value ->
-                configurator.modelNamePrefix = value
-            }
+        modelPackage.ifNotEmpty { value ->
+            configurator.modelPackage = value
+        }
 
-            modelNameSuffix.ifNotEmpty { value ->
-                configurator.modelNameSuffix = value
-            }
+        modelNamePrefix.ifNotEmpty { value ->
+            configurator.modelNamePrefix = value
+        }
 
-            invokerPackage.ifNotEmpty { value ->
-                configurator.invokerPackage = value
-            }
+        modelNameSuffix.ifNotEmpty { value ->
+            configurator.modelNameSuffix = value
+        }
 
-            groupId.ifNotEmpty { value ->
-                configurator.groupId = value
-            }
+        invokerPackage.ifNotEmpty { value ->
+            configurator.invokerPackage = value
+        }
 
-            id.ifNotEmpty { value ->
-                configurator.artifactId = value
-            }
+        groupId.ifNotEmpty { value ->
+            configurator.groupId = value
+        }
 
-            version.ifNotEmpty { value ->
-                configurator.artifactVersion = value
-            }
+        id.ifNotEmpty { value ->
+            configurator.artifactId = value
+        }
 
-            library.ifNotEmpty { value ->
-                configurator.library = value
-            }
+        version.ifNotEmpty { value ->
+            configurator.artifactVersion = value
+        }
 
-            gitUserId.ifNotEmpty { value ->
-                configurator.gitUserId = value
-            }
+        library.ifNotEmpty { value ->
+            configurator.library = value
+        }
 
-            gitRepoId.ifNotEmpty { value ->
-                configurator.gitRepoId = value
-            }
+        gitUserId.ifNotEmpty { value ->
+            configurator.gitUserId = value
+        }
 
-            releaseNote.ifNotEmpty { value ->
-                configurator.releaseNote = value
-            }
+        gitRepoId.ifNotEmpty { value ->
+            configurator.gitRepoId = value
+        }
 
-            httpUserAgent.ifNotEmpty { value ->
-                configurator.httpUserAgent = value
-            }
+        releaseNote.ifNotEmpty { value ->
+            configurator.releaseNote = value
+        }
 
-            ignoreFileOverride.ifNotEmpty { value ->
-                configurator.ignoreFileOverride = value
-            }
+        httpUserAgent.ifNotEmpty { value ->
+            configurator.httpUserAgent = value
+        }
 
-            removeOperationIdPrefix.ifNotEmpty { value ->
-                configurator.removeOperationIdPrefix = value!!
-            }
+        ignoreFileOverride.ifNotEmpty { value ->
+            configurator.ignoreFileOverride = value
+        }
 
-            logToStderr.ifNotEmpty { value ->
-                configurator.logToStderr = value
-            }
+        removeOperationIdPrefix.ifNotEmpty { value ->
+            configurator.removeOperationIdPrefix = value!!
+        }
 
-            enablePostProcessFile.ifNotEmpty { value ->
-                configurator.enablePostProcessFile = value
-            }
+        logToStderr.ifNotEmpty { value ->
+            configurator.logToStderr = value
+        }
 
-            skipValidateSpec.ifNotEmpty { value ->
-                configurator.setValidateSpec(!value)
-            }
+        enablePostProcessFile.ifNotEmpty { value ->
+            configurator.enablePostProcessFile = value
+        }
 
-            generateAliasAsModel.ifNotEmpty { value ->
-                configurator.setGenerateAliasAsModel(value)
-            }
+        skipValidateSpec.ifNotEmpty { value ->
+            configurator.setValidateSpec(!value)
+        }
 
-            if (systemProperties.isPresent) {
-                systemProperties.get().forEach { entry ->
-                    configurator.addSystemProperty(entry.key, entry.value)
-                }
-            }
+        generateAliasAsModel.ifNotEmpty { value ->
+            configurator.setGenerateAliasAsModel(value)
+        }
 
-            if (instantiationTypes.isPresent) {
-                instantiationTypes.get().forEach { entry ->
-                    configurator.addInstantiationType(entry.key, entry.value)
-                }
+        if (systemProperties.isPresent) {
+            systemProperties.get().forEach { entry ->
+                configurator.addSystemProperty(entry.key, entry.value)
             }
+        }
 
-            if (importMappings.isPresent) {
-                importMappings.get().forEach { entry ->
-                    configurator.addImportMapping(entry.key, entry.value)
-                }
+        if (instantiationTypes.isPresent) {
+            instantiationTypes.get().forEach { entry ->
+                configurator.addInstantiationType(entry.key, entry.value)
             }
+        }
 
-            if (typeMappings.isPresent) {
-                typeMappings.get().forEach { entry ->
-                    configurator.addTypeMapping(entry.key, entry.value)
-                }
+        if (importMappings.isPresent) {
+            importMappings.get().forEach { entry ->
+                configurator.addImportMapping(entry.key, entry.value)
             }
+        }
 
-            if (additionalProperties.isPresent) {
-                additionalProperties.get().forEach { entry ->
-                    configurator.addAdditionalProperty(entry.key, entry.value)
-                }
+        if (typeMappings.isPresent) {
+            typeMappings.get().forEach { entry ->
+                configurator.addTypeMapping(entry.key, entry.value)
             }
+        }
 
-            if (languageSpecificPrimitives.isPresent) {
-                languageSpecificPrimitives.get().forEach {
-                    configurator.addLanguageSpecificPrimitive(it)
-                }
+        if (additionalProperties.isPresent) {
+            additionalProperties.get().forEach { entry ->
+                configurator.addAdditionalProperty(entry.key, entry.value)
             }
+        }
 
-            if (reservedWordsMappings.isPresent) {
-                reservedWordsMappings.get().forEach { entry ->
-                    configurator.addAdditionalReservedWordMapping(entry.key, entry.value)
-                }
+        if (languageSpecificPrimitives.isPresent) {
+            languageSpecificPrimitives.get().forEach {
+                configurator.addLanguageSpecificPrimitive(it)
             }
+        }
 
-            val clientOptInput = configurator.toClientOptInput()
-            val codgenConfig = clientOptInput.config
-
-            if (configOptions.isPresent) {
-                val userSpecifiedConfigOptions = configOptions.get()
-                codgenConfig.cliOptions().forEach {
-                    if (userSpecifiedConfigOptions.containsKey(it.opt)) {
-                        clientOptInput.config.additionalProperties()[it.opt] = userSpecifiedConfigOptions[it.opt]
-                    }
-                }
+        if (reservedWordsMappings.isPresent) {
+            reservedWordsMappings.get().forEach { entry ->
+                configurator.addAdditionalReservedWordMapping(entry.key, entry.value)
             }
+        }
 
-            try {
-                val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
-                out.withStyle(StyledTextOutput.Style.Success)
-
-                DefaultGenerator().opts(clientOptInput).generate()
+        val workQueue = when (workerIsolation.getOrElse("none").toLowerCase()) {
+            "none" -> workerExecutor.noIsolation()
+            "classloader" -> workerExecutor.classLoaderIsolation()
+            "process" -> workerExecutor.processIsolation { forkOptions { workingDir = project.projectDir } }
+            else -> throw GradleException("Unsupported workerIsolation '${workerIsolation.get()}', expected one of none, classloader or process.")
+        }
 
-                out.println("Successfully generated code to ${configurator.outputDir}")
-            } catch (e: RuntimeException) {
-                throw GradleException("Code generation failed.", e)
-            }
-        } finally {
-            GeneratorProperties.reset()
+        val generatorConfigurator = configurator
+        val generatorOptions = HashMap(configOptions.getOrElse(mapOf()))
+        workQueue.submit(GenerateAction::class.java) {
+            this.configurator.set(generatorConfigurator)
+            this.configOptions.set(generatorOptions)
         }
     }
 }
@@ -126,4 +126,168 @@ class GenerateTaskDslTest : TestBase()  {
         assertEquals(TaskOutcome.SUCCESS, result.task(":openApiGenerate")?.outcome,
                 "Expected a successful run, but found ${result.task(":openApiGenerate")?.outcome}")
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `openApiGenerate should be up-to-date when inputs are unchanged`() {
+        // Arrange
+        val projectFiles = mapOf(
+                "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml")
+        )
+        withProject(defaultBuildGradle, projectFiles)
+
+        // Act
+        val first = GradleRunner.create()
+                .withProjectDir(temp)
+                .withArguments("openApiGenerate")
+                .withPluginClasspath()
+                .build()
+
+        val second = GradleRunner.create()
+                .withProjectDir(temp)
+                .withArguments("openApiGenerate")
+                .withPluginClasspath()
+                .build()
+
+        File(temp, "spec.yaml").appendText("\n# changed\n")
+
+        val third = GradleRunner.create()
+                .withProjectDir(temp)
+                .withArguments("openApiGenerate")
+                .withPluginClasspath()
+                .build()
+
+        // Assert
+        assertEquals(TaskOutcome.SUCCESS, first.task(":openApiGenerate")?.outcome,
+                "Expected a successful run, but found ${first.task(":openApiGenerate")?.outcome}")
+        assertEquals(TaskOutcome.UP_TO_DATE, second.task(":openApiGenerate")?.outcome,
+                "Expected an up-to-date run, but found ${second.task(":openApiGenerate")?.outcome}")
+        assertEquals(TaskOutcome.SUCCESS, third.task(":openApiGenerate")?.outcome,
+                "Expected a changed spec to rerun generation, but found ${third.task(":openApiGenerate")?.outcome}")
+    }
+
+    @Test
+    fun `openApiGenerate should be loaded from the build cache in a relocated project`() {
+        // Arrange
+        val cacheDir = createTempDir("${javaClass.simpleName}-cache")
+        val relocated = createTempDir("${javaClass.simpleName}-relocated")
+        try {
+            val settings = """
+                buildCache {
+                    local {
+                        directory = new File("${cacheDir.absolutePath.replace("\\", "/")}")
+                    }
+                }
+            """.trimIndent()
+            val projectFiles = mapOf(
+                    "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml"),
+                    "settings.gradle" to settings.byteInputStream()
+            )
+            withProject(defaultBuildGradle, projectFiles)
+
+            // Act
+            val first = GradleRunner.create()
+                    .withProjectDir(temp)
+                    .withArguments("openApiGenerate", "--build-cache")
+                    .withPluginClasspath()
+                    .build()
+
+            listOf("build.gradle", "settings.gradle", "spec.yaml").forEach {
+                File(temp, it).copyTo(File(relocated, it))
+            }
+
+            val second = GradleRunner.create()
+                    .withProjectDir(relocated)
+                    .withArguments("openApiGenerate", "--build-cache")
+                    .withPluginClasspath()
+                    .build()
+
+            // Assert
+            assertEquals(TaskOutcome.SUCCESS, first.task(":openApiGenerate")?.outcome,
+                    "Expected a successful run, but found ${first.task(":openApiGenerate")?.outcome}")
+            assertEquals(TaskOutcome.FROM_CACHE, second.task(":openApiGenerate")?.outcome,
+                    "Expected a cached result, but found ${second.task(":openApiGenerate")?.outcome}")
+            assertTrue(File(relocated, "build/kotlin/src/main/kotlin/org/openapitools/example/model/Pet.kt").isFile,
+                    "An expected file was not restored from the build cache.")
+        } finally {
+            cacheDir.deleteRecursively()
+            relocated.deleteRecursively()
+        }
+    }
+
+    @Test
+    fun `openApiGenerate tasks should run side by side`() {
+        // Arrange
+        val projectFiles = mapOf(
+                "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml")
+        )
+        withProject("""
+        plugins {
+          id 'org.openapi.generator'
+        }
+        task generateKotlin(type: org.openapitools.generator.gradle.plugin.tasks.GenerateTask) {
+            generatorName = "kotlin"
+            inputSpec = file("spec.yaml").absolutePath
+            outputDir = file("build/kotlin").absolutePath
+            modelPackage = "org.openapitools.example.model"
+        }
+        task generateJava(type: org.openapitools.generator.gradle.plugin.tasks.GenerateTask) {
+            generatorName = "java"
+            inputSpec = file("spec.yaml").absolutePath
+            outputDir = file("build/java").absolutePath
+            modelPackage = "org.openapitools.example.model"
+            systemProperties = [
+                modelDocs: "false"
+            ]
+        }
+    """.trimIndent(), projectFiles)
+
+        // Act
+        val result = GradleRunner.create()
+                .withProjectDir(temp)
+                .withArguments("generateKotlin", "generateJava")
+                .withPluginClasspath()
+                .build()
+
+        // Assert
+        assertEquals(TaskOutcome.SUCCESS, result.task(":generateKotlin")?.outcome,
+                "Expected a successful run, but found ${result.task(":generateKotlin")?.outcome}")
+        assertEquals(TaskOutcome.SUCCESS, result.task(":generateJava")?.outcome,
+                "Expected a successful run, but found ${result.task(":generateJava")?.outcome}")
+        assertTrue(File(temp, "build/kotlin/src/main/kotlin/org/openapitools/example/model/Pet.kt").isFile,
+                "An expected file was not generated by the first task.")
+        assertTrue(File(temp, "build/java/src/main/java/org/openapitools/example/model/Pet.java").isFile,
+                "An expected file was not generated by the second task.")
+        assertTrue(File(temp, "build/kotlin/docs/Pet.md").isFile,
+                "Settings of one task leaked into the other task.")
+        assertTrue(!File(temp, "build/java/docs/Pet.md").exists(),
+                "Settings of one task were not applied.")
+    }
+
+    @Test
+    fun `openApiGenerate should ignore file constraints set outside of the task`() {
+        // Arrange
+        val projectFiles = mapOf(
+                "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml"),
+                "gradle.properties" to "systemProp.models=Pet".byteInputStream()
+        )
+        withProject(defaultBuildGradle, projectFiles)
+
+        // Act
+        val result = GradleRunner.create()
+                .withProjectDir(temp)
+                .withArguments("openApiGenerate")
+                .withPluginClasspath()
+                .build()
+
+        // Assert
+        assertEquals(TaskOutcome.SUCCESS, result.task(":openApiGenerate")?.outcome,
+                "Expected a successful run, but found ${result.task(":openApiGenerate")?.outcome}")
+        listOf(
+            "build/kotlin/src/main/kotlin/org/openapitools/example/model/Pet.kt",
+            "build/kotlin/src/main/kotlin/org/openapitools/example/model/Error.kt",
+            "build/kotlin/src/main/kotlin/org/openapitools/example/api/PetsApi.kt"
+        ).map {
+            assertTrue(File(temp, it).isFile, "The build's -Dmodels constrained the task: $it is missing.")
+        }
+    }
+}
@@ -32,21 +32,27 @@ import static org.openapitools.codegen.config.CodegenConfiguratorUtils.applyRese
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import com.google.common.io.ByteSource;
-import com.google.common.io.CharSource;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.parser.util.ClasspathHelper;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.SessionData;
 
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.ClientOptInput;
@@ -54,24 +60,34 @@ import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GenerationSessionCache;
 import org.openapitools.codegen.config.GeneratorProperties;
+import org.openapitools.codegen.utils.ImplementationVersion;
 import org.sonatype.plexus.build.incremental.BuildContext;
 import org.sonatype.plexus.build.incremental.DefaultBuildContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Charsets;
-import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
 
 /**
  * Goal which generates client/server code from a OpenAPI json/yaml definition.
  */
-@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
 public class CodeGenMojo extends AbstractMojo {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CodeGenMojo.class);
 
+    /**
+     * The generator properties this mojo sets from its generate* parameters.
+     */
+    private static final String[] GENERATION_OPTIONS = {
+            CodegenConstants.APIS, CodegenConstants.MODELS, CodegenConstants.SUPPORTING_FILES,
+            CodegenConstants.MODEL_TESTS, CodegenConstants.MODEL_DOCS, CodegenConstants.API_TESTS,
+            CodegenConstants.API_DOCS, CodegenConstants.WITH_XML
+    };
+
     /**
      * The build context is only avail when running from within eclipse.
      * It is used to update the eclipse-m2e-layer when the plugin is executed inside the IDE.
@@ -350,11 +366,20 @@ public class CodeGenMojo extends AbstractMojo {
     private Boolean skip;
 
     /**
-     * Skip the execution if the source file is older than the output folder.
+     * Skip the execution if none of the inputs changed since the last generation: the input spec and the
+     * files it references, the configuration file, templates, ignore file, plugin configuration and
+     * the generator (plugin dependencies included). The generation is only skipped if the files written by the last
+     * generation are still present and unmodified.
      */
     @Parameter(name = "skipIfSpecIsUnchanged", property = "codegen.skipIfSpecIsUnchanged", required = false, defaultValue = "false")
     private Boolean skipIfSpecIsUnchanged;
 
+    /**
+     * Share parsed specs and compiled templates with the other executions of this plugin in the same build.
+     */
+    @Parameter(name = "useSessionCache", property = "codegen.useSessionCache", required = false, defaultValue = "true")
+    private Boolean useSessionCache;
+
     /**
      * Add the output directory to the project as a source root, so that the generated java types
      * are compiled and included in the project artifact.
@@ -377,6 +402,18 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(readonly = true, required = true, defaultValue = "${project}")
     private MavenProject project;
 
+    /**
+     * The plugin itself, to fingerprint the generator and any custom generators on its classpath.
+     */
+    @Parameter(readonly = true, defaultValue = "${plugin}")
+    private PluginDescriptor plugin;
+
+    /**
+     * The current build, holding the cache shared between executions.
+     */
+    @Parameter(readonly = true, defaultValue = "${session}")
+    private MavenSession session;
+
     public void setBuildContext(BuildContext buildContext) {
         this.buildContext = buildContext;
     }
@@ -406,21 +443,6 @@ public class CodeGenMojo extends AbstractMojo {
                 }
             }
 
-            if (skipIfSpecIsUnchanged) {
-                if (inputSpecFile.exists()) {
-                    File storedInputSpecHashFile = getHashFile(inputSpecFile);
-                    if(storedInputSpecHashFile.exists()) {
-                        String inputSpecHash = Files.asByteSource(inputSpecFile).hash(Hashing.sha256()).toString();
-                        String storedInputSpecHash = Files.asCharSource(storedInputSpecHashFile, Charsets.UTF_8).read();
-                        if (inputSpecHash.equals(storedInputSpecHash)) {
-                            getLog().info(
-                                    "Code generation is skipped because input was unchanged");
-                            return;
-                        }
-                    }
-                }
-            }
-
             // attempt to read from config file
             CodegenConfigurator configurator = CodegenConfigurator.fromFile(configurationFile);
 
@@ -647,6 +669,23 @@ public class CodeGenMojo extends AbstractMojo {
                 }
             }
 
+            // fingerprint the effective inputs before the (expensive) parsing of the spec
+            final File storedInputHashFile = getHashFile(inputSpecFile);
+            final File storedOutputsFile = getOutputsFile(inputSpecFile);
+            final String inputHash = configHelp ? null : calculateInputHash(inputSpecFile, configurator);
+            if (skipIfSpecIsUnchanged && inputHash != null && storedInputHashFile.exists()) {
+                String storedInputHash = Files.asCharSource(storedInputHashFile, Charsets.UTF_8).read();
+                if (withIgnoreFile(inputHash).equals(storedInputHash) && outputsUnchanged(storedOutputsFile)) {
+                    getLog().info(
+                            "Code generation is skipped because input was unchanged");
+                    return;
+                }
+            }
+
+            if (useSessionCache) {
+                configurator.setSessionCache(getSessionCache());
+            }
+
             final ClientOptInput input = configurator.toClientOptInput();
             final CodegenConfig config = input.getConfig();
 
@@ -669,26 +708,29 @@ public class CodeGenMojo extends AbstractMojo {
                 return;
             }
             adjustAdditionalProperties(config);
-            new DefaultGenerator().opts(input).generate();
+            List<File> generatedFiles = new DefaultGenerator().opts(input).generate();
 
             if (buildContext != null) {
                 buildContext.refresh(new File(getCompileSourceRoot()));
             }
 
-            // Store a checksum of the input spec
-            File storedInputSpecHashFile = getHashFile(inputSpecFile);
-            ByteSource inputSpecByteSource =
-                inputSpecFile.exists()
-                    ? Files.asByteSource(inputSpecFile)
-                    : CharSource.wrap(ClasspathHelper.loadFileFromClasspath(inputSpecFile.toString().replaceAll("\\\\","/")))
-                        .asByteSource(Charsets.UTF_8);
-            String  inputSpecHash =inputSpecByteSource.hash(Hashing.sha256()).toString();
-
-            if (storedInputSpecHashFile.getParent() != null && !new File(storedInputSpecHashFile.getParent()).exists()) {
-                File parent = new File(storedInputSpecHashFile.getParent());
-                parent.mkdirs();
+            // Store a fingerprint of the inputs and the files generated from them; the ignore file is
+            // fingerprinted after the generation, which may have created it
+            if (inputHash != null) {
+                if (storedInputHashFile.getParent() != null && !new File(storedInputHashFile.getParent()).exists()) {
+                    File parent = new File(storedInputHashFile.getParent());
+                    parent.mkdirs();
+                }
+                recordOutputs(storedOutputsFile, generatedFiles);
+                Files.asCharSink(storedInputHashFile, Charsets.UTF_8).write(withIgnoreFile(inputHash));
+            } else {
+                if (storedInputHashFile.exists()) {
+                    storedInputHashFile.delete();
+                }
+                if (storedOutputsFile.exists()) {
+                    storedOutputsFile.delete();
+                }
             }
-            Files.asCharSink(storedInputSpecHashFile, Charsets.UTF_8).write(inputSpecHash);
 
         } catch (Exception e) {
             // Maven logs exceptions thrown by plugins only if invoked with -e
@@ -703,10 +745,132 @@ public class CodeGenMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Calculate a fingerprint over all inputs of the generation.
+     *
+     * @return The fingerprint, or null if the inputs can't be fingerprinted (e.g. a remote spec)
+     */
+    private String calculateInputHash(File inputSpecFile, CodegenConfigurator configurator) throws IOException {
+        InputFingerprint fingerprint = new InputFingerprint();
+
+        if (inputSpecFile.exists()) {
+            fingerprint.putSpec("inputSpec", inputSpecFile);
+        } else {
+            String classpathSpec = inputSpecFile.toString().replaceAll("\\\\", "/");
+            try {
+                ClasspathHelper.loadFileFromClasspath(classpathSpec);
+            } catch (RuntimeException e) {
+                // remote specs can't be fingerprinted without fetching them
+                return null;
+            }
+            fingerprint.putClasspathSpec("inputSpec", classpathSpec);
+        }
+
+        fingerprint.putString("generatorVersion", ImplementationVersion.read());
+        if (plugin != null && plugin.getArtifacts() != null) {
+            for (Artifact artifact : plugin.getArtifacts()) {
+                File file = artifact.getFile();
+                fingerprint.putString("pluginArtifact", artifact.getId()
+                        + (file != null ? ":" + file.length() + ":" + file.lastModified() : ""));
+            }
+        }
+
+        fingerprint.putFile("configurationFile", isNotEmpty(configurationFile) ? new File(configurationFile) : null);
+        fingerprint.putFile("ignoreFileOverride", isNotEmpty(ignoreFileOverride) ? new File(ignoreFileOverride) : null);
+        fingerprint.putDirectory("templateDirectory", templateDirectory);
+
+        fingerprint.putString("configuration", Json.mapper().copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+                .writeValueAsString(configurator));
+        fingerprint.putMap("configOptions", configOptions);
+        // only the properties set by this mojo: the JVM's system properties differ between identical builds
+        Map<String, String> generationOptions = new HashMap<String, String>();
+        for (String key : GENERATION_OPTIONS) {
+            generationOptions.put(key, GeneratorProperties.getProperty(key));
+        }
+        fingerprint.putMap("generationOptions", generationOptions);
+        fingerprint.putMap("environmentVariables", environmentVariables);
+        fingerprint.putString("addCompileSourceRoot", addCompileSourceRoot);
+
+        return fingerprint.hash();
+    }
+
+    /**
+     * Add the ignore file of the output directory to a fingerprint of the other inputs.
+     */
+    private String withIgnoreFile(String inputHash) throws IOException {
+        return new InputFingerprint()
+                .putString("inputs", inputHash)
+                .putFile("ignoreFile", new File(output, ".openapi-generator-ignore"))
+                .hash();
+    }
+
+    /**
+     * Record the generated files by their path, size and modification time.
+     */
+    private void recordOutputs(File outputsFile, List<File> generatedFiles) throws IOException {
+        StringBuilder outputs = new StringBuilder();
+        if (generatedFiles != null) {
+            for (File file : generatedFiles) {
+                outputs.append(file.length()).append('\t')
+                        .append(file.lastModified()).append('\t')
+                        .append(file.getAbsolutePath()).append('\n');
+            }
+        }
+        Files.asCharSink(outputsFile, Charsets.UTF_8).write(outputs);
+    }
+
+    /**
+     * @return true if every file recorded by {@link #recordOutputs(File, List)} still exists, unmodified
+     */
+    private boolean outputsUnchanged(File outputsFile) throws IOException {
+        if (!outputsFile.isFile()) {
+            return false;
+        }
+        for (String line : Files.asCharSource(outputsFile, Charsets.UTF_8).readLines()) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split("\t", 3);
+            if (fields.length != 3) {
+                return false;
+            }
+            File file = new File(fields[2]);
+            if (!file.isFile()
+                    || !fields[0].equals(String.valueOf(file.length()))
+                    || !fields[1].equals(String.valueOf(file.lastModified()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the cache shared by all executions in this build. The cache is keyed by its class, so plugin
+     * executions running with different class realms (e.g. other plugin dependencies) never share it.
+     */
+    private GenerationSessionCache getSessionCache() {
+        if (session == null || session.getRepositorySession() == null) {
+            return null;
+        }
+        SessionData data = session.getRepositorySession().getData();
+        Object cache = data.get(GenerationSessionCache.class);
+        if (cache == null) {
+            GenerationSessionCache newCache = new GenerationSessionCache();
+            cache = data.set(GenerationSessionCache.class, null, newCache) ? newCache : data.get(GenerationSessionCache.class);
+        }
+        return (GenerationSessionCache) cache;
+    }
+
     private File getHashFile(File inputSpecFile) {
         return new File(output.getPath() + File.separator + ".openapi-generator" + File.separator + inputSpecFile.getName() + ".sha256");
     }
 
+    private File getOutputsFile(File inputSpecFile) {
+        return new File(output.getPath() + File.separator + ".openapi-generator" + File.separator + inputSpecFile.getName() + ".outputs");
+    }
+
     private String getCompileSourceRoot() {
         final Object sourceFolderObject =
                 configOptions == null ? null : configOptions
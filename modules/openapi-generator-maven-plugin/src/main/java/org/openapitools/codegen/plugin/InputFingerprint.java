@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.plugin;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import io.swagger.v3.parser.util.ClasspathHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 fingerprint over everything that determines the output of a generation: the input spec and the
+ * spec files it references through <code>$ref</code>, templates, the ignore file, configuration and the generator version.
+ * <p>
+ * Every value is added with a label, so that moving a value from one input to another changes the fingerprint.
+ */
+final class InputFingerprint {
+    private static final Pattern REF = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s,}]+)");
+    private static final Pattern REMOTE = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://.*");
+
+    private final Hasher hasher = Hashing.sha256().newHasher();
+
+    InputFingerprint putString(String label, Object value) {
+        hasher.putString(label, Charsets.UTF_8).putByte((byte) 0);
+        hasher.putString(String.valueOf(value), Charsets.UTF_8).putByte((byte) 0);
+        return this;
+    }
+
+    InputFingerprint putMap(String label, Map<?, ?> map) {
+        Map<String, String> sorted = new TreeMap<>();
+        if (map != null) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+        return putString(label, sorted);
+    }
+
+    InputFingerprint putFile(String label, File file) throws IOException {
+        if (file == null || !file.isFile()) {
+            return putString(label, "<none>");
+        }
+        putString(label, file.getName());
+        hasher.putBytes(Files.asByteSource(file).hash(Hashing.sha256()).asBytes());
+        return this;
+    }
+
+    /**
+     * Add all files of a directory, recursively, by their relative path and content.
+     */
+    InputFingerprint putDirectory(String label, File directory) throws IOException {
+        if (directory == null || !directory.isDirectory()) {
+            return putString(label, "<none>");
+        }
+        final Path root = directory.toPath();
+        final Set<String> files;
+        try (Stream<Path> paths = java.nio.file.Files.walk(root, FileVisitOption.FOLLOW_LINKS)) {
+            files = paths.filter(java.nio.file.Files::isRegularFile)
+                    .map(path -> root.relativize(path).toString().replace(File.separatorChar, '/'))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+        for (String file : files) {
+            putFile(label + ":" + file, new File(directory, file));
+        }
+        return this;
+    }
+
+    /**
+     * Add a spec file and, transitively, every local file it references through <code>$ref</code>.
+     * References to remote documents are added by their location only.
+     */
+    InputFingerprint putSpec(String label, File spec) throws IOException {
+        final File root = spec.getCanonicalFile();
+        final File baseDir = root.getParentFile();
+        final Set<File> visited = new HashSet<>();
+        final Deque<File> pending = new ArrayDeque<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            File file = pending.poll();
+            if (!visited.add(file)) {
+                continue;
+            }
+            String name = baseDir == null ? file.getPath() : baseDir.toPath().relativize(file.toPath()).toString();
+            if (!file.isFile()) {
+                putString(label + ":" + name, "<missing>");
+                continue;
+            }
+            String content = Files.asCharSource(file, Charsets.UTF_8).read();
+            putString(label + ":" + name, content);
+
+            for (String location : references(content)) {
+                if (REMOTE.matcher(location).matches()) {
+                    putString(label + ":remote", location);
+                } else {
+                    pending.add(new File(file.getParentFile(), location).getCanonicalFile());
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add a spec loaded from the classpath and, transitively, every classpath resource it references
+     * through a relative <code>$ref</code>. References to remote documents are added by their location only.
+     */
+    InputFingerprint putClasspathSpec(String label, String resource) {
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        pending.add(normalize(resource));
+        while (!pending.isEmpty()) {
+            String location = pending.poll();
+            if (!visited.add(location)) {
+                continue;
+            }
+            String content;
+            try {
+                content = ClasspathHelper.loadFileFromClasspath(location);
+            } catch (RuntimeException e) {
+                putString(label + ":" + location, "<missing>");
+                continue;
+            }
+            putString(label + ":" + location, content);
+
+            int slash = location.lastIndexOf('/');
+            String parent = slash < 0 ? "" : location.substring(0, slash + 1);
+            for (String reference : references(content)) {
+                if (REMOTE.matcher(reference).matches()) {
+                    putString(label + ":remote", reference);
+                } else {
+                    pending.add(normalize(reference.startsWith("/") ? reference : parent + reference));
+                }
+            }
+        }
+        return this;
+    }
+
+    String hash() {
+        return hasher.hash().toString();
+    }
+
+    /**
+     * The documents referenced by a spec, without their fragments and in a stable order.
+     */
+    private static Set<String> references(String content) {
+        Set<String> locations = new TreeSet<>();
+        Matcher matcher = REF.matcher(content);
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            int hash = ref.indexOf('#');
+            String location = hash < 0 ? ref : ref.substring(0, hash);
+            if (!location.isEmpty()) { // otherwise a reference within the same document
+                locations.add(location);
+            }
+        }
+        return locations;
+    }
+
+    private static String normalize(String resource) {
+        String normalized = Paths.get(resource.replace('\\', '/')).normalize().toString().replace(File.separatorChar, '/');
+        return normalized.startsWith("/") ? normalized.substring(1) : normalized;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.plugin;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class CodeGenMojoTest {
+    private static final String SKIPPED = "Code generation is skipped because input was unchanged";
+
+    private File workDir;
+    private File spec;
+    private File schema;
+    private File output;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("codegen-mojo").toFile();
+        spec = new File(workDir, "ping.yaml");
+        schema = new File(workDir, "pong.yaml");
+        output = new File(workDir, "out");
+        write(spec, "openapi: 3.0.1\n"
+                + "info:\n"
+                + "  title: ping test\n"
+                + "  version: '1.0'\n"
+                + "paths:\n"
+                + "  /ping:\n"
+                + "    get:\n"
+                + "      operationId: pingGet\n"
+                + "      responses:\n"
+                + "        '200':\n"
+                + "          description: OK\n"
+                + "          content:\n"
+                + "            application/json:\n"
+                + "              schema:\n"
+                + "                $ref: 'pong.yaml#/Pong'\n");
+        write(schema, "Pong:\n"
+                + "  type: object\n"
+                + "  properties:\n"
+                + "    message:\n"
+                + "      type: string\n");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<java.nio.file.Path> paths = Files.walk(workDir.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testSkipIfSpecIsUnchanged() throws Exception {
+        Assert.assertFalse(generate(true).contains(SKIPPED));
+        Assert.assertTrue(new File(output, ".openapi-generator/ping.yaml.sha256").isFile());
+        Assert.assertTrue(new File(output, ".openapi-generator/ping.yaml.outputs").isFile());
+
+        Assert.assertTrue(generate(true).contains(SKIPPED));
+    }
+
+    @Test
+    public void testNoSkipIfDisabled() throws Exception {
+        generate(true);
+
+        Assert.assertFalse(generate(false).contains(SKIPPED));
+    }
+
+    @Test
+    public void testNoSkipIfReferencedFileChanged() throws Exception {
+        generate(true);
+        write(schema, "Pong:\n"
+                + "  type: object\n"
+                + "  properties:\n"
+                + "    reply:\n"
+                + "      type: string\n");
+
+        Assert.assertFalse(generate(true).contains(SKIPPED));
+        Assert.assertTrue(new File(output, "src/main/java/org/openapitools/client/model/Pong.java").isFile());
+    }
+
+    @Test
+    public void testNoSkipIfIgnoreFileChanged() throws Exception {
+        generate(true);
+        write(new File(output, ".openapi-generator-ignore"), "README.md\n");
+
+        Assert.assertFalse(generate(true).contains(SKIPPED));
+    }
+
+    @Test
+    public void testNoSkipIfOutputIsMissing() throws Exception {
+        generate(true);
+        File model = new File(output, "src/main/java/org/openapitools/client/model/Pong.java");
+        Assert.assertTrue(model.delete());
+
+        Assert.assertFalse(generate(true).contains(SKIPPED));
+        Assert.assertTrue(model.isFile());
+    }
+
+    @Test
+    public void testNoSkipIfOutputWasModified() throws Exception {
+        generate(true);
+        File model = new File(output, "src/main/java/org/openapitools/client/model/Pong.java");
+        write(model, "// edited\n");
+
+        Assert.assertFalse(generate(true).contains(SKIPPED));
+        Assert.assertNotEquals(new String(Files.readAllBytes(model.toPath()), StandardCharsets.UTF_8), "// edited\n");
+    }
+
+    /**
+     * Run the mojo as Maven would configure it and return the messages it logged at info level.
+     */
+    private List<String> generate(boolean skipIfSpecIsUnchanged) throws Exception {
+        CodeGenMojo mojo = new CodeGenMojo();
+        set(mojo, "inputSpec", spec.getAbsolutePath());
+        set(mojo, "output", output);
+        set(mojo, "generatorName", "java");
+        set(mojo, "skip", false);
+        set(mojo, "skipIfSpecIsUnchanged", skipIfSpecIsUnchanged);
+        set(mojo, "useSessionCache", true);
+        set(mojo, "project", new MavenProject());
+
+        final List<String> messages = new ArrayList<>();
+        mojo.setLog(new SystemStreamLog() {
+            @Override
+            public void info(CharSequence content) {
+                messages.add(content.toString());
+                super.info(content);
+            }
+        });
+        mojo.execute();
+        return messages;
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
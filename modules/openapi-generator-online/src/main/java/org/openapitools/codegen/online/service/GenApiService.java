@@ -46,13 +46,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class GenApiService implements GenApiDelegate {
 
     private static List<String> clients = new ArrayList<>();
     private static List<String> servers = new ArrayList<>();
-    private static Map<String, Generated> fileMap = new HashMap<>();
+    private static Map<String, Generated> fileMap = new ConcurrentHashMap<>();
 
     static {
         List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
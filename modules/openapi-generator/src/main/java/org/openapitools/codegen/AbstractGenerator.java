@@ -21,17 +21,20 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
-import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.templating.TemplateIndex;
+import org.openapitools.codegen.templating.TemplateSourceCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.file.Paths;
-import java.util.Scanner;
+import java.net.URL;
 import java.util.regex.Pattern;
 
 public abstract class AbstractGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGenerator.class);
+
+    private volatile TemplateIndex templateIndex;
     
     /**
      * Is the minimal-file-update option enabled?
@@ -109,12 +112,7 @@ public abstract class AbstractGenerator {
 
     public String readTemplate(String name) {
         try {
-            Reader reader = getTemplateReader(name);
-            if (reader == null) {
-                throw new RuntimeException("no file found");
-            }
-            Scanner s = new Scanner(reader).useDelimiter("\\A");
-            return s.hasNext() ? s.next() : "";
+            return loadTemplateSource(name).getContent();
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
         }
@@ -124,21 +122,17 @@ public abstract class AbstractGenerator {
     @SuppressWarnings("squid:S2095")
     // ignored rule as used in the CLI and it's required to return a reader
     public Reader getTemplateReader(String name) {
-        InputStream is = null;
         try {
-            is = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(name));
-            if (is == null) {
-                is = new FileInputStream(new File(name)); // May throw but never return a null value
-            }
-            return new InputStreamReader(is, "UTF-8");
-        } catch (FileNotFoundException | UnsupportedEncodingException e) {
+            return new StringReader(loadTemplateSource(name).getContent());
+        } catch (IOException e) {
             LOGGER.error(e.getMessage());
             throw new RuntimeException("can't load template " + name);
         }
     }
 
-    private String buildLibraryFilePath(String dir, String library, String file) {
-        return dir + File.separator + "libraries" + File.separator + library + File.separator + file;
+    private TemplateSourceCache.Source loadTemplateSource(String name) throws IOException {
+        // sources are cached for the lifetime of the JVM, see TemplateSourceCache
+        return TemplateSourceCache.load(this.getClass().getClassLoader(), getCPResourcePath(name), name);
     }
 
     /**
@@ -154,44 +148,44 @@ public abstract class AbstractGenerator {
         //2nd it will check for the file in the specified <template folder> folder
         //3rd it will check if there's an <embedded template>/libraries/<library> folder containing the file
         //4th and last it will assume the file is in <embedded template> folder.
+        //The template folder is scanned once and lookups are memoized, see TemplateIndex.
+        return getTemplateIndex(config).resolve(templateFile);
+    }
 
-        //check the supplied template library folder for the file
-        final String library = config.getLibrary();
-        if (StringUtils.isNotEmpty(library)) {
-            //look for the file in the library subfolder of the supplied template
-            final String libTemplateFile = buildLibraryFilePath(config.templateDir(), library, templateFile);
-            if (new File(libTemplateFile).exists()) {
-                return libTemplateFile;
-            }
-        }
-
-        //check the supplied template main folder for the file
-        final String template = config.templateDir() + File.separator + templateFile;
-        if (new File(template).exists()) {
-            return template;
+    private TemplateIndex getTemplateIndex(CodegenConfig config) {
+        TemplateIndex index = templateIndex;
+        // generators may change the template folder or library in processOpts, so rebuild the index when they do
+        if (index == null || !index.isFor(config.templateDir(), config.embeddedTemplateDir(), config.getLibrary())) {
+            index = new TemplateIndex(config.templateDir(), config.embeddedTemplateDir(), config.getLibrary(), this.getClass().getClassLoader());
+            templateIndex = index;
         }
+        return index;
+    }
 
-        //try the embedded template library folder next
-        if (StringUtils.isNotEmpty(library)) {
-            final String embeddedLibTemplateFile = buildLibraryFilePath(config.embeddedTemplateDir(), library, templateFile);
-            if (embeddedTemplateExists(embeddedLibTemplateFile)) {
-                // Fall back to the template file embedded/packaged in the JAR file library folder...
-                return embeddedLibTemplateFile;
-            }
-        }
-            
-        // Fall back to the template file embedded/packaged in the JAR file...
-        return config.embeddedTemplateDir() + File.separator + templateFile;
+    /**
+     * Discard the template lookups of a previous run, so that templates added or removed since are picked up.
+     */
+    protected void resetTemplateIndex() {
+        templateIndex = null;
     }
 
     public String readResourceContents(String resourceFilePath) {
-        StringBuilder sb = new StringBuilder();
-        Scanner scanner = new Scanner(this.getClass().getResourceAsStream(getCPResourcePath(resourceFilePath)), "UTF-8");
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            sb.append(line).append('\n');
+        URL url = this.getClass().getResource(getCPResourcePath(resourceFilePath));
+        if (url == null) {
+            throw new RuntimeException("can't load resource " + resourceFilePath);
+        }
+        try {
+            // normalize line endings to '\n', terminating the last line as well
+            BufferedReader reader = new BufferedReader(new StringReader(TemplateSourceCache.load(url).getContent()));
+            StringBuilder sb = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+            return sb.toString();
+        } catch (IOException e) {
+            throw new RuntimeException("can't load resource " + resourceFilePath, e);
         }
-        return sb.toString();
     }
 
     public boolean embeddedTemplateExists(String name) {
@@ -20,6 +20,7 @@ package org.openapitools.codegen;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import org.openapitools.codegen.auth.AuthParser;
+import org.openapitools.codegen.config.GenerationSessionCache;
 
 import java.util.List;
 
@@ -28,6 +29,7 @@ public class ClientOptInput {
     private ClientOpts opts;
     private OpenAPI openAPI;
     private List<AuthorizationValue> auths;
+    private GenerationSessionCache sessionCache;
 
     public ClientOptInput openAPI(OpenAPI openAPI) {
         this.setOpenAPI(openAPI);
@@ -44,6 +46,11 @@ public class ClientOptInput {
         return this;
     }
 
+    public ClientOptInput sessionCache(GenerationSessionCache sessionCache) {
+        this.setSessionCache(sessionCache);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -88,4 +95,12 @@ public class ClientOptInput {
     public void setOpenAPI(OpenAPI openAPI) {
         this.openAPI = openAPI;
     }
+
+    public GenerationSessionCache getSessionCache() {
+        return sessionCache;
+    }
+
+    public void setSessionCache(GenerationSessionCache sessionCache) {
+        this.sessionCache = sessionCache;
+    }
 }
@@ -111,6 +111,30 @@ public interface CodegenConfig {
 
     CodegenModel fromModel(String name, Schema schema);
 
+    /**
+     * Whether {@link #fromModel(String, Schema)} may be called concurrently for different schemas, once the
+     * options are processed and the OpenAPI is set. A thread-safe fromModel (including the methods it calls, e.g.
+     * toModelName, getTypeDeclaration or postProcessModelProperty) only modifies the returned model, not the
+     * state of the generator, and reads the run settings through
+     * {@link org.openapitools.codegen.config.GeneratorProperties}. {@link DefaultGenerator} converts the models of such
+     * generators concurrently when the system property <code>modelThreads</code> is set.
+     *
+     * @return true if fromModel is thread-safe
+     */
+    boolean isFromModelThreadSafe();
+
+    /**
+     * Whether {@link #fromOperation(String, String, Operation, List)} may be called concurrently for the operations
+     * of different paths, under the same conditions as {@link #isFromModelThreadSafe()}: it only modifies the
+     * returned operation and the given {@link Operation}, and the models it converts must be thread-safe as well.
+     * {@link #addOperationToGroup(String, String, Operation, CodegenOperation, Map)} is still called sequentially,
+     * in the order of the paths. {@link DefaultGenerator} converts the operations of such generators concurrently
+     * when the system property <code>operationThreads</code> is set.
+     *
+     * @return true if fromOperation is thread-safe
+     */
+    boolean isFromOperationThreadSafe();
+
     CodegenOperation fromOperation(String resourcePath, String httpMethod, Operation operation, List<Server> servers);
 
     List<CodegenSecurity> fromSecurity(Map<String, SecurityScheme> schemas);
@@ -169,6 +193,13 @@ public interface CodegenConfig {
 
     void addOperationToGroup(String tag, String resourcePath, Operation operation, CodegenOperation co, Map<String, List<CodegenOperation>> operations);
 
+    /**
+     * Release the state kept by {@link #addOperationToGroup(String, String, Operation, CodegenOperation, Map)} for
+     * the groups it has been called for. {@link DefaultGenerator} calls it before and after grouping the operations
+     * of the paths.
+     */
+    void resetOperationGroups();
+
     Map<String, Object> updateAllModels(Map<String, Object> objs);
 
     Map<String, Object> postProcessAllModels(Map<String, Object> objs);
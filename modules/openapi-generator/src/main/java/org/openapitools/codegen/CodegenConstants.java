@@ -32,6 +32,8 @@ public class CodegenConstants {
     public static final String API_DOCS = "apiDocs";
     public static final String WITH_XML = "withXml";
     public static final String SKIP_FORM_MODEL = "skipFormModel";
+    public static final String MODEL_THREADS = "modelThreads";
+    public static final String OPERATION_THREADS = "operationThreads";
     /* /end System Properties */
 
     public static final String API_PACKAGE = "apiPackage";
@@ -41,6 +41,10 @@ public class CodegenModel {
 
     public String name, classname, title, description, classVarName, modelJson, dataType, xmlPrefix, xmlNamespace, xmlName;
     public String classFilename; // store the class file name, mainly used for import
+    /**
+     * Serializes <code>modelJson</code> when it is first read, null if it has been set eagerly.
+     */
+    LazyJson lazyModelJson;
     public String unescapedDescription;
     public CodegenDiscriminator discriminator;
     public String defaultValue;
@@ -125,6 +129,7 @@ public class CodegenModel {
                 .toString();
     }
 
+    // modelJson is left out, it is derived from the model's schema
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -143,7 +148,6 @@ public class CodegenModel {
             Objects.equals(title, that.title) &&
             Objects.equals(description, that.description) &&
             Objects.equals(classVarName, that.classVarName) &&
-            Objects.equals(modelJson, that.modelJson) &&
             Objects.equals(dataType, that.dataType) &&
             Objects.equals(xmlPrefix, that.xmlPrefix) &&
             Objects.equals(xmlNamespace, that.xmlNamespace) &&
@@ -186,7 +190,6 @@ public class CodegenModel {
             title,
             description,
             classVarName,
-            modelJson,
             dataType,
             xmlPrefix,
             xmlNamespace,
@@ -312,10 +315,12 @@ public class CodegenModel {
     }
 
     public String getModelJson() {
-        return modelJson;
+        // not kept in the field: the lazy JSON keeps it itself, unless it has been spilled to disk
+        return modelJson != null || lazyModelJson == null ? modelJson : lazyModelJson.get();
     }
 
     public void setModelJson(String modelJson) {
+        this.lazyModelJson = null;
         this.modelJson = modelJson;
     }
 
@@ -519,6 +524,11 @@ public class CodegenModel {
      * Remove duplicated properties in all variable list and update "hasMore"
      */
     public void removeAllDuplicatedProperty() {
+        if (CompactModels.isEnabled()) {
+            CompactModels.removeAllDuplicatedProperty(this);
+            return;
+        }
+
         // remove duplicated properties
         vars = removeDuplicatedProperty(vars);
         optionalVars = removeDuplicatedProperty(optionalVars);
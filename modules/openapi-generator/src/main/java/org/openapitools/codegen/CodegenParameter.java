@@ -32,6 +32,10 @@ public class CodegenParameter {
 
     public String example; // example value (x-example)
     public String jsonSchema;
+    /**
+     * Serializes <code>jsonSchema</code> when it is first read, null if it has been set eagerly.
+     */
+    LazyJson lazyJsonSchema;
     public boolean isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBinary,
             isBoolean, isDate, isDateTime, isUuid, isEmail, isFreeFormObject;
     public boolean isListContainer, isMapContainer;
@@ -97,6 +101,16 @@ public class CodegenParameter {
      */
     public Number multipleOf;
 
+    public String getJsonSchema() {
+        // not kept in the field: the lazy JSON keeps it itself, unless it has been spilled to disk
+        return jsonSchema != null || lazyJsonSchema == null ? jsonSchema : lazyJsonSchema.get();
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.lazyJsonSchema = null;
+        this.jsonSchema = jsonSchema;
+    }
+
     public CodegenParameter copy() {
         CodegenParameter output = new CodegenParameter();
         output.isFile = this.isFile;
@@ -135,6 +149,7 @@ public class CodegenParameter {
         output.uniqueItems = this.uniqueItems;
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.lazyJsonSchema = this.lazyJsonSchema;
         output.defaultValue = this.defaultValue;
         output.example = this.example;
         output.isEnum = this.isEnum;
@@ -176,6 +191,7 @@ public class CodegenParameter {
         return output;
     }
 
+    // jsonSchema is left out, it is derived from the parameter's schema
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -208,7 +224,6 @@ public class CodegenParameter {
             Objects.equals(baseType, that.baseType) &&
             Objects.equals(defaultValue, that.defaultValue) &&
             Objects.equals(example, that.example) &&
-            Objects.equals(jsonSchema, that.jsonSchema) &&
             Objects.equals(isString, that.isString) &&
             Objects.equals(isNumeric, that.isNumeric) &&
             Objects.equals(isInteger, that.isInteger) &&
@@ -275,7 +290,6 @@ public class CodegenParameter {
             baseType,
             defaultValue,
             example,
-            jsonSchema,
             isString,
             isNumeric,
             isInteger,
@@ -84,6 +84,28 @@ public class CodegenProperty implements Cloneable {
     public String xmlNamespace;
     public boolean isXmlWrapped = false;
 
+    /**
+     * Computes the fields left unset by <code>fromProperty</code> when lazy model fields are enabled, otherwise null.
+     */
+    LazyModelFields lazyFields;
+    private int resolvedLazyFields;
+
+    /**
+     * Serializes <code>jsonSchema</code> when it is first read, null if it has been set eagerly.
+     */
+    LazyJson lazyJsonSchema;
+
+    private synchronized void resolve(LazyModelFields.Field field) {
+        if (lazyFields != null && (resolvedLazyFields & field.bit) == 0) {
+            resolvedLazyFields |= field.bit;
+            lazyFields.compute(this, field);
+        }
+    }
+
+    private synchronized void assigned(LazyModelFields.Field field) {
+        resolvedLazyFields |= field.bit;
+    }
+
     public String getBaseName() {
         return baseName;
     }
@@ -101,18 +123,22 @@ public class CodegenProperty implements Cloneable {
     }
 
     public String getGetter() {
+        resolve(LazyModelFields.Field.GETTER);
         return getter;
     }
 
     public void setGetter(String getter) {
+        assigned(LazyModelFields.Field.GETTER);
         this.getter = getter;
     }
 
     public String getSetter() {
+        resolve(LazyModelFields.Field.SETTER);
         return setter;
     }
 
     public void setSetter(String setter) {
+        assigned(LazyModelFields.Field.SETTER);
         this.setter = setter;
     }
 
@@ -191,10 +217,12 @@ public class CodegenProperty implements Cloneable {
     }
 
     public String getDefaultValueWithParam() {
+        resolve(LazyModelFields.Field.DEFAULT_VALUE_WITH_PARAM);
         return defaultValueWithParam;
     }
 
     public void setDefaultValueWithParam(String defaultValueWithParam) {
+        assigned(LazyModelFields.Field.DEFAULT_VALUE_WITH_PARAM);
         this.defaultValueWithParam = defaultValueWithParam;
     }
 
@@ -255,18 +283,22 @@ public class CodegenProperty implements Cloneable {
     }
 
     public String getExample() {
+        resolve(LazyModelFields.Field.EXAMPLE);
         return example;
     }
 
     public void setExample(String example) {
+        assigned(LazyModelFields.Field.EXAMPLE);
         this.example = example;
     }
 
     public String getJsonSchema() {
-        return jsonSchema;
+        // not kept in the field: the lazy JSON keeps it itself, unless it has been spilled to disk
+        return jsonSchema != null || lazyJsonSchema == null ? jsonSchema : lazyJsonSchema.get();
     }
 
     public void setJsonSchema(String jsonSchema) {
+        this.lazyJsonSchema = null;
         this.jsonSchema = jsonSchema;
     }
 
@@ -424,13 +456,13 @@ public class CodegenProperty implements Cloneable {
             datatypeWithEnum,
             dataFormat,
             defaultValue,
-            defaultValueWithParam,
+            getDefaultValueWithParam(),
             description,
             title,
-            example,
+            getExample(),
             exclusiveMaximum,
             exclusiveMinimum,
-            getter,
+            getGetter(),
             hasMore,
             hasMoreNonReadOnly,
             isContainer,
@@ -443,7 +475,6 @@ public class CodegenProperty implements Cloneable {
             isSelfReference,
             items,
             mostInnerItems,
-            jsonSchema,
             max,
             maxLength,
             maximum,
@@ -454,7 +485,7 @@ public class CodegenProperty implements Cloneable {
             pattern,
             required,
             secondaryParam,
-            setter,
+            getSetter(),
             unescapedDescription,
             vendorExtensions,
             hasValidation,
@@ -490,6 +521,7 @@ public class CodegenProperty implements Cloneable {
             isXmlWrapped);
     }
 
+    // jsonSchema is left out: it is serialized from the same schema as the compared fields
     @Override
     public boolean equals(Object obj) {
         if (obj == null) {
@@ -504,8 +536,8 @@ public class CodegenProperty implements Cloneable {
         return Objects.equals(baseName, other.baseName) &&
             Objects.equals(openApiType, other.openApiType) &&
             Objects.equals(complexType, other.complexType) &&
-            Objects.equals(getter, other.getter) &&
-            Objects.equals(setter, other.setter) &&
+            Objects.equals(getGetter(), other.getGetter()) &&
+            Objects.equals(getSetter(), other.getSetter()) &&
             Objects.equals(description, other.description) &&
             Objects.equals(title, other.title) &&
             Objects.equals(dataType, other.dataType) &&
@@ -520,8 +552,7 @@ public class CodegenProperty implements Cloneable {
             Objects.equals(maxLength, other.maxLength) &&
             Objects.equals(minLength, other.minLength) &&
             Objects.equals(pattern, other.pattern) &&
-            Objects.equals(example, other.example) &&
-            Objects.equals(jsonSchema, other.jsonSchema) &&
+            Objects.equals(getExample(), other.getExample()) &&
             Objects.equals(minimum, other.minimum) &&
             Objects.equals(maximum, other.maximum) &&
             Objects.equals(exclusiveMinimum, other.exclusiveMinimum) &&
@@ -37,8 +37,22 @@ public class CodegenResponse {
     public boolean isFile = false;
     public Object schema;
     public String jsonSchema;
+    /**
+     * Serializes <code>jsonSchema</code> when it is first read, null if it has been set eagerly.
+     */
+    LazyJson lazyJsonSchema;
     public Map<String, Object> vendorExtensions = new HashMap<String, Object>();
 
+    public String getJsonSchema() {
+        // not kept in the field: the lazy JSON keeps it itself, unless it has been spilled to disk
+        return jsonSchema != null || lazyJsonSchema == null ? jsonSchema : lazyJsonSchema.get();
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.lazyJsonSchema = null;
+        this.jsonSchema = jsonSchema;
+    }
+
     public boolean isWildcard() {
         return "0".equals(code) || "default".equals(code);
     }
@@ -83,6 +97,7 @@ public class CodegenResponse {
                 '}';
     }
 
+    // jsonSchema is left out, it is derived from schema
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -120,7 +135,6 @@ public class CodegenResponse {
                 Objects.equals(baseType, that.baseType) &&
                 Objects.equals(containerType, that.containerType) &&
                 Objects.equals(schema, that.schema) &&
-                Objects.equals(jsonSchema, that.jsonSchema) &&
                 Objects.equals(vendorExtensions, that.vendorExtensions);
     }
 
@@ -129,6 +143,6 @@ public class CodegenResponse {
         return Objects.hash(headers, code, message, hasMore, examples, dataType, baseType, containerType, hasHeaders,
                 isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBoolean, isDate,
                 isDateTime, isUuid, isEmail, isFreeFormObject, isModel, isDefault, simpleType, primitiveType, isMapContainer,
-                isListContainer, isBinary, isFile, schema, jsonSchema, vendorExtensions);
+                isListContainer, isBinary, isFile, schema, vendorExtensions);
     }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.openapitools.codegen.config.GeneratorProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Memory-optimized variable lists of a {@link CodegenModel}, enabled by the generator with the system property
+ * <code>-DcompactModels</code>.
+ * <p>
+ * By default {@link CodegenModel#removeAllDuplicatedProperty()} clones every property once per list (vars, allVars,
+ * requiredVars, optionalVars, readOnlyVars, readWriteVars, parentVars). In compact mode vars and allVars keep
+ * instances of their own, as generators post-process and modify the properties of these lists, while the filtered
+ * lists share one instance per property; a property is only cloned for a filtered list in which it needs a different
+ * <code>hasMore</code>. As a consequence, a generator that modifies a property in one of the filtered lists modifies
+ * it in the other filtered lists as well. Names and types of the properties are interned.
+ */
+public final class CompactModels {
+    public static final String COMPACT_MODELS = "compactModels";
+
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+
+    private CompactModels() {
+    }
+
+    /**
+     * @return true if compact models are enabled for the current generator run
+     */
+    public static boolean isEnabled() {
+        return GeneratorProperties.getProperty(COMPACT_MODELS) != null;
+    }
+
+    /**
+     * Same as {@link CodegenModel#removeAllDuplicatedProperty()}, but sharing property instances between the filtered
+     * lists.
+     */
+    static void removeAllDuplicatedProperty(CodegenModel m) {
+        // a model without parent has a single list for vars and allVars until now
+        boolean allVarsIsVars = m.allVars == m.vars;
+
+        m.vars = removeDuplicatedProperty(m.vars, false);
+        m.allVars = removeDuplicatedProperty(allVarsIsVars ? m.vars : m.allVars, true);
+
+        Map<String, CodegenProperty> sources = new HashMap<>();
+        Map<String, CodegenProperty> shared = new HashMap<>();
+        m.requiredVars = share(m.requiredVars, sources, shared);
+        m.optionalVars = share(m.optionalVars, sources, shared);
+        m.parentVars = share(m.parentVars, sources, shared);
+        m.readOnlyVars = share(m.readOnlyVars, sources, shared);
+        m.readWriteVars = share(m.readWriteVars, sources, shared);
+
+        updatePropertyListHasMore(m.vars);
+        updatePropertyListHasMore(m.allVars);
+        Map<CodegenProperty, Boolean> hasMore = new IdentityHashMap<>();
+        Map<CodegenProperty, CodegenProperty> clones = new IdentityHashMap<>();
+        updatePropertyListHasMore(m.requiredVars, hasMore, clones);
+        updatePropertyListHasMore(m.optionalVars, hasMore, clones);
+        updatePropertyListHasMore(m.parentVars, hasMore, clones);
+        updatePropertyListHasMore(m.readOnlyVars, hasMore, clones);
+        updatePropertyListHasMore(m.readWriteVars, hasMore, clones);
+
+        internAll(m.vars);
+        internAll(m.allVars);
+        for (CodegenProperty cp : hasMore.keySet()) {
+            intern(cp);
+        }
+    }
+
+    /**
+     * Removes the duplicated properties of a list, keeping the first one of each name.
+     *
+     * @param clone whether to clone the properties, which are otherwise kept
+     */
+    private static List<CodegenProperty> removeDuplicatedProperty(List<CodegenProperty> vars, boolean clone) {
+        if (vars == null) {
+            return null;
+        }
+
+        List<CodegenProperty> list = new ArrayList<>(vars.size());
+        Set<String> names = new TreeSet<>();
+        for (CodegenProperty cp : vars) {
+            if (names.add(cp.baseName)) {
+                list.add(clone ? cp.clone() : cp);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Removes the duplicated properties of a filtered list and replaces each property by a clone that is shared with
+     * the other filtered lists, as long as the properties of the same name are equal.
+     */
+    private static List<CodegenProperty> share(List<CodegenProperty> vars, Map<String, CodegenProperty> sources,
+                                               Map<String, CodegenProperty> shared) {
+        if (vars == null) {
+            return null;
+        }
+
+        List<CodegenProperty> list = new ArrayList<>(vars.size());
+        Set<String> names = new TreeSet<>();
+        for (CodegenProperty cp : vars) {
+            if (names.add(cp.baseName)) {
+                CodegenProperty instance = shared.get(cp.baseName);
+                // the lists usually hold the same instance, which spares the comparison
+                if (instance == null || sources.get(cp.baseName) != cp && !sameProperty(instance, cp)) {
+                    instance = cp.clone();
+                    if (shared.putIfAbsent(cp.baseName, instance) == null) {
+                        sources.put(cp.baseName, cp);
+                    }
+                }
+                list.add(instance);
+            }
+        }
+        return list;
+    }
+
+    private static void updatePropertyListHasMore(List<CodegenProperty> list) {
+        if (list != null) {
+            for (int i = 0; i < list.size(); i++) {
+                list.get(i).hasMore = i < list.size() - 1;
+            }
+        }
+    }
+
+    private static void updatePropertyListHasMore(List<CodegenProperty> list, Map<CodegenProperty, Boolean> hasMore,
+                                                  Map<CodegenProperty, CodegenProperty> clones) {
+        if (list == null) {
+            return;
+        }
+
+        for (int i = 0; i < list.size(); i++) {
+            CodegenProperty cp = list.get(i);
+            boolean more = i < list.size() - 1;
+            Boolean assigned = hasMore.get(cp);
+            if (assigned == null) {
+                hasMore.put(cp, more);
+                cp.hasMore = more;
+            } else if (assigned != more) {
+                // the shared instance has the other value of hasMore, at most one clone is needed
+                CodegenProperty clone = clones.get(cp);
+                if (clone == null) {
+                    clone = cp.clone();
+                    clone.hasMore = more;
+                    clones.put(cp, clone);
+                    hasMore.put(clone, more);
+                }
+                list.set(i, clone);
+            }
+        }
+    }
+
+    /**
+     * @return true if both properties are equal, ignoring their position in a list
+     */
+    private static boolean sameProperty(CodegenProperty a, CodegenProperty b) {
+        boolean hasMore = b.hasMore;
+        boolean hasMoreNonReadOnly = b.hasMoreNonReadOnly;
+        b.hasMore = a.hasMore;
+        b.hasMoreNonReadOnly = a.hasMoreNonReadOnly;
+        try {
+            return a.equals(b);
+        } finally {
+            b.hasMore = hasMore;
+            b.hasMoreNonReadOnly = hasMoreNonReadOnly;
+        }
+    }
+
+    private static void internAll(List<CodegenProperty> list) {
+        if (list != null) {
+            for (CodegenProperty cp : list) {
+                intern(cp);
+            }
+        }
+    }
+
+    private static void intern(CodegenProperty cp) {
+        for (; cp != null; cp = cp.items) {
+            cp.openApiType = intern(cp.openApiType);
+            cp.baseName = intern(cp.baseName);
+            cp.name = intern(cp.name);
+            cp.complexType = intern(cp.complexType);
+            cp.dataType = intern(cp.dataType);
+            cp.datatypeWithEnum = intern(cp.datatypeWithEnum);
+            cp.dataFormat = intern(cp.dataFormat);
+            cp.baseType = intern(cp.baseType);
+            cp.containerType = intern(cp.containerType);
+            cp.nameInCamelCase = intern(cp.nameInCamelCase);
+            cp.nameInSnakeCase = intern(cp.nameInSnakeCase);
+            cp.enumName = intern(cp.enumName);
+            if (cp.getter != null) {
+                cp.getter = intern(cp.getter);
+            }
+            if (cp.setter != null) {
+                cp.setter = intern(cp.setter);
+            }
+        }
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : STRINGS.intern(value);
+    }
+}
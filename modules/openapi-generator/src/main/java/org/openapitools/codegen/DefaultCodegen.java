@@ -103,8 +103,8 @@ public class DefaultCodegen implements CodegenConfig {
     // They are translated to words like "Dollar" and prefixed with '
     // Then translated back during JSON encoding and decoding
     protected Map<String, String> specialCharReplacements = new HashMap<String, String>();
-    // When a model is an alias for a simple type
-    protected Map<String, String> typeAliases = null;
+    // When a model is an alias for a simple type (volatile, as fromModel may run concurrently)
+    protected volatile Map<String, String> typeAliases = null;
     protected Boolean prependFormOrBodyParameters = false;
     // The extension of the generated documentation files (defaults to markdown .md)
     protected String docExtension;
@@ -113,10 +113,17 @@ public class DefaultCodegen implements CodegenConfig {
     protected boolean enablePostProcessFile = false;
     // flag to indicate whether to only update files whose contents have changed
     protected boolean enableMinimalUpdate = false;
+    // flag to indicate whether fromModel may be called concurrently, see CodegenConfig.isFromModelThreadSafe()
+    protected boolean fromModelThreadSafe = false;
+    // flag to indicate whether fromOperation may be called concurrently, see CodegenConfig.isFromOperationThreadSafe()
+    protected boolean fromOperationThreadSafe = false;
 
     // make openapi available to all methods
     protected OpenAPI openAPI;
 
+    // operationIds already used per operation group, so that addOperationToGroup doesn't rescan the group
+    private final Map<List<CodegenOperation>, OperationIds> operationIdsByGroup = new IdentityHashMap<>();
+
     public List<CliOption> cliOptions() {
         return cliOptions;
     }
@@ -1613,7 +1620,10 @@ public class DefaultCodegen implements CodegenConfig {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(schema);
+        m.lazyModelJson = LazyJson.of(schema);
+        if (m.lazyModelJson == null) {
+            m.modelJson = Json.pretty(schema);
+        }
         m.externalDocumentation = schema.getExternalDocs();
         if (schema.getExtensions() != null && !schema.getExtensions().isEmpty()) {
             m.getVendorExtensions().putAll(schema.getExtensions());
@@ -1899,12 +1909,18 @@ public class DefaultCodegen implements CodegenConfig {
         property.description = escapeText(p.getDescription());
         property.unescapedDescription = p.getDescription();
         property.title = p.getTitle();
-        property.getter = toGetter(name);
-        property.setter = toSetter(name);
-        property.example = toExampleValue(p);
+        property.lazyFields = LazyModelFields.of(this, name, p);
+        if (property.lazyFields == null) {
+            property.getter = toGetter(name);
+            property.setter = toSetter(name);
+            property.example = toExampleValue(p);
+            property.defaultValueWithParam = toDefaultValueWithParam(name, p);
+        }
+        property.lazyJsonSchema = LazyJson.of(p);
+        if (property.lazyJsonSchema == null) {
+            property.jsonSchema = Json.pretty(p);
+        }
         property.defaultValue = toDefaultValue(p);
-        property.defaultValueWithParam = toDefaultValueWithParam(name, p);
-        property.jsonSchema = Json.pretty(p);
         if (p.getReadOnly() != null) {
             property.isReadOnly = p.getReadOnly();
         }
@@ -1956,7 +1972,9 @@ public class DefaultCodegen implements CodegenConfig {
 
         } else if (ModelUtils.isBooleanSchema(p)) { // boolean type
             property.isBoolean = true;
-            property.getter = toBooleanGetter(name);
+            if (property.lazyFields == null) {
+                property.getter = toBooleanGetter(name);
+            }
         } else if (ModelUtils.isDateSchema(p)) { // date format
             property.isString = false; // for backward compatibility with 2.x
             property.isDate = true;
@@ -2686,7 +2704,10 @@ public class DefaultCodegen implements CodegenConfig {
         // TODO need to revise and test examples in responses
         // ApiResponse does not support examples at the moment
         //r.examples = toExamples(response.getExamples());
-        r.jsonSchema = Json.pretty(response);
+        r.lazyJsonSchema = LazyJson.of(response);
+        if (r.lazyJsonSchema == null) {
+            r.jsonSchema = Json.pretty(response);
+        }
         if (response.getExtensions() != null && !response.getExtensions().isEmpty()) {
             r.vendorExtensions.putAll(response.getExtensions());
         }
@@ -2864,11 +2885,14 @@ public class DefaultCodegen implements CodegenConfig {
         if (parameter.getRequired() != null) {
             codegenParameter.required = parameter.getRequired();
         }
-        codegenParameter.jsonSchema = Json.pretty(parameter);
+        codegenParameter.lazyJsonSchema = LazyJson.of(parameter);
+        if (codegenParameter.lazyJsonSchema == null) {
+            codegenParameter.jsonSchema = Json.pretty(parameter);
+        }
 
         if (GeneratorProperties.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + parameter.getName());
-            LOGGER.info("JSON schema: " + codegenParameter.jsonSchema);
+            LOGGER.info("JSON schema: " + codegenParameter.getJsonSchema());
         }
 
         if (parameter.getExtensions() != null && !parameter.getExtensions().isEmpty()) {
@@ -3383,13 +3407,14 @@ public class DefaultCodegen implements CodegenConfig {
             operations.put(tag, opList);
         }
         // check for operationId uniqueness
+        // same names as a single pass over the group: each candidate is looked up after the previous match
+        OperationIds operationIds = getOperationIds(opList);
         String uniqueName = co.operationId;
         int counter = 0;
-        for (CodegenOperation op : opList) {
-            if (uniqueName.equals(op.operationId)) {
-                uniqueName = co.operationId + "_" + counter;
-                counter++;
-            }
+        int position = -1;
+        while ((position = operationIds.next(uniqueName, position)) >= 0) {
+            uniqueName = co.operationId + "_" + counter;
+            counter++;
         }
         if (!co.operationId.equals(uniqueName)) {
             LOGGER.warn("generated unique operationId `" + uniqueName + "`");
@@ -3398,10 +3423,59 @@ public class DefaultCodegen implements CodegenConfig {
         co.operationIdLowerCase = uniqueName.toLowerCase(Locale.ROOT);
         co.operationIdCamelCase = camelize(uniqueName);
         co.operationIdSnakeCase = underscore(uniqueName);
+        operationIds.add(uniqueName, opList.size());
         opList.add(co);
+        operationIds.size = opList.size();
         co.baseName = tag;
     }
 
+    /**
+     * Release the operationIds indexed for the groups passed to addOperationToGroup
+     */
+    public void resetOperationGroups() {
+        operationIdsByGroup.clear();
+    }
+
+    private OperationIds getOperationIds(List<CodegenOperation> opList) {
+        OperationIds operationIds = operationIdsByGroup.get(opList);
+        // rebuild if the group has been modified without going through addOperationToGroup
+        if (operationIds == null || operationIds.size != opList.size()) {
+            operationIds = new OperationIds();
+            int position = 0;
+            for (CodegenOperation op : opList) {
+                operationIds.add(op.operationId, position++);
+            }
+            operationIds.size = opList.size();
+            operationIdsByGroup.put(opList, operationIds);
+        }
+        return operationIds;
+    }
+
+    private static class OperationIds {
+        // ascending positions of each operationId in the group
+        final Map<String, List<Integer>> positions = new HashMap<String, List<Integer>>();
+        int size;
+
+        void add(String operationId, int position) {
+            positions.computeIfAbsent(operationId, k -> new ArrayList<Integer>()).add(position);
+        }
+
+        /**
+         * @return The first position of the operationId after the given one, -1 if there is none
+         */
+        int next(String operationId, int after) {
+            List<Integer> list = positions.get(operationId);
+            if (list == null) {
+                return -1;
+            }
+            int index = Collections.binarySearch(list, after + 1);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < list.size() ? list.get(index) : -1;
+        }
+    }
+
     private void addParentContainer(CodegenModel model, String name, Schema schema) {
         final CodegenProperty property = fromProperty(name, schema);
         addImport(model, property.complexType);
@@ -4458,7 +4532,10 @@ public class DefaultCodegen implements CodegenConfig {
         codegenParameter.dataFormat = codegenProperty.dataFormat;
         codegenParameter.description = escapeText(codegenProperty.description);
         codegenParameter.unescapedDescription = codegenProperty.getDescription();
-        codegenParameter.jsonSchema = Json.pretty(propertySchema);
+        codegenParameter.lazyJsonSchema = LazyJson.of(propertySchema);
+        if (codegenParameter.lazyJsonSchema == null) {
+            codegenParameter.jsonSchema = Json.pretty(propertySchema);
+        }
         codegenParameter.defaultValue = codegenProperty.getDefaultValue();
 
         if (codegenProperty.getVendorExtensions() != null && !codegenProperty.getVendorExtensions().isEmpty()) {
@@ -4869,6 +4946,24 @@ public class DefaultCodegen implements CodegenConfig {
         this.enablePostProcessFile = enablePostProcessFile;
     }
 
+    /**
+     * Whether fromModel may be called concurrently for different schemas.
+     *
+     * @return true if the generator declares fromModel thread-safe
+     */
+    public boolean isFromModelThreadSafe() {
+        return fromModelThreadSafe;
+    }
+
+    /**
+     * Whether fromOperation may be called concurrently for the operations of different paths.
+     *
+     * @return true if the generator declares fromOperation thread-safe
+     */
+    public boolean isFromOperationThreadSafe() {
+        return fromOperationThreadSafe;
+    }
+
     /**
      * Get the boolean value indicating the state of the option for updating only changed files
      */
@@ -34,8 +34,12 @@ import io.swagger.v3.oas.models.tags.Tag;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.config.GenerationContext;
+import org.openapitools.codegen.config.GenerationSessionCache;
 import org.openapitools.codegen.config.GeneratorProperties;
 import org.openapitools.codegen.ignore.CodegenIgnoreProcessor;
+import org.openapitools.codegen.mustache.TemplateProfiler;
+import org.openapitools.codegen.templating.TemplateContext;
 import org.openapitools.codegen.utils.ImplementationVersion;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.openapitools.codegen.utils.URLPathUtils;
@@ -46,6 +50,13 @@ import java.io.*;
 import java.net.URL;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
@@ -65,6 +76,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private String basePathWithoutHost;
     private String contextPath;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    private TemplateProfiler templateProfiler;
+    private GenerationContext context;
+    private Map<String, Object> additionalPropertiesSnapshot;
 
     @Override
     public boolean getEnableMinimalUpdate() {
@@ -118,6 +132,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.generatorPropertyDefaults.put(key, value);
     }
 
+    /**
+     * Get a generator property of the current run, falling back to {@link GeneratorProperties} outside of a run.
+     *
+     * @param key The property key
+     * @return The property value, or null if not set
+     */
+    private String getGeneratorProperty(final String key) {
+        return context != null ? context.getProperty(key) : GeneratorProperties.getProperty(key);
+    }
+
     private Boolean getGeneratorPropertyDefaultSwitch(final String key, final Boolean defaultValue) {
         String result = null;
         if (this.generatorPropertyDefaults.containsKey(key)) {
@@ -132,9 +156,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private void configureGeneratorProperties() {
         // allows generating only models by specifying a CSV of models to generate, or empty for all
         // NOTE: Boolean.TRUE is required below rather than `true` because of JVM boxing constraints and type inference.
-        generateApis = GeneratorProperties.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
-        generateModels = GeneratorProperties.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
-        generateSupportingFiles = GeneratorProperties.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
+        generateApis = getGeneratorProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
+        generateModels = getGeneratorProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
+        generateSupportingFiles = getGeneratorProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
 
         if (generateApis == null && generateModels == null && generateSupportingFiles == null) {
             // no specifics are set, generate everything
@@ -152,10 +176,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
         // model/api tests and documentation options rely on parent generate options (api or model) and no other options.
         // They default to true in all scenarios and can only be marked false explicitly
-        generateModelTests = GeneratorProperties.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
-        generateModelDocumentation = GeneratorProperties.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
-        generateApiTests = GeneratorProperties.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
-        generateApiDocumentation = GeneratorProperties.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
+        generateModelTests = getGeneratorProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
+        generateModelDocumentation = getGeneratorProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
+        generateApiTests = getGeneratorProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
+        generateApiDocumentation = getGeneratorProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
 
         // Additional properties added for tests to exclude references in project related files
         config.additionalProperties().put(CodegenConstants.GENERATE_API_TESTS, generateApiTests);
@@ -171,9 +195,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             config.additionalProperties().put(CodegenConstants.EXCLUDE_TESTS, true);
         }
 
-        if (GeneratorProperties.getProperty("debugOpenAPI") != null) {
+        if (getGeneratorProperty("debugOpenAPI") != null) {
             Json.prettyPrint(openAPI);
-        } else if (GeneratorProperties.getProperty("debugSwagger") != null) {
+        } else if (getGeneratorProperty("debugSwagger") != null) {
             // This exists for backward compatibility
             // We fall to this block only if debugOpenAPI is null. No need to dump this twice.
             LOGGER.info("Please use system property 'debugOpenAPI' instead of 'debugSwagger'.");
@@ -183,6 +207,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         config.processOpts();
         config.preprocessOpenAPI(openAPI);
 
+        if (getGeneratorProperty(TemplateProfiler.PROFILE_TEMPLATES) != null) {
+            // lambdas are registered by generators in processOpts, so they can only be wrapped from here on
+            templateProfiler = new TemplateProfiler();
+            templateProfiler.wrapLambdas(config.additionalProperties());
+        }
+
         // set OpenAPI to make these available to all methods
         config.setOpenAPI(openAPI);
 
@@ -331,7 +361,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        String modelNames = GeneratorProperties.getProperty("models");
+        String modelNames = getGeneratorProperty("models");
         Set<String> modelsToGenerate = null;
         if (modelNames != null && !modelNames.isEmpty()) {
             modelsToGenerate = new HashSet<String>(Arrays.asList(modelNames.split(",")));
@@ -404,11 +434,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             } */
         });
 
-        Boolean skipFormModel = GeneratorProperties.getProperty(CodegenConstants.SKIP_FORM_MODEL) != null ?
-                Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.SKIP_FORM_MODEL)) :
+        Boolean skipFormModel = getGeneratorProperty(CodegenConstants.SKIP_FORM_MODEL) != null ?
+                Boolean.valueOf(getGeneratorProperty(CodegenConstants.SKIP_FORM_MODEL)) :
                 getGeneratorPropertyDefaultSwitch(CodegenConstants.SKIP_FORM_MODEL, false);
 
-        // process models only
+        // select the models to generate
+        Map<String, Schema> selectedSchemas = new LinkedHashMap<>();
         for (String name : modelKeys) {
             try {
                 //don't generate models that have an import mapping
@@ -447,11 +478,23 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     }
                 }
 
+                selectedSchemas.put(name, schema);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not process model '" + name + "'" + ".Please make sure that your schema is correct!", e);
+            }
+        }
+
+        // process models only, in the order of the schemas so that the result does not depend on the threads
+        Map<String, CodegenModel> codegenModels = fromModels(selectedSchemas);
+        for (Map.Entry<String, Schema> entry : selectedSchemas.entrySet()) {
+            String name = entry.getKey();
+            try {
                 Map<String, Schema> schemaMap = new HashMap<>();
-                schemaMap.put(name, schema);
-                Map<String, Object> models = processModels(config, schemaMap);
-                models.put("classname", config.toModelName(name));
-                models.putAll(config.additionalProperties());
+                schemaMap.put(name, entry.getValue());
+                // precedence: additional properties, then classname, then the processed model data
+                Map<String, Object> models = new TemplateContext(additionalPropertiesSnapshot());
+                models.putIfAbsent("classname", config.toModelName(name));
+                processModels(config, schemaMap, codegenModels).forEach(models::putIfAbsent);
                 allProcessedModels.put(name, models);
             } catch (Exception e) {
                 throw new RuntimeException("Could not process model '" + name + "'" + ".Please make sure that your schema is correct!", e);
@@ -465,8 +508,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         allProcessedModels = config.postProcessAllModels(allProcessedModels);
 
         // generate files based on processed models
-        for (String modelName : allProcessedModels.keySet()) {
-            Map<String, Object> models = (Map<String, Object>) allProcessedModels.get(modelName);
+        MemoryBudget memoryBudget = MemoryBudget.current();
+        Iterator<Map.Entry<String, Object>> bundles = allProcessedModels.entrySet().iterator();
+        while (bundles.hasNext()) {
+            Map.Entry<String, Object> bundle = bundles.next();
+            String modelName = bundle.getKey();
+            Map<String, Object> models = (Map<String, Object>) bundle.getValue();
             models.put("modelPackage", config.modelPackage());
             try {
                 //don't generate models that have an import mapping
@@ -499,22 +546,67 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
+            } finally {
+                if (memoryBudget != null) {
+                    // once rendered, only the model itself is used later on (by the APIs and supporting files)
+                    bundles.remove();
+                    selectedSchemas.remove(modelName);
+                    codegenModels.remove(modelName);
+                    if (memoryBudget.isExceeded()) {
+                        releaseJson(models);
+                    }
+                }
             }
         }
-        if (GeneratorProperties.getProperty("debugModels") != null) {
+        if (getGeneratorProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
         }
 
     }
 
+    /**
+     * Spill the JSON the models of a rendered bundle and their properties hold in memory.
+     */
+    @SuppressWarnings("unchecked")
+    private static void releaseJson(Map<String, Object> bundle) {
+        Object modelTemplates = bundle.get("models");
+        if (!(modelTemplates instanceof List)) {
+            return;
+        }
+        for (Object modelTemplate : (List<Object>) modelTemplates) {
+            Object model = modelTemplate instanceof Map ? ((Map<String, Object>) modelTemplate).get("model") : null;
+            if (model instanceof CodegenModel) {
+                releaseJson((CodegenModel) model);
+            }
+        }
+    }
+
+    private static void releaseJson(CodegenModel model) {
+        if (model.lazyModelJson != null) {
+            model.lazyModelJson.release();
+        }
+        for (List<CodegenProperty> vars : Arrays.asList(model.vars, model.allVars, model.requiredVars, model.optionalVars,
+                model.parentVars, model.readOnlyVars, model.readWriteVars)) {
+            if (vars != null) {
+                for (CodegenProperty cp : vars) {
+                    for (; cp != null; cp = cp.items) {
+                        if (cp.lazyJsonSchema != null) {
+                            cp.lazyJsonSchema.release();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     private void generateApis(List<File> files, List<Object> allOperations, List<Object> allModels) {
         if (!generateApis) {
             return;
         }
         Map<String, List<CodegenOperation>> paths = processPaths(this.openAPI.getPaths());
         Set<String> apisToGenerate = null;
-        String apiNames = GeneratorProperties.getProperty("apis");
+        String apiNames = getGeneratorProperty("apis");
         if (apiNames != null && !apiNames.isEmpty()) {
             apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
         }
@@ -527,8 +619,30 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        // the same for every tag
+        URL url = URLPathUtils.getServerURL(openAPI);
+        String apiBasePathWithoutHost = config.encodePath(url.getPath()).replaceAll("/$", "");
+        boolean sortParamsByRequiredFlag = true;
+        if (this.config.additionalProperties().containsKey(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG)) {
+            sortParamsByRequiredFlag = Boolean.valueOf(this.config.additionalProperties().get(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG).toString());
+        }
+        TemplateContext apiData = null;
+
         for (String tag : paths.keySet()) {
             try {
+                Map<String, Object> additionalProperties = additionalPropertiesSnapshot();
+                if (apiData == null || apiData.getParent() != additionalProperties) {
+                    // the additional properties take precedence over the data shared by all tags
+                    apiData = new TemplateContext(additionalProperties);
+                    apiData.putIfAbsent("basePath", basePath);
+                    apiData.putIfAbsent("basePathWithoutHost", apiBasePathWithoutHost);
+                    apiData.putIfAbsent("contextPath", contextPath);
+                    apiData.putIfAbsent("apiPackage", config.apiPackage());
+                    apiData.putIfAbsent("modelPackage", config.modelPackage());
+                    // Pass sortParamsByRequiredFlag through to the Mustache template...
+                    apiData.put("sortParamsByRequiredFlag", sortParamsByRequiredFlag);
+                }
+
                 List<CodegenOperation> ops = paths.get(tag);
                 Collections.sort(ops, new Comparator<CodegenOperation>() {
                     @Override
@@ -536,15 +650,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         return ObjectUtils.compare(one.operationId, another.operationId);
                     }
                 });
-                Map<String, Object> operation = processOperations(config, tag, ops, allModels);
-                URL url = URLPathUtils.getServerURL(openAPI);
-                operation.put("basePath", basePath);
-                operation.put("basePathWithoutHost", config.encodePath(url.getPath()).replaceAll("/$", ""));
-                operation.put("contextPath", contextPath);
-                operation.put("baseName", tag);
-                operation.put("apiPackage", config.apiPackage());
-                operation.put("modelPackage", config.modelPackage());
-                operation.putAll(config.additionalProperties());
+                Map<String, Object> operation = new TemplateContext(apiData);
+                operation.putIfAbsent("baseName", tag);
+                processOperations(config, tag, ops, allModels).forEach(operation::putIfAbsent);
                 operation.put("classname", config.toApiName(tag));
                 operation.put("classVarName", config.toApiVarName(tag));
                 operation.put("importPath", config.toApiImport(tag));
@@ -574,25 +682,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     }
                 }
 
-                // Pass sortParamsByRequiredFlag through to the Mustache template...
-                boolean sortParamsByRequiredFlag = true;
-                if (this.config.additionalProperties().containsKey(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG)) {
-                    sortParamsByRequiredFlag = Boolean.valueOf(this.config.additionalProperties().get(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG).toString());
-                }
-                operation.put("sortParamsByRequiredFlag", sortParamsByRequiredFlag);
-
                 /* consumes, produces are no longer defined in OAS3.0
                 processMimeTypes(swagger.getConsumes(), operation, "consumes");
                 processMimeTypes(swagger.getProduces(), operation, "produces");
                 */
 
-                allOperations.add(new HashMap<String, Object>(operation));
-                for (int i = 0; i < allOperations.size(); i++) {
-                    Map<String, Object> oo = (Map<String, Object>) allOperations.get(i);
-                    if (i < (allOperations.size() - 1)) {
-                        oo.put("hasMore", "true");
-                    }
+                // only the previously last operation gains a successor
+                if (!allOperations.isEmpty()) {
+                    ((Map<String, Object>) allOperations.get(allOperations.size() - 1)).put("hasMore", "true");
                 }
+                allOperations.add(new HashMap<String, Object>(operation));
 
                 for (String templateName : config.apiTemplateFiles().keySet()) {
                     String filename = config.apiFilename(templateName, tag);
@@ -653,7 +752,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
-        if (GeneratorProperties.getProperty("debugOperations") != null) {
+        if (getGeneratorProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
         }
@@ -665,7 +764,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
         Set<String> supportingFilesToGenerate = null;
-        String supportingFiles = GeneratorProperties.getProperty(CodegenConstants.SUPPORTING_FILES);
+        String supportingFiles = getGeneratorProperty(CodegenConstants.SUPPORTING_FILES);
         if (supportingFiles != null && !supportingFiles.isEmpty()) {
             supportingFilesToGenerate = new HashSet<String>(Arrays.asList(supportingFiles.split(",")));
         }
@@ -703,20 +802,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
                 if (ignoreProcessor.allowsFile(new File(outputFilename))) {
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
+                        writeToFile(outputFilename, renderTemplate(templateFile, bundle));
                         File written = new File(outputFilename);
                         files.add(written);
                         if (config.isEnablePostProcessFile()) {
@@ -810,10 +896,17 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
     }
 
+    /**
+     * @return The additional properties as of now, for the template data layered over them
+     */
+    private Map<String, Object> additionalPropertiesSnapshot() {
+        additionalPropertiesSnapshot = TemplateContext.snapshot(config.additionalProperties(), additionalPropertiesSnapshot);
+        return additionalPropertiesSnapshot;
+    }
+
     private Map<String, Object> buildSupportFileBundle(List<Object> allOperations, List<Object> allModels) {
 
-        Map<String, Object> bundle = new HashMap<String, Object>();
-        bundle.putAll(config.additionalProperties());
+        Map<String, Object> bundle = new TemplateContext(additionalPropertiesSnapshot());
         bundle.put("apiPackage", config.apiPackage());
 
         Map<String, Object> apis = new HashMap<String, Object>();
@@ -866,7 +959,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
         config.postProcessSupportingFileData(bundle);
 
-        if (GeneratorProperties.getProperty("debugSupportingFiles") != null) {
+        if (getGeneratorProperty("debugSupportingFiles") != null) {
             LOGGER.info("############ Supporting file info ############");
             Json.prettyPrint(bundle);
         }
@@ -884,6 +977,32 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             throw new RuntimeException("missing config!");
         }
 
+        resetTemplateIndex();
+
+        context = new GenerationContext(GeneratorProperties.snapshot(), isGenerateAliasAsModel());
+        GenerationContext previousContext = GenerationContext.enter(context);
+        try {
+            return generateFiles();
+        } finally {
+            MemoryBudget memoryBudget = MemoryBudget.current();
+            if (memoryBudget != null) {
+                memoryBudget.close();
+            }
+            GenerationContext.restore(previousContext);
+            // reset GeneratorProperties, so that the running thread can be reused for another generator-run
+            GeneratorProperties.reset();
+        }
+    }
+
+    private boolean isGenerateAliasAsModel() {
+        Object value = config.additionalProperties().get(CodegenConstants.GENERATE_ALIAS_AS_MODEL);
+        if (value != null) {
+            return Boolean.valueOf(value.toString());
+        }
+        return ModelUtils.isGenerateAliasAsModel();
+    }
+
+    private List<File> generateFiles() {
         // resolve inline models
         InlineModelResolver inlineModelResolver = new InlineModelResolver();
         inlineModelResolver.flatten(openAPI);
@@ -908,8 +1027,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         generateSupportingFiles(files, bundle);
         config.processOpenAPI(openAPI);
 
-        // reset GeneratorProperties, so that the running thread can be reused for another generator-run
-        GeneratorProperties.reset();
+        if (templateProfiler != null) {
+            LOGGER.info(templateProfiler.report(getProfileLimit()));
+        }
+        if (getGeneratorProperty(LazyModelFields.LAZY_MODEL_FIELDS) != null) {
+            LOGGER.info(LazyModelFields.report(context));
+        }
+        MemoryBudget memoryBudget = MemoryBudget.current();
+        if (memoryBudget != null) {
+            LOGGER.info(memoryBudget.report());
+        }
 
         return files;
     }
@@ -918,20 +1045,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         if (ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
             String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
-            Mustache.Compiler compiler = Mustache.compiler();
-            compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
-                    .withLoader(new Mustache.TemplateLoader() {
-                        @Override
-                        public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                        }
-                    })
-                    .defaultValue("")
-                    .compile(template);
-
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
+            writeToFile(adjustedOutputFilename, renderTemplate(templateFile, templateData));
             return new File(adjustedOutputFilename);
         }
 
@@ -939,53 +1053,155 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         return null;
     }
 
+    private String renderTemplate(String templateFile, Map<String, Object> templateData) {
+        long start = System.nanoTime();
+        String contents = compileTemplate(templateFile).execute(templateData);
+        if (templateProfiler != null) {
+            templateProfiler.record(TemplateProfiler.Kind.TEMPLATE, templateFile, System.nanoTime() - start);
+        }
+        return contents;
+    }
+
+    /**
+     * Get the compiled template, compiling each template only once per run (or once per session, when the
+     * run shares a {@link GenerationSessionCache}). The template sources are shared across runs by the
+     * {@link org.openapitools.codegen.templating.TemplateSourceCache}.
+     */
+    private Template compileTemplate(String templateFile) {
+        // outside of generate() (e.g. generateModels called by a test) there is no run to cache the templates for
+        GenerationContext context = GenerationContext.current();
+        ConcurrentMap<String, Template> compiledTemplates = context == null ? new ConcurrentHashMap<>() : context.getCache("compiledTemplates");
+        Template tmpl = compiledTemplates.get(templateFile);
+        if (tmpl == null) {
+            final String template = readTemplate(templateFile);
+            GenerationSessionCache sessionCache = opts == null ? null : opts.getSessionCache();
+            // profiled templates record their timings for this run only
+            if (sessionCache != null && templateProfiler == null) {
+                tmpl = sessionCache.getTemplate(config, getClass().getClassLoader(), templateFile, template);
+                if (tmpl != null) {
+                    compiledTemplates.put(templateFile, tmpl);
+                    return tmpl;
+                }
+            }
+            Mustache.TemplateLoader loader = new Mustache.TemplateLoader() {
+                @Override
+                public Reader getTemplate(String name) {
+                    return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
+                }
+            };
+            Mustache.Compiler mustache = config.processCompiler(Mustache.compiler())
+                    .withLoader(loader)
+                    .defaultValue("");
+            if (templateProfiler != null) {
+                mustache = templateProfiler.profile(mustache);
+            }
+            tmpl = mustache.compile(template);
+            compiledTemplates.put(templateFile, tmpl);
+        }
+        return tmpl;
+    }
+
     public Map<String, List<CodegenOperation>> processPaths(Paths paths) {
         Map<String, List<CodegenOperation>> ops = new TreeMap<String, List<CodegenOperation>>();
-        for (String resourcePath : paths.keySet()) {
-            PathItem path = paths.get(resourcePath);
-            processOperation(resourcePath, "get", path.getGet(), ops, path);
-            processOperation(resourcePath, "head", path.getHead(), ops, path);
-            processOperation(resourcePath, "put", path.getPut(), ops, path);
-            processOperation(resourcePath, "post", path.getPost(), ops, path);
-            processOperation(resourcePath, "delete", path.getDelete(), ops, path);
-            processOperation(resourcePath, "patch", path.getPatch(), ops, path);
-            processOperation(resourcePath, "options", path.getOptions(), ops, path);
-        }
-        return ops;
+        Map<String, Tag> swaggerTags = getTagsByName();
+        int threads = Math.min(getThreadCount(CodegenConstants.OPERATION_THREADS), paths.size());
+        // don't keep the groups of a previous run of the same config alive
+        config.resetOperationGroups();
+        try {
+            if (threads > 1 && config.isFromOperationThreadSafe()) {
+                // group in the order of the paths, so that e.g. renamed duplicate operationIds don't depend on the threads
+                for (List<GroupedOperation> pathOperations : fromPaths(paths, swaggerTags, threads)) {
+                    for (GroupedOperation operation : pathOperations) {
+                        operation.addTo(ops);
+                    }
+                }
+                return ops;
+            }
+            for (String resourcePath : paths.keySet()) {
+                for (GroupedOperation operation : fromPath(resourcePath, paths.get(resourcePath), swaggerTags)) {
+                    operation.addTo(ops);
+                }
+            }
+            return ops;
+        } finally {
+            config.resetOperationGroups();
+        }
+    }
+
+    /**
+     * Convert the operations of each path on a pool of threads.
+     *
+     * @return The converted operations of each path, in the order of the paths
+     */
+    private List<List<GroupedOperation>> fromPaths(Paths paths, Map<String, Tag> swaggerTags, int threads) {
+        GenerationContext context = GenerationContext.current();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<GroupedOperation>>> futures = new ArrayList<>();
+            for (Map.Entry<String, PathItem> entry : paths.entrySet()) {
+                Callable<List<GroupedOperation>> task = () -> fromPath(entry.getKey(), entry.getValue(), swaggerTags);
+                futures.add(executor.submit(context == null ? task : context.wrap(task)));
+            }
+            List<List<GroupedOperation>> operations = new ArrayList<>(futures.size());
+            for (Future<List<GroupedOperation>> future : futures) {
+                operations.add(future.get());
+            }
+            return operations;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while processing operations", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<GroupedOperation> fromPath(String resourcePath, PathItem path, Map<String, Tag> swaggerTags) {
+        List<GroupedOperation> operations = new ArrayList<>();
+        fromOperation(resourcePath, "get", path.getGet(), operations, path, swaggerTags);
+        fromOperation(resourcePath, "head", path.getHead(), operations, path, swaggerTags);
+        fromOperation(resourcePath, "put", path.getPut(), operations, path, swaggerTags);
+        fromOperation(resourcePath, "post", path.getPost(), operations, path, swaggerTags);
+        fromOperation(resourcePath, "delete", path.getDelete(), operations, path, swaggerTags);
+        fromOperation(resourcePath, "patch", path.getPatch(), operations, path, swaggerTags);
+        fromOperation(resourcePath, "options", path.getOptions(), operations, path, swaggerTags);
+        return operations;
     }
 
-    private void processOperation(String resourcePath, String httpMethod, Operation operation, Map<String, List<CodegenOperation>> operations, PathItem path) {
+    private Map<String, Tag> getTagsByName() {
+        if (openAPI.getTags() == null) {
+            return null;
+        }
+        Map<String, Tag> tagsByName = new HashMap<String, Tag>();
+        for (Tag tag : openAPI.getTags()) {
+            // the first definition wins, as it did with the linear lookup
+            tagsByName.putIfAbsent(tag.getName(), tag);
+        }
+        return tagsByName;
+    }
+
+    private void fromOperation(String resourcePath, String httpMethod, Operation operation, List<GroupedOperation> operations, PathItem path, Map<String, Tag> swaggerTags) {
         if (operation == null) {
             return;
         }
 
-        if (GeneratorProperties.getProperty("debugOperations") != null) {
+        if (getGeneratorProperty("debugOperations") != null) {
             LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
         }
 
         List<Tag> tags = new ArrayList<Tag>();
         List<String> tagNames = operation.getTags();
-        List<Tag> swaggerTags = openAPI.getTags();
         if (tagNames != null) {
-            if (swaggerTags == null) {
-                for (String tagName : tagNames) {
-                    tags.add(new Tag().name(tagName));
-                }
-            } else {
-                for (String tagName : tagNames) {
-                    boolean foundTag = false;
-                    for (Tag tag : swaggerTags) {
-                        if (tag.getName().equals(tagName)) {
-                            tags.add(tag);
-                            foundTag = true;
-                            break;
-                        }
-                    }
-
-                    if (!foundTag) {
-                        tags.add(new Tag().name(tagName));
-                    }
-                }
+            for (String tagName : tagNames) {
+                Tag tag = swaggerTags != null ? swaggerTags.get(tagName) : null;
+                tags.add(tag != null ? tag : new Tag().name(tagName));
             }
         }
 
@@ -1022,7 +1238,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             try {
                 CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, path.getServers());
                 codegenOperation.tags = new ArrayList<>(tags);
-                config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
+                operations.add(new GroupedOperation(tag, resourcePath, httpMethod, operation, codegenOperation));
 
                 List<SecurityRequirement> securities = operation.getSecurity();
                 if (securities != null && securities.isEmpty()) {
@@ -1046,18 +1262,50 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
                 */
             } catch (Exception ex) {
-                String msg = "Could not process operation:\n" //
-                        + "  Tag: " + tag + "\n"//
-                        + "  Operation: " + operation.getOperationId() + "\n" //
-                        + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
-                        + "  Schemas: " + openAPI.getComponents().getSchemas() + "\n"  //
-                        + "  Exception: " + ex.getMessage();
-                throw new RuntimeException(msg, ex);
+                throw processOperationFailure(tag, resourcePath, httpMethod, operation, ex);
             }
         }
 
     }
 
+    private RuntimeException processOperationFailure(Tag tag, String resourcePath, String httpMethod, Operation operation, Exception ex) {
+        String msg = "Could not process operation:\n" //
+                + "  Tag: " + tag + "\n"//
+                + "  Operation: " + operation.getOperationId() + "\n" //
+                + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
+                + "  Schemas: " + openAPI.getComponents().getSchemas() + "\n"  //
+                + "  Exception: " + ex.getMessage();
+        return new RuntimeException(msg, ex);
+    }
+
+    /**
+     * An operation converted for one of its tags, to be added to the group of the tag.
+     */
+    private class GroupedOperation {
+        private final Tag tag;
+        private final String resourcePath;
+        private final String httpMethod;
+        private final Operation operation;
+        private final CodegenOperation codegenOperation;
+
+        GroupedOperation(Tag tag, String resourcePath, String httpMethod, Operation operation, CodegenOperation codegenOperation) {
+            this.tag = tag;
+            this.resourcePath = resourcePath;
+            this.httpMethod = httpMethod;
+            this.operation = operation;
+            this.codegenOperation = codegenOperation;
+        }
+
+        void addTo(Map<String, List<CodegenOperation>> operations) {
+            try {
+                config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
+            } catch (Exception ex) {
+                throw processOperationFailure(tag, resourcePath, httpMethod, operation, ex);
+            }
+        }
+    }
+
+
     private static String generateParameterId(Parameter parameter) {
         return parameter.getName() + ":" + parameter.getIn();
     }
@@ -1098,13 +1346,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 mapping = config.toModelImport(nextImport);
             }
 
-            if (mapping != null && !mappingSet.contains(mapping)) { // ensure import (mapping) is unique
-                mappingSet.add(mapping);
+            if (mapping != null && mappingSet.add(mapping)) { // ensure import (mapping) is unique, which also avoids duplicates
                 im.put("import", mapping);
                 im.put("classname", nextImport);
-                if (!imports.contains(im)) { // avoid duplicates
-                    imports.add(im);
-                }
+                imports.add(im);
             }
         }
 
@@ -1127,7 +1372,82 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         return operations;
     }
 
-    private Map<String, Object> processModels(CodegenConfig config, Map<String, Schema> definitions) {
+    /**
+     * Convert the given schemas with {@link CodegenConfig#fromModel(String, Schema)} on up to
+     * <code>-DmodelThreads</code> threads, if the generator declares its fromModel thread-safe.
+     *
+     * @param schemas The schemas by name
+     * @return The converted models by schema name, empty if processModels is to convert them one at a time
+     */
+    private Map<String, CodegenModel> fromModels(Map<String, Schema> schemas) {
+        int threads = Math.min(getThreadCount(CodegenConstants.MODEL_THREADS), schemas.size());
+        if (threads <= 1 || !config.isFromModelThreadSafe()) {
+            return Collections.emptyMap();
+        }
+
+        GenerationContext context = GenerationContext.current();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<String, Future<CodegenModel>> futures = new LinkedHashMap<>();
+            for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+                if (entry.getValue() != null) {
+                    Callable<CodegenModel> task = () -> config.fromModel(entry.getKey(), entry.getValue());
+                    futures.put(entry.getKey(), executor.submit(context == null ? task : context.wrap(task)));
+                }
+            }
+            Map<String, CodegenModel> models = new HashMap<>();
+            for (Map.Entry<String, Future<CodegenModel>> future : futures.entrySet()) {
+                try {
+                    models.put(future.getKey(), future.getValue().get());
+                } catch (ExecutionException e) {
+                    throw new RuntimeException("Could not process model '" + future.getKey() + "'" + ".Please make sure that your schema is correct!", e.getCause());
+                }
+            }
+            return models;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while processing models", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param key The generator property with the number of threads, e.g. <code>modelThreads</code>
+     * @return The number of threads, 1 if the property is not set or invalid, all processors if it has no value
+     */
+    private int getThreadCount(String key) {
+        String threads = getGeneratorProperty(key);
+        if (threads == null) {
+            return 1;
+        }
+        if (threads.isEmpty()) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Integer.parseInt(threads);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value of " + key + ": " + threads + ", processing sequentially");
+            return 1;
+        }
+    }
+
+    private int getProfileLimit() {
+        String limit = getGeneratorProperty(TemplateProfiler.PROFILE_TEMPLATES_LIMIT);
+        if (limit == null) {
+            return TemplateProfiler.DEFAULT_LIMIT;
+        }
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value of " + TemplateProfiler.PROFILE_TEMPLATES_LIMIT + ": " + limit
+                    + ", reporting " + TemplateProfiler.DEFAULT_LIMIT + " entries");
+            return TemplateProfiler.DEFAULT_LIMIT;
+        }
+    }
+
+    private Map<String, Object> processModels(CodegenConfig config, Map<String, Schema> definitions,
+                                              Map<String, CodegenModel> codegenModels) {
         Map<String, Object> objs = new HashMap<String, Object>();
         objs.put("package", config.modelPackage());
         List<Object> models = new ArrayList<Object>();
@@ -1136,7 +1456,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             Schema schema = definitions.get(key);
             if (schema == null)
                 throw new RuntimeException("schema cannot be null in processMoels");
-            CodegenModel cm = config.fromModel(key, schema);
+            CodegenModel cm = codegenModels.get(key);
+            if (cm == null) {
+                cm = config.fromModel(key, schema);
+            }
             Map<String, Object> mo = new HashMap<String, Object>();
             mo.put("model", cm);
             mo.put("importPath", config.toModelImport(cm.classname));
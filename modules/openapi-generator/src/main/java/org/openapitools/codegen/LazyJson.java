@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.core.util.Json;
+import org.openapitools.codegen.config.GenerationContext;
+import org.openapitools.codegen.config.GeneratorProperties;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pretty printed JSON of a schema, parameter or response, serialized when it is first read.
+ * <p>
+ * Backs <code>jsonSchema</code> of {@link CodegenProperty}, {@link CodegenParameter} and {@link CodegenResponse} and
+ * <code>modelJson</code> of {@link CodegenModel}: few templates use these strings, and serializing every (nested)
+ * schema is expensive in time and memory. Within a generator run the JSON is memoized per source object, so a schema
+ * shared by several properties, parameters or model passes is serialized only once. The system property
+ * <code>-DeagerJsonSchema</code> restores serialization in the <code>from*</code> methods of {@link DefaultCodegen}.
+ * While the {@link MemoryBudget} of the run is exceeded, newly serialized JSON is spilled to disk instead of memoized,
+ * and the source object is not referenced anymore.
+ */
+public final class LazyJson {
+    public static final String EAGER_JSON_SCHEMA = "eagerJsonSchema";
+
+    private static final String MEMO_CACHE = LazyJson.class.getName();
+
+    private Object source;
+    private final ConcurrentMap<Identity, String> memo;
+    private final MemoryBudget budget;
+    private volatile String json;
+    private volatile MemoryBudget.Spilled spilled;
+
+    private LazyJson(Object source, ConcurrentMap<Identity, String> memo, MemoryBudget budget) {
+        this.source = source;
+        this.memo = memo;
+        this.budget = budget;
+    }
+
+    /**
+     * @param source The object to serialize
+     * @return The lazily serialized JSON, or null if JSON is serialized eagerly in the current run
+     */
+    static LazyJson of(Object source) {
+        if (GeneratorProperties.getProperty(EAGER_JSON_SCHEMA) != null) {
+            return null;
+        }
+        GenerationContext context = GenerationContext.current();
+        return new LazyJson(source, context == null ? null : context.getCache(MEMO_CACHE), MemoryBudget.current());
+    }
+
+    /**
+     * @return The pretty printed JSON of the source object
+     */
+    public String get() {
+        String result = json;
+        if (result != null) {
+            return result;
+        }
+        MemoryBudget.Spilled spilled = this.spilled;
+        if (spilled != null) {
+            return spilled.read();
+        }
+        synchronized (this) {
+            if (json != null) {
+                return json;
+            }
+            if (this.spilled != null) {
+                return this.spilled.read();
+            }
+            final Object source = this.source;
+            if (budget != null && budget.isExceeded()) {
+                result = memo == null ? null : memo.get(new Identity(source));
+                if (result != null) {
+                    // in memory anyway
+                    json = result;
+                } else {
+                    result = Json.pretty(source);
+                    if (result != null) {
+                        this.spilled = budget.spill(result);
+                        this.source = null;
+                    }
+                }
+                return result;
+            }
+            // Json.pretty returns null if serialization fails, which is not memoized
+            result = memo == null ? Json.pretty(source) : memo.computeIfAbsent(new Identity(source), k -> Json.pretty(source));
+            json = result;
+            return result;
+        }
+    }
+
+    /**
+     * Spill the JSON to the memory budget of the run if it is held in memory, e.g. once the templates using it have
+     * been rendered. Does nothing without a memory budget.
+     */
+    synchronized void release() {
+        String result = json;
+        if (budget == null || result == null) {
+            return;
+        }
+        if (memo != null) {
+            memo.remove(new Identity(source), result);
+        }
+        // readers which find json cleared find spilled set
+        spilled = budget.spill(result);
+        json = null;
+        source = null;
+    }
+
+    private static final class Identity {
+        private final Object object;
+
+        Identity(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity && ((Identity) o).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.config.GenerationContext;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes derived fields of a {@link CodegenProperty} when they are first read, instead of in
+ * {@link DefaultCodegen#fromProperty(String, Schema)}.
+ * <p>
+ * Enabled by the generator with the system property <code>-DlazyModelFields</code>. The fields stay null until
+ * their getter is called; templates resolve getters before fields, so they see the computed values. Generator code
+ * must use the getters as well (e.g. {@link CodegenProperty#getExample()}). A value assigned to a field before its
+ * getter is first called is kept. The number of properties and how often each field was actually computed are
+ * logged when generation completes.
+ */
+public final class LazyModelFields {
+    public static final String LAZY_MODEL_FIELDS = "lazyModelFields";
+
+    private static final String USAGE_CACHE = LazyModelFields.class.getName();
+    private static final String PROPERTIES = "properties";
+
+    public enum Field {
+        GETTER, SETTER, EXAMPLE, DEFAULT_VALUE_WITH_PARAM;
+
+        final int bit = 1 << ordinal();
+    }
+
+    private final DefaultCodegen codegen;
+    private final String name;
+    private final Schema schema;
+    private final ConcurrentMap<String, AtomicLong> usage;
+
+    private LazyModelFields(DefaultCodegen codegen, String name, Schema schema,
+                            ConcurrentMap<String, AtomicLong> usage) {
+        this.codegen = codegen;
+        this.name = name;
+        this.schema = schema;
+        this.usage = usage;
+    }
+
+    /**
+     * @param codegen The generator creating the property
+     * @param name    The property name, as passed to <code>fromProperty</code>
+     * @param schema  The property schema
+     * @return The lazy fields of the property, or null if lazy model fields are disabled for the current run
+     */
+    static LazyModelFields of(DefaultCodegen codegen, String name, Schema schema) {
+        GenerationContext context = GenerationContext.current();
+        if (context == null || context.getProperty(LAZY_MODEL_FIELDS) == null) {
+            return null;
+        }
+        ConcurrentMap<String, AtomicLong> usage = context.getCache(USAGE_CACHE);
+        count(usage, PROPERTIES);
+        return new LazyModelFields(codegen, name, schema, usage);
+    }
+
+    /**
+     * Compute a field of the property, unless it has been assigned already.
+     */
+    void compute(CodegenProperty property, Field field) {
+        switch (field) {
+            case GETTER:
+                if (property.getter != null) {
+                    return;
+                }
+                property.getter = property.isBoolean ? codegen.toBooleanGetter(name) : codegen.toGetter(name);
+                break;
+            case SETTER:
+                if (property.setter != null) {
+                    return;
+                }
+                property.setter = codegen.toSetter(name);
+                break;
+            case EXAMPLE:
+                if (property.example != null) {
+                    return;
+                }
+                property.example = codegen.toExampleValue(schema);
+                break;
+            case DEFAULT_VALUE_WITH_PARAM:
+                if (property.defaultValueWithParam != null) {
+                    return;
+                }
+                property.defaultValueWithParam = codegen.toDefaultValueWithParam(name, schema);
+                break;
+        }
+        count(usage, field.name());
+    }
+
+    /**
+     * Build a human readable table of the computed fields of the given run.
+     *
+     * @param context The context of the generator run
+     * @return The report
+     */
+    public static String report(GenerationContext context) {
+        ConcurrentMap<String, AtomicLong> usage = context.getCache(USAGE_CACHE);
+        long properties = get(usage, PROPERTIES);
+        StringBuilder sb = new StringBuilder();
+        sb.append("############ Lazy model fields ############").append(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "%-26s %10s %8s", "field", "computed", "of " + properties));
+        for (Field field : Field.values()) {
+            long computed = get(usage, field.name());
+            sb.append(System.lineSeparator());
+            sb.append(String.format(Locale.ROOT, "%-26s %10d %7.1f%%", field.name().toLowerCase(Locale.ROOT),
+                    computed, properties == 0 ? 0.0 : 100.0 * computed / properties));
+        }
+        return sb.toString();
+    }
+
+    private static void count(ConcurrentMap<String, AtomicLong> usage, String key) {
+        usage.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static long get(ConcurrentMap<String, AtomicLong> usage, String key) {
+        AtomicLong value = usage.get(key);
+        return value == null ? 0 : value.get();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.config.GenerationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Heap budget of a generator run, enabled by the generator with the system property
+ * <code>-DmemoryBudget=&lt;size&gt;</code> (e.g. <code>512m</code> or <code>1g</code>).
+ * <p>
+ * While the used heap exceeds the budget, the JSON serialized for <code>jsonSchema</code> and <code>modelJson</code>
+ * (see {@link LazyJson}) is not kept in memory, but spilled to a compressed temporary file and read back from it
+ * whenever it is used again. The file is deleted when the run completes; spilled values can't be read afterwards.
+ * The peak heap usage and the spilled data are logged when generation completes.
+ */
+public final class MemoryBudget implements Closeable {
+    public static final String MEMORY_BUDGET = "memoryBudget";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryBudget.class);
+    private static final String BUDGET_CACHE = MemoryBudget.class.getName();
+
+    private final long budget;
+    private final AtomicLong peak = new AtomicLong();
+    private final AtomicLong spilledEntries = new AtomicLong();
+    private final AtomicLong spilledBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private File file;
+    private FileChannel channel;
+    private boolean closed;
+
+    private MemoryBudget(String value) {
+        long bytes;
+        try {
+            bytes = parseSize(value);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value of " + MEMORY_BUDGET + ": " + value + ", ignoring the memory budget");
+            bytes = Long.MAX_VALUE;
+        }
+        this.budget = bytes;
+    }
+
+    /**
+     * @return The budget of the generator run on the current thread, or null if it has none
+     */
+    public static MemoryBudget current() {
+        GenerationContext context = GenerationContext.current();
+        String value = context == null ? null : context.getProperty(MEMORY_BUDGET);
+        if (value == null) {
+            return null;
+        }
+        ConcurrentMap<String, MemoryBudget> budgets = context.getCache(BUDGET_CACHE);
+        return budgets.computeIfAbsent(MEMORY_BUDGET, k -> new MemoryBudget(value));
+    }
+
+    /**
+     * Parse a size in bytes, with an optional unit k, m or g.
+     *
+     * @param value The size, e.g. <code>512m</code>
+     * @return The number of bytes
+     * @throws NumberFormatException If the size can't be parsed
+     */
+    static long parseSize(String value) {
+        String size = value.trim().toLowerCase(Locale.ROOT);
+        long unit = 1;
+        if (size.endsWith("k")) {
+            unit = 1024L;
+        } else if (size.endsWith("m")) {
+            unit = 1024L * 1024;
+        } else if (size.endsWith("g")) {
+            unit = 1024L * 1024 * 1024;
+        }
+        if (unit > 1) {
+            size = size.substring(0, size.length() - 1);
+        }
+        long bytes = Long.parseLong(size) * unit;
+        if (bytes <= 0) {
+            throw new NumberFormatException("Size must be positive: " + value);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return true if the heap currently used exceeds the budget
+     */
+    public boolean isExceeded() {
+        return sample() > budget;
+    }
+
+    /**
+     * Record the heap currently used, for the peak in the report.
+     *
+     * @return The heap used in bytes
+     */
+    public long sample() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        peak.accumulateAndGet(used, Math::max);
+        return used;
+    }
+
+    /**
+     * Write a value to the spill file.
+     *
+     * @param value The value
+     * @return The handle to read the value back with
+     */
+    Spilled spill(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        byte[] data = compressed.toByteArray();
+        long position;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The generator run of this memory budget has completed");
+            }
+            try {
+                if (channel == null) {
+                    file = File.createTempFile("openapi-generator-spill", ".bin");
+                    file.deleteOnExit();
+                    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+                }
+                position = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, position + buffer.position());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not spill to " + file, e);
+            }
+        }
+        spilledEntries.incrementAndGet();
+        spilledBytes.addAndGet(bytes.length);
+        storedBytes.addAndGet(data.length);
+        return new Spilled(position, data.length, bytes.length);
+    }
+
+    private String read(Spilled spilled) {
+        FileChannel channel;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The generator run of this memory budget has completed");
+            }
+            channel = this.channel;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(spilled.length);
+        try {
+            // positional reads are safe for concurrent use
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, spilled.position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of " + file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read back from " + file, e);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.array());
+            byte[] bytes = new byte[spilled.size];
+            int length = 0;
+            while (length < bytes.length && !inflater.finished()) {
+                length += inflater.inflate(bytes, length, bytes.length - length);
+            }
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt data in " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Delete the spill file.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (channel != null) {
+            try {
+                channel.close();
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete " + file, e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Build a human readable summary of the heap usage and the spilled data of the run.
+     *
+     * @return The report
+     */
+    public String report() {
+        sample();
+        StringBuilder sb = new StringBuilder();
+        sb.append("############ Memory budget ############").append(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "%-26s %12s", "budget", budget == Long.MAX_VALUE ? "-" : megabytes(budget)));
+        sb.append(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "%-26s %12s", "peak heap used (sampled)", megabytes(peak.get())));
+        sb.append(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "%-26s %12d", "spilled values", spilledEntries.get()));
+        sb.append(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "%-26s %12s", "spilled (compressed)", megabytes(spilledBytes.get())
+                + " (" + megabytes(storedBytes.get()) + ")"));
+        return sb.toString();
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    /**
+     * Handle of a value in the spill file.
+     */
+    final class Spilled {
+        private final long position;
+        private final int length;
+        private final int size;
+
+        private Spilled(long position, int length, int size) {
+            this.position = position;
+            this.length = length;
+            this.size = size;
+        }
+
+        /**
+         * @return The value, read back from the spill file
+         */
+        String read() {
+            return MemoryBudget.this.read(this);
+        }
+    }
+}
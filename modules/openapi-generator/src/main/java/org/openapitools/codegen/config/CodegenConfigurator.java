@@ -21,6 +21,7 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.core.util.Json;
@@ -102,6 +103,7 @@ public class CodegenConfigurator implements Serializable {
     private boolean validateSpec;
     private boolean enablePostProcessFile;
     private boolean enableMinimalUpdate;
+    private Boolean generateAliasAsModel;
     private String templateDir;
     private String auth;
     private String apiPackage;
@@ -127,6 +129,7 @@ public class CodegenConfigurator implements Serializable {
     private String gitRepoId = "GIT_REPO_ID";
     private String releaseNote = "Minor update";
     private String httpUserAgent;
+    private transient GenerationSessionCache sessionCache;
 
     private final Map<String, Object> dynamicProperties = new HashMap<String, Object>();
     //the map that holds the JsonAnySetter/JsonAnyGetter values
@@ -251,11 +254,11 @@ public class CodegenConfigurator implements Serializable {
     }
 
     public boolean isGenerateAliasAsModel() {
-        return ModelUtils.isGenerateAliasAsModel();
+        return generateAliasAsModel != null ? generateAliasAsModel : ModelUtils.isGenerateAliasAsModel();
     }
 
     public CodegenConfigurator setGenerateAliasAsModel(boolean generateAliasAsModel) {
-        ModelUtils.setGenerateAliasAsModel(generateAliasAsModel);
+        this.generateAliasAsModel = generateAliasAsModel;
         return this;
     }
 
@@ -549,6 +552,23 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    @JsonIgnore
+    public GenerationSessionCache getSessionCache() {
+        return sessionCache;
+    }
+
+    /**
+     * Share parsed specifications and compiled templates with other generator runs using the same cache.
+     *
+     * @param sessionCache The cache, or null to disable sharing
+     * @return this configurator
+     */
+    @JsonIgnore
+    public CodegenConfigurator setSessionCache(GenerationSessionCache sessionCache) {
+        this.sessionCache = sessionCache;
+        return this;
+    }
+
     public ClientOptInput toClientOptInput() {
 
         Validate.notEmpty(generatorName, "language/generatorName must be specified");
@@ -588,6 +608,9 @@ public class CodegenConfigurator implements Serializable {
         checkAndSetAdditionalProperty(gitRepoId, CodegenConstants.GIT_REPO_ID);
         checkAndSetAdditionalProperty(releaseNote, CodegenConstants.RELEASE_NOTE);
         checkAndSetAdditionalProperty(httpUserAgent, CodegenConstants.HTTP_USER_AGENT);
+        if (generateAliasAsModel != null) {
+            additionalProperties.put(CodegenConstants.GENERATE_ALIAS_AS_MODEL, generateAliasAsModel);
+        }
 
         handleDynamicProperties(config);
 
@@ -597,13 +620,14 @@ public class CodegenConfigurator implements Serializable {
 
         config.additionalProperties().putAll(additionalProperties);
 
-        ClientOptInput input = new ClientOptInput().config(config);
+        ClientOptInput input = new ClientOptInput().config(config).sessionCache(sessionCache);
 
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
         ParseOptions options = new ParseOptions();
         options.setResolve(true);
-        SwaggerParseResult result =
-                new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        SwaggerParseResult result = sessionCache != null
+                ? sessionCache.readLocation(inputSpec, authorizationValues, options)
+                : new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
 
         Set<String> validationMessages = new HashSet<>(result.getMessages());
         OpenAPI specification = result.getOpenAPI();
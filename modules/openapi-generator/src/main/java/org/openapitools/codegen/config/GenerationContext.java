@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Settings of a single generator run.
+ * <p>
+ * {@link org.openapitools.codegen.DefaultGenerator} creates one context per call to <code>generate()</code>, from
+ * a snapshot of the {@link GeneratorProperties} and the run's additional properties, and makes it current on the
+ * generating thread for the duration of the run. {@link GeneratorProperties} and
+ * {@link org.openapitools.codegen.utils.ModelUtils} consult the current context first, so that concurrent runs
+ * in one JVM never see each other's settings. Work handed to other threads must be wrapped with
+ * {@link #wrap(Callable)} or {@link #wrap(Runnable)} to carry the context along.
+ * <p>
+ * {@link GeneratorProperties#setProperty(String, String)} and {@link GeneratorProperties#clearProperty(String)}
+ * update the current context as well, so that changes made during a run (e.g. in a generator's
+ * <code>processOpts</code>) are seen by the whole run, including its other threads.
+ */
+public final class GenerationContext {
+    private static final ThreadLocal<GenerationContext> CURRENT = new ThreadLocal<>();
+
+    private final ConcurrentMap<String, String> properties;
+    private volatile boolean generateAliasAsModel;
+    private final ConcurrentMap<String, ConcurrentMap<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    public GenerationContext(Map<String, String> properties, boolean generateAliasAsModel) {
+        this.properties = new ConcurrentHashMap<>(properties);
+        this.generateAliasAsModel = generateAliasAsModel;
+    }
+
+    /**
+     * @return The context of the generator run on the current thread, or null outside of a generator run
+     */
+    public static GenerationContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make the given context current on this thread.
+     *
+     * @param context The context to activate
+     * @return The previously active context, to be passed to {@link #restore(GenerationContext)}
+     */
+    public static GenerationContext enter(GenerationContext context) {
+        GenerationContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return previous;
+    }
+
+    /**
+     * Reactivate the context returned by {@link #enter(GenerationContext)}.
+     *
+     * @param previous The previously active context, may be null
+     */
+    public static void restore(GenerationContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public String getProperty(String key) {
+        return properties.get(key);
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        String value = properties.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public Map<String, String> getProperties() {
+        return Collections.unmodifiableMap(properties);
+    }
+
+    void setProperty(String key, String value) {
+        properties.put(key, value);
+    }
+
+    void clearProperty(String key) {
+        properties.remove(key);
+    }
+
+    public boolean isGenerateAliasAsModel() {
+        return generateAliasAsModel;
+    }
+
+    /**
+     * @param generateAliasAsModel true to generate models for aliases of arrays and maps for the rest of the run
+     * @see org.openapitools.codegen.utils.ModelUtils#setGenerateAliasAsModel(boolean)
+     */
+    public void setGenerateAliasAsModel(boolean generateAliasAsModel) {
+        this.generateAliasAsModel = generateAliasAsModel;
+    }
+
+    /**
+     * Get a named cache which lives as long as this generator run. Caches are safe for concurrent use.
+     *
+     * @param name Name of the cache
+     * @param <K>  Key type
+     * @param <V>  Value type
+     * @return The cache
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> ConcurrentMap<K, V> getCache(String name) {
+        return (ConcurrentMap<K, V>) (ConcurrentMap<?, ?>) caches.computeIfAbsent(name, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Wrap a task so that it runs with this context current, on whichever thread executes it.
+     *
+     * @param task The task to wrap
+     * @param <T>  Result type
+     * @return The wrapped task
+     */
+    public <T> Callable<T> wrap(final Callable<T> task) {
+        return () -> {
+            GenerationContext previous = enter(this);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap a task so that it runs with this context current, on whichever thread executes it.
+     *
+     * @param task The task to wrap
+     * @return The wrapped task
+     */
+    public Runnable wrap(final Runnable task) {
+        return () -> {
+            GenerationContext previous = enter(this);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.ObjectMapperFactory;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.ClasspathHelper;
+import io.swagger.v3.parser.util.InlineModelResolver;
+import io.swagger.v3.parser.util.ResolverFully;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.templating.TemplateIndex;
+import org.openapitools.codegen.templating.TemplateSourceCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache shared by several generator runs in one process, e.g. all executions of the Maven plugin in one build.
+ * Runs may use it concurrently.
+ * <p>
+ * Parsed specifications are cached as the JSON tree of the root document, keyed by location and content hash.
+ * Generators modify the model, so every run deserializes and resolves its own {@code OpenAPI} from a copy of the
+ * tree; no model object is shared between runs. Remote specifications are parsed on each run.
+ * <p>
+ * Compiled templates are keyed by generator class, template folders, library, template name and template source.
+ * A shared template must not keep the run that compiled it alive, so it loads its partials through a loader that
+ * only knows the template folders, and it is compiled with the settings of a new instance of the generator class.
+ * Runs whose compiler settings differ from those (e.g. because they depend on the generator options) don't share
+ * their templates.
+ */
+public class GenerationSessionCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationSessionCache.class);
+
+    // the same mappers the swagger parser reads the root document with
+    private static final ObjectMapper JSON_MAPPER = ObjectMapperFactory.createJson();
+    private static final ObjectMapper YAML_MAPPER = ObjectMapperFactory.createYaml();
+
+    private final ConcurrentMap<String, JsonNode> specs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Optional<Mustache.Compiler>> compilers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<Object>, TemplateIndex> templateIndexes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<Object>, Template> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Parse a specification like {@link OpenAPIParser#readLocation(String, List, ParseOptions)}, reusing the
+     * parsed document of an earlier call with the same content.
+     *
+     * @param location            The spec location
+     * @param authorizationValues Authorization for remote references
+     * @param options             The parse options
+     * @return The parse result, with a model of its own
+     */
+    public SwaggerParseResult readLocation(String location, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        JsonNode tree = readTree(location);
+        if (tree != null) {
+            try {
+                SwaggerParseResult result = new OpenAPIV3Parser().readWithInfo(location, tree.deepCopy());
+                if (result.getOpenAPI() != null && result.getOpenAPI().getOpenapi() != null
+                        && result.getOpenAPI().getOpenapi().startsWith("3.0")) {
+                    // the steps OpenAPIV3Parser#readLocation takes after reading the document
+                    OpenAPIResolver resolver = new OpenAPIResolver(result.getOpenAPI(), authorizationValues, location);
+                    if (options.isResolve()) {
+                        result.setOpenAPI(resolver.resolve());
+                    }
+                    if (options.isResolveFully()) {
+                        result.setOpenAPI(resolver.resolve());
+                        new ResolverFully(options.isResolveCombinators()).resolveFully(result.getOpenAPI());
+                    }
+                    if (options.isFlatten()) {
+                        new InlineModelResolver().flatten(result.getOpenAPI());
+                    }
+                    return result;
+                }
+            } catch (Exception e) {
+                LOGGER.debug("Unable to read the cached specification, parsing " + location + " again: " + e.getMessage());
+            }
+        }
+        // e.g. remote or 2.0 specifications, which the parser extensions handle
+        return new OpenAPIParser().readLocation(location, authorizationValues, options);
+    }
+
+    /**
+     * Get the parsed root document, reading it like {@code OpenAPIV3Parser#readWithInfo(String, List)} does.
+     *
+     * @return The cached tree, which must not be modified, or null if the document is remote or can't be read
+     */
+    private JsonNode readTree(String location) {
+        final String content;
+        try {
+            String path = location.replaceAll("\\\\", "/");
+            if (path.toLowerCase().startsWith("http")) {
+                return null;
+            }
+            Path file = path.toLowerCase().startsWith("file:") ? Paths.get(URI.create(path)) : Paths.get(path);
+            if (Files.exists(file)) {
+                content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            } else {
+                content = ClasspathHelper.loadFileFromClasspath(path);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        if (content == null) {
+            return null;
+        }
+
+        final String key = location + "|" + Hashing.sha256().hashString(content, StandardCharsets.UTF_8);
+        JsonNode tree = specs.get(key);
+        if (tree == null) {
+            try {
+                tree = (content.trim().startsWith("{") ? JSON_MAPPER : YAML_MAPPER).readTree(content);
+            } catch (Exception e) {
+                // let the parser report the error
+                return null;
+            }
+            if (tree == null) {
+                return null;
+            }
+            JsonNode previous = specs.putIfAbsent(key, tree);
+            if (previous != null) {
+                tree = previous;
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Get a compiled template shared with the other runs of the same generator and templates.
+     *
+     * @param config       The generator config of the run
+     * @param classLoader  The class loader to load embedded templates with
+     * @param templateFile The full template file name
+     * @param source       The template source
+     * @return The compiled template, or null if the template can't be shared with this run
+     */
+    public Template getTemplate(CodegenConfig config, ClassLoader classLoader, String templateFile, String source) {
+        Mustache.Compiler shared = compilers.computeIfAbsent(config.getClass(), GenerationSessionCache::newCompiler).orElse(null);
+        if (shared == null || !sameSettings(shared, config.processCompiler(Mustache.compiler()).defaultValue(""))) {
+            return null;
+        }
+
+        final String templateDir = config.templateDir();
+        final String embeddedTemplateDir = config.embeddedTemplateDir();
+        final String library = config.getLibrary();
+        List<Object> key = Arrays.asList(config.getClass(), classLoader, templateDir, embeddedTemplateDir, library,
+                templateFile, source);
+        return templates.computeIfAbsent(key, k -> {
+            TemplateIndex index = templateIndexes.computeIfAbsent(
+                    Arrays.asList(classLoader, templateDir, embeddedTemplateDir, library),
+                    l -> new TemplateIndex(templateDir, embeddedTemplateDir, library, classLoader));
+            return shared.withLoader(new IndexLoader(index, classLoader)).compile(source);
+        });
+    }
+
+    /**
+     * Drop all cached specifications and templates.
+     */
+    public void clear() {
+        specs.clear();
+        compilers.clear();
+        templateIndexes.clear();
+        templates.clear();
+    }
+
+    /**
+     * @return The compiler settings of a new instance of the generator, or nothing if it can't be created
+     */
+    private static Optional<Mustache.Compiler> newCompiler(Class<?> configClass) {
+        try {
+            CodegenConfig config = (CodegenConfig) configClass.getDeclaredConstructor().newInstance();
+            return Optional.of(config.processCompiler(Mustache.compiler()).defaultValue(""));
+        } catch (Exception e) {
+            LOGGER.debug("Templates of " + configClass.getName() + " are not shared: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static boolean sameSettings(Mustache.Compiler a, Mustache.Compiler b) {
+        return a.standardsMode == b.standardsMode
+                && a.strictSections == b.strictSections
+                && a.missingIsNull == b.missingIsNull
+                && a.emptyStringIsFalse == b.emptyStringIsFalse
+                && a.zeroIsFalse == b.zeroIsFalse
+                && Objects.equals(a.nullValue, b.nullValue)
+                && sameKind(a.escaper, b.escaper)
+                && sameKind(a.formatter, b.formatter)
+                && sameKind(a.collector, b.collector);
+    }
+
+    private static boolean sameKind(Object a, Object b) {
+        return a == b || (a != null && b != null && a.getClass() == b.getClass());
+    }
+
+    /**
+     * Loads partials the way {@code AbstractGenerator#getTemplateReader} does, without referring to a generator.
+     */
+    private static final class IndexLoader implements Mustache.TemplateLoader {
+        private final TemplateIndex index;
+        private final ClassLoader classLoader;
+
+        IndexLoader(TemplateIndex index, ClassLoader classLoader) {
+            this.index = index;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Reader getTemplate(String name) throws Exception {
+            String templateFile = index.resolve(name + ".mustache");
+            String resourcePath = "/".equals(File.separator) ? templateFile : templateFile.replace(File.separatorChar, '/');
+            return new StringReader(TemplateSourceCache.load(classLoader, resourcePath, templateFile).getContent());
+        }
+    }
+}
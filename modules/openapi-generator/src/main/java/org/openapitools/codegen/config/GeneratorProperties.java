@@ -16,19 +16,25 @@
 
 package org.openapitools.codegen.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * GeneratorProperties encapsulates SystemProperties, since the codegen mechanism heavily relies on a stable,
  * non-changing System Property Basis. Using plain System.(get|set|clear)Property raises Race-Conditions in combination
  * with Code, that uses System.setProperties (e.g. maven-surefire-plugin).
+ * <p>
+ * Properties are kept per thread, and are not inherited by child threads, so that pooled threads never see the
+ * properties of an unrelated generator run. While a generator run is in progress, reads are answered from the
+ * run's immutable {@link GenerationContext}.
  * 
  * @author gndrm
  * @since 2018
  */
 public class GeneratorProperties {
 
-    private static ThreadLocal<Properties> properties = new InheritableThreadLocal<Properties>() {
+    private static ThreadLocal<Properties> properties = new ThreadLocal<Properties>() {
         @Override
         protected Properties initialValue() {
             return (Properties) System.getProperties().clone();
@@ -36,22 +42,64 @@ public class GeneratorProperties {
     };
 
     public static String getProperty(String key, String defaultValue) {
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            return context.getProperty(key, defaultValue);
+        }
         return properties.get().getProperty(key, defaultValue);
     }
 
     public static String getProperty(String key) {
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            return context.getProperty(key);
+        }
         return properties.get().getProperty(key);
     }
 
+    /**
+     * Set a property of the current thread. Inside of a generator run the property is set on the run's
+     * {@link GenerationContext} as well, so that all threads of the run see it from now on.
+     *
+     * @param key   The property key
+     * @param value The property value
+     */
     public static void setProperty(String key, String value) {
         properties.get().setProperty(key, value);
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            context.setProperty(key, value);
+        }
     }
 
+    /**
+     * Remove a property of the current thread, and of the current generator run if there is one.
+     *
+     * @param key The property key
+     */
     public static void clearProperty(String key) {
         properties.get().remove(key);
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            context.clearProperty(key);
+        }
     }
 
     public static void reset() {
         properties.remove();
     }
+
+    /**
+     * Copy the properties of the current thread, e.g. to seed a {@link GenerationContext}.
+     *
+     * @return A snapshot of the properties
+     */
+    public static Map<String, String> snapshot() {
+        Map<String, String> snapshot = new HashMap<>();
+        Properties current = properties.get();
+        for (String key : current.stringPropertyNames()) {
+            snapshot.put(key, current.getProperty(key));
+        }
+        return snapshot;
+    }
 }
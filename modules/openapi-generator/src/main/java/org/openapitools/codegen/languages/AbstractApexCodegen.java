@@ -284,12 +284,12 @@ public abstract class AbstractApexCodegen extends DefaultCodegen implements Code
         } else if (Boolean.TRUE.equals(p.isDateTime)) {
             p.example = "Datetime.newInstanceGmt(2013, 11, 12, 3, 3, 3)";
         } else if (Boolean.TRUE.equals(p.isListContainer)) {
-            if (p.items != null && p.items.example != null) {
-                p.example = "new " + p.dataType + "{" + p.items.example + "}";
+            if (p.items != null && p.items.getExample() != null) {
+                p.example = "new " + p.dataType + "{" + p.items.getExample() + "}";
             }
         } else if (Boolean.TRUE.equals(p.isMapContainer)) {
-            if (p.items != null && p.items.example != null) {
-                p.example = "new " + p.dataType + "{" + p.items.example + "}";
+            if (p.items != null && p.items.getExample() != null) {
+                p.example = "new " + p.dataType + "{" + p.items.getExample() + "}";
             }
         } else if (Boolean.TRUE.equals(p.isString)) {
             p.example = "'" + p.example + "'";
@@ -43,6 +43,8 @@ public abstract class AbstractGoCodegen extends DefaultCodegen implements Codege
 
     public AbstractGoCodegen() {
         super();
+        fromModelThreadSafe = true;
+        fromOperationThreadSafe = true;
 
         hideGenerationTimestamp = Boolean.FALSE;
 
@@ -50,6 +50,8 @@ public abstract class AbstractTypeScriptClientCodegen extends DefaultCodegen imp
 
     public AbstractTypeScriptClientCodegen() {
         super();
+        fromModelThreadSafe = true;
+        fromOperationThreadSafe = true;
 
         // clear import mapping (from default generator) as TS does not use it
         // at the moment
@@ -294,10 +294,10 @@ public class ApexClientCodegen extends AbstractApexCodegen {
     @Override
     public void updateCodegenPropertyEnum(CodegenProperty var) {
         super.updateCodegenPropertyEnum(var);
-        if (var.isEnum && var.example != null) {
-            String example = var.example.replace("'", "");
+        if (var.isEnum && var.getExample() != null) {
+            String example = var.getExample().replace("'", "");
             example = toEnumVarName(example, var.dataType);
-            var.example = toEnumDefaultValue(example, var.datatypeWithEnum);
+            var.setExample(toEnumDefaultValue(example, var.datatypeWithEnum));
         }
     }
 
@@ -559,7 +559,7 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
             this.isBinary = o.isBinary;
             this.isFile = o.isFile;
             this.schema = o.schema;
-            this.jsonSchema = o.jsonSchema;
+            this.jsonSchema = o.getJsonSchema();
             this.vendorExtensions = o.vendorExtensions;
 
             this.isDefinedDefault = (this.code.equals("0") || this.code.equals("default"));
@@ -798,7 +798,7 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
             this.title = cm.title;
             this.description = cm.description;
             this.classVarName = cm.classVarName;
-            this.modelJson = cm.modelJson;
+            this.modelJson = cm.getModelJson();
             this.dataType = cm.dataType;
             this.xmlPrefix = cm.xmlPrefix;
             this.xmlNamespace = cm.xmlNamespace;
@@ -430,7 +430,7 @@ public class ErlangProperCodegen extends DefaultCodegen implements CodegenConfig
             this.title = cm.title;
             this.description = cm.description;
             this.classVarName = cm.classVarName;
-            this.modelJson = cm.modelJson;
+            this.modelJson = cm.getModelJson();
             this.dataType = cm.dataType;
             this.xmlPrefix = cm.xmlPrefix;
             this.xmlNamespace = cm.xmlNamespace;
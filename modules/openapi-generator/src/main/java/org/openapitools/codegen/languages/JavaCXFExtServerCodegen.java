@@ -17,10 +17,10 @@
 
 package org.openapitools.codegen.languages;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.math.BigDecimal;
 import java.text.DateFormat;
 import java.text.ParseException;
@@ -35,9 +35,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +55,7 @@ import org.openapitools.codegen.CodegenOperation;
 import org.openapitools.codegen.CodegenParameter;
 import org.openapitools.codegen.CodegenProperty;
 import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.config.GenerationContext;
 import org.openapitools.codegen.languages.features.CXFExtServerFeatures;
 import org.openapitools.codegen.utils.JsonCache;
 import org.openapitools.codegen.utils.ModelUtils;
@@ -69,6 +77,7 @@ import io.swagger.v3.oas.models.media.Schema;
  */
 public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXFExtServerFeatures {
     class CodegenVariable {
+        OperationTask task;
         CodegenVariable parent;
         String name;
         String dataFormat;
@@ -90,7 +99,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         Integer minLength;
         Integer maxLength;
         String pattern;
-        String setter;
+        CodegenProperty property;
         String testDataPath;
         int index;
         Map<String, Object> varVendorExtensions;
@@ -99,8 +108,8 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             varVendorExtensions = new HashMap<>();
         }
 
-        private CodegenVariable(CodegenVariable parent, CodegenOperation op, String testDataPath,
-                                Map<String, CodegenModel> models) {
+        private CodegenVariable(OperationTask task, CodegenVariable parent, CodegenOperation op,
+                                String testDataPath, Map<String, CodegenModel> models) {
 
             name = "response";
             dataFormat = null;// op.dataFormat;
@@ -119,9 +128,9 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             minLength = null;// op.minLength;
             maxLength = null;// op.maxLength;
             pattern = null;// op.pattern;
-            setter = null;// op.getSetter();
+            property = null;
             varVendorExtensions = op.vendorExtensions;
-            init(parent, testDataPath, models);
+            init(task, parent, testDataPath, models);
 
             if (op.isListContainer || op.isMapContainer) {
                 items = new CodegenVariable();
@@ -130,12 +139,12 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
                 items.name = "item";
                 // TODO: populate other fields?
 
-                items.init(this, testDataPath, models);
+                items.init(task, this, testDataPath, models);
             }
         }
 
-        private CodegenVariable(CodegenVariable parent, CodegenParameter param, String testDataPath,
-                                Map<String, CodegenModel> models) {
+        private CodegenVariable(OperationTask task, CodegenVariable parent, CodegenParameter param,
+                                String testDataPath, Map<String, CodegenModel> models) {
 
             name = param.paramName;
             dataFormat = param.dataFormat;
@@ -154,15 +163,15 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             minLength = param.minLength;
             maxLength = param.maxLength;
             pattern = param.pattern;
-            setter = null;
+            property = null;
             varVendorExtensions = param.vendorExtensions;
-            init(parent, testDataPath, models);
+            init(task, parent, testDataPath, models);
 
-            items = param.items == null ? null : new CodegenVariable(this, param.items, null, models);
+            items = param.items == null ? null : new CodegenVariable(task, this, param.items, null, models);
         }
 
-        private CodegenVariable(CodegenVariable parent, CodegenProperty prop, String testDataPath,
-                                Map<String, CodegenModel> models) {
+        private CodegenVariable(OperationTask task, CodegenVariable parent, CodegenProperty prop,
+                                String testDataPath, Map<String, CodegenModel> models) {
 
             name = prop.name;
             dataFormat = prop.dataFormat;
@@ -181,22 +190,22 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             minLength = prop.minLength;
             maxLength = prop.maxLength;
             pattern = prop.pattern;
-            setter = prop.getSetter();
+            property = prop;
             varVendorExtensions = prop.vendorExtensions;
-            init(parent, testDataPath, models);
+            init(task, parent, testDataPath, models);
 
-            items = prop.items == null ? null : new CodegenVariable(this, prop.items, null, models);
+            items = prop.items == null ? null : new CodegenVariable(task, this, prop.items, null, models);
+        }
+
+        /**
+         * @return the setter of the model property, resolved only when the test data is generated as code
+         */
+        String getSetter() {
+            return property == null ? null : property.getSetter();
         }
 
         void addTestData(Object value) {
-            JsonPointer ptr = getPointer(null, true, true);
-            if (!testDataCache.exists(ptr)) {
-                try {
-                    testDataCache.set(ptr, value);
-                } catch (CacheException e) {
-                    LOGGER.error("Unable to update test data cache for " + ptr, e);
-                }
-            }
+            task.addTestData(getPointer(null, true, true), value);
         }
 
         private void appendPath(StringBuilder path, boolean includeIndexes) {
@@ -224,7 +233,9 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             return JsonPointer.compile(path.toString());
         }
 
-        private void init(CodegenVariable parent, String testDataPath, Map<String, CodegenModel> models) {
+        private void init(OperationTask task, CodegenVariable parent, String testDataPath,
+                          Map<String, CodegenModel> models) {
+            this.task = task;
             this.parent = parent;
             this.isArray = dataType.endsWith("[]");
             this.testDataPath = testDataPath;
@@ -236,11 +247,11 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
                 this.items = new CodegenVariable();
                 this.items.name = "item";
                 this.items.dataType = cm.additionalPropertiesType;
-                this.items.init(this, testDataPath, models);
+                this.items.init(task, this, testDataPath, models);
             }
             try {
                 if ((isArray || isContainer) && testDataControlCache != null)
-                    this.itemCount = testDataControlCache.getInt(getPointer("testItemCount", false, false), 1);
+                    this.itemCount = task.getItemCount(getPointer("testItemCount", false, false));
             } catch (CacheException e) {
                 LOGGER.error("Error accessing test data control cache", e);
             }
@@ -267,7 +278,123 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
                     + minItems + ", itemCount=" + itemCount + ", minimum=" + minimum + ", maximum=" + maximum
                     + ", exclusiveMinimum=" + exclusiveMinimum + ", exclusiveMaximum=" + exclusiveMaximum
                     + ", minLength=" + minLength + ", maxLength=" + maxLength + ", pattern=" + pattern + ", setter="
-                    + setter + ", vendorExtensions=" + varVendorExtensions + "]";
+                    + getSetter() + ", vendorExtensions=" + varVendorExtensions + "]";
+        }
+    }
+
+    /**
+     * Generates the parameter declarations and the body of a single operation. Tasks for different operations run
+     * concurrently, so each task has its own random number generator, seeded from the operation's test data path:
+     * the generated values then depend neither on the order of the operations nor on the number of threads. The test
+     * data generated by a task is collected and only written to the caches by {@link #applyTestData()}.
+     */
+    class OperationTask implements Runnable {
+        final CodegenOperation op;
+        final String testDataPath;
+        final Map<String, CodegenModel> models;
+        final Random random;
+        private final Map<JsonPointer, Object> testData = new LinkedHashMap<>();
+        private final Map<JsonPointer, Integer> testItemCounts = new LinkedHashMap<>();
+
+        OperationTask(CodegenOperation op, String testDataPath, Map<String, CodegenModel> models) {
+            this.op = op;
+            this.testDataPath = testDataPath;
+            this.models = models;
+            this.random = new Random(testDataPath.hashCode());
+        }
+
+        void addTestData(JsonPointer ptr, Object value) {
+            if (!testDataCache.exists(ptr))
+                testData.putIfAbsent(ptr, value);
+        }
+
+        /**
+         * Same as <code>testDataControlCache.getInt(ptr, 1)</code>, but the default is only stored by
+         * {@link #applyTestData()}.
+         */
+        int getItemCount(JsonPointer ptr) throws CacheException {
+            if (testDataControlCache.exists(ptr))
+                return testDataControlCache.getInt(ptr);
+            testItemCounts.putIfAbsent(ptr, 1);
+            return 1;
+        }
+
+        void applyTestData() {
+            for (Map.Entry<JsonPointer, Object> entry : testData.entrySet()) {
+                try {
+                    if (!testDataCache.exists(entry.getKey()))
+                        testDataCache.set(entry.getKey(), entry.getValue());
+                } catch (CacheException e) {
+                    LOGGER.error("Unable to update test data cache for " + entry.getKey(), e);
+                }
+            }
+            for (Map.Entry<JsonPointer, Integer> entry : testItemCounts.entrySet()) {
+                try {
+                    if (!testDataControlCache.exists(entry.getKey()))
+                        testDataControlCache.set(entry.getKey(), entry.getValue());
+                } catch (CacheException e) {
+                    LOGGER.error("Error accessing test data control cache", e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            StringBuilder buffer = new StringBuilder();
+
+            // Test client: provide local variable declarations for all parameters.
+            boolean first = true;
+            for (CodegenParameter cp : op.allParams) {
+                buffer.setLength(0);
+                CodegenVariable var = new CodegenVariable(this, null, cp, testDataPath, models);
+                String localVar = appendLocalVariable(buffer, INDENT, op, var, new ArrayList<>(), models);
+                if (loadTestDataFromFile) {
+                    buffer.append(NL).append(INDENT).append(var.dataType).append(' ').append(localVar)
+                            .append(" = cache.").append(getCacheMethod(var)).append("(\"/")
+                            .append(op.operationId).append('/').append(var.name).append('"');
+                    if (var.isListContainer)
+                        buffer.append(", ").append(var.getComponentType()).append(".class");
+                    else if (var.isMapContainer)
+                        buffer.append(", Map.class");
+                    else if (!hasCacheMethod(var))
+                        buffer.append(", ").append(var.dataType).append(".class");
+                    buffer.append(");");
+                }
+                if (first && buffer.indexOf(NL) == 0) {
+                    buffer.delete(0, NL.length());
+                    first = false;
+                }
+                cp.vendorExtensions.put("x-java-param-decl", buffer.toString());
+            }
+
+            // Test server: generate operation body where it returns a non-void result.
+            if (!(Boolean) op.vendorExtensions.getOrDefault("x-java-is-response-void", false)) {
+                CodegenVariable var = new CodegenVariable(this, null, op, testDataPath, models);
+                buffer.setLength(0);
+                String localVar = appendLocalVariable(buffer, INDENT, op, var, new ArrayList<>(), models);
+                if (loadTestDataFromFile) {
+                    buffer.append(NL).append(INDENT).append("try {") // split
+                            .append(NL).append(INDENT).append("    ").append(var.dataType).append(' ')
+                            .append(localVar).append(" = cache.").append(getCacheMethod(var)).append("(\"/")
+                            .append(op.operationId).append('/').append(var.name).append('"');
+                    if (var.isListContainer)
+                        buffer.append(", ").append(var.getComponentType()).append(".class");
+                    else if (var.isMapContainer)
+                        buffer.append(", Map.class");
+                    else if (!hasCacheMethod(var))
+                        buffer.append(", ").append(var.dataType).append(".class");
+                    buffer.append(");") // split
+                            .append(NL).append(INDENT).append("    return ").append(localVar).append(';')
+                            .append(NL).append(INDENT).append("} catch (CacheException e) {") // split
+                            .append(NL).append(INDENT).append("    throw new RuntimeException(e);") // split
+                            .append(NL).append(INDENT).append("}");
+                } else {
+                    buffer.append(NL).append(INDENT).append("return ").append(localVar).append(';');
+                }
+                if (buffer.indexOf(NL) == 0)
+                    buffer.delete(0, NL.length());
+                op.vendorExtensions.put("x-java-operation-body", buffer.toString());
+            }
         }
     }
 
@@ -275,10 +402,11 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
 
     private static final String INDENT = "        ";
 
-    private static final SimpleDateFormat ISO8601_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+    private static final ThreadLocal<DateFormat> ISO8601_DATE_FORMAT = ThreadLocal
+            .withInitial(() -> utcDateFormat("yyyy-MM-dd"));
 
-    private static final SimpleDateFormat ISO8601_DATETIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX",
-            Locale.getDefault());
+    private static final ThreadLocal<DateFormat> ISO8601_DATETIME_FORMAT = ThreadLocal
+            .withInitial(() -> utcDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX"));
 
     private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
 
@@ -288,17 +416,20 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
 
     private static final String NL = System.lineSeparator();
 
+    /**
+     * Test data files are indexed by invoker package and model; a model's test data is read when first accessed.
+     */
+    private static final int TEST_DATA_LAZY_LOAD_DEPTH = 2;
+
     private static final Collection<String> DATE_TYPES = Arrays.asList("Date", "DateTime", "OffsetDateTime",
             "LocalDateTime", "LocalDate");
 
     static {
-        ISO8601_DATE_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
-        ISO8601_DATETIME_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
         long minDate = 0;
         long maxDate = 0;
         try {
-            minDate = ISO8601_DATETIME_FORMAT.parse("1970-01-01T00:00:00Z").getTime();
-            maxDate = ISO8601_DATETIME_FORMAT.parse("2099-12-31T23:59:59Z").getTime();
+            minDate = ISO8601_DATETIME_FORMAT.get().parse("1970-01-01T00:00:00Z").getTime();
+            maxDate = ISO8601_DATETIME_FORMAT.get().parse("2099-12-31T23:59:59Z").getTime();
         } catch (ParseException e) {
             // Won't happen with the values provided.
         }
@@ -306,7 +437,16 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         MAX_DATE = maxDate;
     }
 
-    private Map<String, Generex> REGEX_GENERATORS = new HashMap<>();
+    private static DateFormat utcDateFormat(String pattern) {
+        DateFormat format = new SimpleDateFormat(pattern, Locale.getDefault());
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
+    /**
+     * Compiling the automaton for a pattern is expensive, so generators are shared by all operations and runs.
+     */
+    private static final ConcurrentMap<String, Generex> REGEX_GENERATORS = new ConcurrentHashMap<>();
 
     protected boolean generateOperationBody = false;
 
@@ -324,6 +464,8 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
 
     protected String localVariablePrefix = "";
 
+    protected int testDataThreads = Runtime.getRuntime().availableProcessors();
+
     public JavaCXFExtServerCodegen() {
         super();
 
@@ -334,6 +476,8 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         cliOptions.add(CliOption.newBoolean(LOAD_TEST_DATA_FROM_FILE, "Load test data from a generated JSON file"));
         cliOptions.add(CliOption.newString(TEST_DATA_FILE, "JSON file to contain generated test data"));
         cliOptions.add(CliOption.newString(TEST_DATA_CONTROL_FILE, "JSON file to control test data generation"));
+        cliOptions.add(new CliOption(TEST_DATA_THREADS,
+                "Number of threads generating operation bodies and test data (default: number of processors)"));
     }
 
     private void appendArrayValue(StringBuilder buffer, String indent, CodegenOperation op, CodegenVariable var,
@@ -386,7 +530,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         int itemCount = Math.max(var.itemCount, var.minItems == null ? 1 : Math.max(1, var.minItems));
         byte[] randomBytes = new byte[itemCount];
         for (int i = 0; i < itemCount; i++)
-            randomBytes[i] = (byte) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * Math.random()));
+            randomBytes[i] = (byte) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * var.task.random.nextDouble()));
         String randomBytesBase64 = Base64.getEncoder().encodeToString(randomBytes);
         if (loadTestDataFromFile)
             var.addTestData(randomBytesBase64);
@@ -473,7 +617,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         int itemCount = Math.max(var.itemCount, var.minItems == null ? 1 : Math.max(1, var.minItems));
         for (int i = var.index; i < itemCount; i++) {
             // Map entries need a random key (the default value for var.items.name is "items").
-            var.items.name = generateRandomString(null);
+            var.items.name = generateRandomString(var.task.random, null);
             if (var.isPrimitiveType) {
                 // We don't need a local variable for a primitive value
                 if (!loadTestDataFromFile) {
@@ -516,17 +660,17 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         CodegenModel cm = models.get(parent.dataType);
         if (cm != null) { // TODO: handle isArrayModel and isMapModel
             for (CodegenProperty cp : cm.allVars) {
-                CodegenVariable var = new CodegenVariable(parent, cp, null, models);
+                CodegenVariable var = new CodegenVariable(parent.task, parent, cp, null, models);
                 if (var.isContainer || !var.isPrimitiveType) {
                     String containerVar = appendLocalVariable(buffer, indent, op, var, localVars, models);
                     if (!loadTestDataFromFile) {
-                        buffer.append(NL).append(indent).append(localVar).append('.').append(var.setter).append('(')
+                        buffer.append(NL).append(indent).append(localVar).append('.').append(var.getSetter()).append('(')
                                 .append(containerVar);
                     }
                 } else {
                     // No need to use a local variable for types which can be initialised with a single expression.
                     if (!loadTestDataFromFile)
-                        buffer.append(NL).append(indent).append(localVar).append('.').append(var.setter).append('(');
+                        buffer.append(NL).append(indent).append(localVar).append('.').append(var.getSetter()).append('(');
                     appendValue(buffer, indent, op, var, localVar, localVars, models);
                 }
                 if (!loadTestDataFromFile)
@@ -536,7 +680,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
     }
 
     private void appendRandomBoolean(StringBuilder buffer, CodegenOperation op, CodegenVariable var) {
-        boolean randomBoolean = Math.random() > 0.5;
+        boolean randomBoolean = var.task.random.nextBoolean();
 
         if (loadTestDataFromFile)
             var.addTestData(randomBoolean);
@@ -551,7 +695,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             short max = var == null || var.maximum == null ? Byte.MAX_VALUE : Byte.parseByte(var.maximum);
             short exclusiveMin = (short) (var != null && var.exclusiveMinimum ? 1 : 0);
             short inclusiveMax = (short) (var == null || !var.exclusiveMaximum ? 1 : 0);
-            byte randomByte = (byte) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * Math.random()));
+            byte randomByte = (byte) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * var.task.random.nextDouble()));
 
             if (loadTestDataFromFile)
                 var.addTestData(randomByte);
@@ -568,7 +712,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             char max = var == null || var.maximum == null ? 'z' : var.maximum.charAt(0);
             char exclusiveMin = (char) (var != null && var.exclusiveMinimum ? 1 : 0);
             char inclusiveMax = (char) (var == null || !var.exclusiveMaximum ? 1 : 0);
-            char randomChar = (char) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * Math.random()));
+            char randomChar = (char) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * var.task.random.nextDouble()));
 
             if (loadTestDataFromFile)
                 var.addTestData(randomChar);
@@ -582,7 +726,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             long minDate = MIN_DATE;
             long maxDate = MAX_DATE;
             if (var != null) {
-                DateFormat df = var.dataFormat.equals("date-time") ? ISO8601_DATETIME_FORMAT : ISO8601_DATE_FORMAT;
+                DateFormat df = var.dataFormat.equals("date-time") ? ISO8601_DATETIME_FORMAT.get() : ISO8601_DATE_FORMAT.get();
                 String isoFormat = var.dataFormat.equals("date-time") ? "date-time" : "full-date";
                 if (var.minimum != null) {
                     try {
@@ -609,7 +753,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             BigDecimal exclusiveMinLong = new BigDecimal(var != null && var.exclusiveMinimum ? 1 : 0);
             BigDecimal inclusiveMaxLong = new BigDecimal(var == null || !var.exclusiveMaximum ? 1 : 0);
             long randomDateLong = minLong.add(exclusiveMinLong).add(maxLong.add(inclusiveMaxLong).subtract(minLong)
-                    .subtract(exclusiveMinLong).multiply(new BigDecimal(Math.random()))).longValue();
+                    .subtract(exclusiveMinLong).multiply(new BigDecimal(var.task.random.nextDouble()))).longValue();
 
             // If it's just a date without a time, round downwards to the nearest day.
             if ("date".equals(var.dataFormat))
@@ -622,10 +766,10 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
                 Date randomDate = new Date(randomDateLong);
                 switch (var.dataFormat) {
                     case "date":
-                        var.addTestData(ISO8601_DATE_FORMAT.format(randomDate));
+                        var.addTestData(ISO8601_DATE_FORMAT.get().format(randomDate));
                         break;
                     case "date-time":
-                        var.addTestData(ISO8601_DATETIME_FORMAT.format(randomDate));
+                        var.addTestData(ISO8601_DATETIME_FORMAT.get().format(randomDate));
                         break;
                 }
             } else {
@@ -644,7 +788,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             BigDecimal exclusiveMin = new BigDecimal(var != null && var.exclusiveMinimum ? 1 : 0);
             BigDecimal inclusiveMax = new BigDecimal(var == null || !var.exclusiveMaximum ? 1 : 0);
             BigDecimal randomBigDecimal = min.add(exclusiveMin).add(max.add(inclusiveMax).subtract(min)
-                    .subtract(exclusiveMin).multiply(new BigDecimal(String.valueOf(Math.random()))));
+                    .subtract(exclusiveMin).multiply(new BigDecimal(String.valueOf(var.task.random.nextDouble()))));
 
             if (loadTestDataFromFile)
                 var.addTestData(randomBigDecimal);
@@ -656,7 +800,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
     private boolean appendRandomEnum(StringBuilder buffer, CodegenOperation op, CodegenVariable var) {
         if (var != null && var.allowableValues != null) {
             List<?> values = (List<?>) var.allowableValues.get("values");
-            int i = (int) (values.size() * Math.random());
+            int i = (int) (values.size() * var.task.random.nextDouble());
             Object randomEnum = values.get(i);
             boolean usingEnumLiteral = false;
             String definingClass = (String) var.varVendorExtensions.get("x-defining-class");
@@ -687,7 +831,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
 
     private void appendRandomFile(StringBuilder buffer, CodegenOperation op, CodegenVariable var) {
         // For code generation purposes we'll just supply a random string as the contents of a text 'file'.
-        String randomString = generateRandomString(var);
+        String randomString = generateRandomString(var.task.random, var);
 
         if (loadTestDataFromFile) {
             var.addTestData(randomString);
@@ -704,7 +848,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             double exclusiveMin = (double) (var != null && var.exclusiveMinimum ? 1 : 0);
             double inclusiveMax = (double) (var == null || !var.exclusiveMaximum ? 1 : 0);
             float randomFloat = (float) (min + exclusiveMin
-                    + ((max + inclusiveMax - min - exclusiveMin) * Math.random()));
+                    + ((max + inclusiveMax - min - exclusiveMin) * var.task.random.nextDouble()));
 
             if (loadTestDataFromFile)
                 var.addTestData(randomFloat);
@@ -720,7 +864,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             long max = var == null || var.maximum == null ? Integer.MAX_VALUE : Integer.parseInt(var.maximum);
             long exclusiveMin = var != null && var.exclusiveMinimum ? 1 : 0;
             long inclusiveMax = var == null || !var.exclusiveMaximum ? 1 : 0;
-            int randomInt = (int) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * Math.random()));
+            int randomInt = (int) (min + exclusiveMin + ((max + inclusiveMax - min - exclusiveMin) * var.task.random.nextDouble()));
 
             if (loadTestDataFromFile)
                 var.addTestData(randomInt);
@@ -739,7 +883,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             BigDecimal exclusiveMin = new BigDecimal(var != null && var.exclusiveMinimum ? 1 : 0);
             BigDecimal inclusiveMax = new BigDecimal(var == null || !var.exclusiveMaximum ? 1 : 0);
             long randomLong = min.add(exclusiveMin).add(
-                    max.add(inclusiveMax).subtract(min).subtract(exclusiveMin).multiply(new BigDecimal(Math.random())))
+                    max.add(inclusiveMax).subtract(min).subtract(exclusiveMin).multiply(new BigDecimal(var.task.random.nextDouble())))
                     .longValue();
 
             if (loadTestDataFromFile)
@@ -757,7 +901,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             int exclusiveMin = var != null && var.exclusiveMinimum ? 1 : 0;
             int inclusiveMax = var == null || !var.exclusiveMaximum ? 1 : 0;
             short randomShort = (short) (min + exclusiveMin
-                    + ((max + inclusiveMax - min - exclusiveMin) * Math.random()));
+                    + ((max + inclusiveMax - min - exclusiveMin) * var.task.random.nextDouble()));
 
             if (loadTestDataFromFile)
                 var.addTestData(randomShort);
@@ -768,7 +912,7 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
 
     private void appendRandomString(StringBuilder buffer, CodegenOperation op, CodegenVariable var) {
         if (!appendRandomEnum(buffer, op, var)) {
-            String randomString = generateRandomString(var);
+            String randomString = generateRandomString(var.task.random, var);
 
             if (loadTestDataFromFile) {
                 var.addTestData(randomString);
@@ -920,14 +1064,45 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             buffer.append('}');
     }
 
-    private String generateRandomString(CodegenVariable var) {
-        String pattern = patternFor(var);
-        Generex generex = REGEX_GENERATORS.get(pattern);
-        if (generex == null) {
-            generex = new Generex(pattern);
-            REGEX_GENERATORS.put(pattern, generex);
+    private String generateRandomString(Random random, CodegenVariable var) {
+        Generex generex = REGEX_GENERATORS.computeIfAbsent(patternFor(var), Generex::new);
+        // Generators are shared by all operations, so the seed is drawn from the operation's own random numbers.
+        synchronized (generex) {
+            generex.setSeed(random.nextLong());
+            return generex.random();
+        }
+    }
+
+    /**
+     * Runs the operation tasks on up to {@link #testDataThreads} threads and waits for all of them to complete.
+     */
+    private void runTasks(List<OperationTask> tasks) {
+        int threads = Math.min(testDataThreads, tasks.size());
+        if (threads <= 1) {
+            tasks.forEach(OperationTask::run);
+            return;
+        }
+
+        GenerationContext context = GenerationContext.current();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (OperationTask task : tasks)
+                futures.add(executor.submit(context == null ? task : context.wrap(task)));
+            for (Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating operation bodies", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
-        return generex.random();
     }
 
     private String getCacheMethod(CodegenVariable var) {
@@ -1165,67 +1340,19 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
                     models.put(cgModel.classname, cgModel);
                 }
 
-                StringBuilder buffer = new StringBuilder();
                 @SuppressWarnings("unchecked")
                 List<CodegenOperation> ops = (List<CodegenOperation>) operations.get("operation");
+                List<OperationTask> tasks = new ArrayList<>();
                 for (CodegenOperation op : ops) {
                     applyDefaultContentTypes(op);
-                    String testDataPath = '/' + classname + '/' + op.operationId;
-
-                    // Test client: provide local variable declarations for all parameters.
-                    boolean first = true;
-                    for (CodegenParameter cp : op.allParams) {
-                        buffer.setLength(0);
-                        CodegenVariable var = new CodegenVariable(null, cp, testDataPath, models);
-                        String localVar = appendLocalVariable(buffer, INDENT, op, var, new ArrayList<>(), models);
-                        if (loadTestDataFromFile) {
-                            buffer.append(NL).append(INDENT).append(var.dataType).append(' ').append(localVar)
-                                    .append(" = cache.").append(getCacheMethod(var)).append("(\"/")
-                                    .append(op.operationId).append('/').append(var.name).append('"');
-                            if (var.isListContainer)
-                                buffer.append(", ").append(var.getComponentType()).append(".class");
-                            else if (var.isMapContainer)
-                                buffer.append(", Map.class");
-                            else if (!hasCacheMethod(var))
-                                buffer.append(", ").append(var.dataType).append(".class");
-                            buffer.append(");");
-                        }
-                        if (first && buffer.indexOf(NL) == 0) {
-                            buffer.delete(0, NL.length());
-                            first = false;
-                        }
-                        cp.vendorExtensions.put("x-java-param-decl", buffer.toString());
-                    }
-
-                    // Test server: generate operation body where it returns a non-void result.
-                    if (!(Boolean) op.vendorExtensions.getOrDefault("x-java-is-response-void", false)) {
-                        CodegenVariable var = new CodegenVariable(null, op, testDataPath, models);
-                        buffer.setLength(0);
-                        String localVar = appendLocalVariable(buffer, INDENT, op, var, new ArrayList<>(), models);
-                        if (loadTestDataFromFile) {
-                            buffer.append(NL).append(INDENT).append("try {") // split
-                                    .append(NL).append(INDENT).append("    ").append(var.dataType).append(' ')
-                                    .append(localVar).append(" = cache.").append(getCacheMethod(var)).append("(\"/")
-                                    .append(op.operationId).append('/').append(var.name).append('"');
-                            if (var.isListContainer)
-                                buffer.append(", ").append(var.getComponentType()).append(".class");
-                            else if (var.isMapContainer)
-                                buffer.append(", Map.class");
-                            else if (!hasCacheMethod(var))
-                                buffer.append(", ").append(var.dataType).append(".class");
-                            buffer.append(");") // split
-                                    .append(NL).append(INDENT).append("    return ").append(localVar).append(';')
-                                    .append(NL).append(INDENT).append("} catch (CacheException e) {") // split
-                                    .append(NL).append(INDENT).append("    throw new RuntimeException(e);") // split
-                                    .append(NL).append(INDENT).append("}");
-                        } else {
-                            buffer.append(NL).append(INDENT).append("return ").append(localVar).append(';');
-                        }
-                        if (buffer.indexOf(NL) == 0)
-                            buffer.delete(0, NL.length());
-                        op.vendorExtensions.put("x-java-operation-body", buffer.toString());
-                    }
+                    tasks.add(new OperationTask(op, '/' + classname + '/' + op.operationId, models));
                 }
+                runTasks(tasks);
+
+                // The test data caches are updated in operation order once all tasks are done, so that the test data
+                // files are the same whatever the number of threads.
+                for (OperationTask task : tasks)
+                    task.applyTestData();
 
                 // DefaultGenerator already processed all the imports from the generated operations, but these imports
                 // did not include the ones we've just added to support the code in the operation bodies. Therefore it
@@ -1270,30 +1397,17 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         objs = super.postProcessSupportingFileData(objs);
 
         if (loadTestDataFromFile) {
-            // DefaultGenerator doesn't provide any mechanism for emitting supporting files other than by a Mustache
-            // template, so we're obliged to serialize the caches to JSON strings and use templates to write them.
+            // The caches are streamed straight to their files rather than rendered through a template, so that the
+            // subtrees which haven't changed are copied from the files instead of being serialized again.
             try {
-                if (testDataCache.root().isDirty()) {
-                    ByteArrayOutputStream out = new ByteArrayOutputStream();
-                    testDataCache.root().flush(out);
-                    String testDataJson = new String(out.toByteArray(), "UTF-8");
-                    objs.put("test-data.json", testDataJson);
-                    supportingFiles.add(new SupportingFile("testData.mustache", testDataFile.getAbsolutePath()));
-                }
-            } catch (CacheException | UnsupportedEncodingException e) {
+                flushTestData(testDataCache, testDataFile);
+            } catch (CacheException | IOException e) {
                 LOGGER.error("Error writing JSON test data file " + testDataFile, e);
             }
 
             try {
-                if (testDataControlCache.root().isDirty()) {
-                    ByteArrayOutputStream out = new ByteArrayOutputStream();
-                    testDataControlCache.root().flush(out);
-                    String testDataControlJson = new String(out.toByteArray(), "UTF-8");
-                    objs.put("test-data-control.json", testDataControlJson);
-                    supportingFiles
-                            .add(new SupportingFile("testDataControl.mustache", testDataControlFile.getAbsolutePath()));
-                }
-            } catch (CacheException | UnsupportedEncodingException e) {
+                flushTestData(testDataControlCache, testDataControlFile);
+            } catch (CacheException | IOException e) {
                 LOGGER.error("Error writing JSON test data control file " + testDataControlFile, e);
             }
         }
@@ -1301,6 +1415,26 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         return objs;
     }
 
+    /**
+     * Writes a test data cache to its file if it has changed. The cache is written to a temporary file which then
+     * replaces the original, because the cache copies its unchanged subtrees from the original.
+     */
+    private void flushTestData(JsonCache cache, File file) throws CacheException, IOException {
+        if (!cache.root().isDirty())
+            return;
+        File dir = file.getAbsoluteFile().getParentFile();
+        dir.mkdirs();
+        File tmpFile = File.createTempFile(file.getName(), ".tmp", dir);
+        try {
+            cache.root().flush(tmpFile);
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpFile.toPath());
+        }
+        // The unread subtrees would be loaded from the original file, which has just been replaced.
+        cache.root().unload();
+    }
+
     @Override
     public void processOpts() {
         super.processOpts();
@@ -1316,6 +1450,10 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
             boolean loadTestDataFromFile = convertPropertyToBooleanAndWriteBack(LOAD_TEST_DATA_FROM_FILE);
             this.setLoadTestDataFromFile(loadTestDataFromFile);
 
+            if (additionalProperties.containsKey(TEST_DATA_THREADS)) {
+                this.setTestDataThreads(Integer.parseInt(additionalProperties.get(TEST_DATA_THREADS).toString()));
+            }
+
             if (loadTestDataFromFile) {
                 String testDataFileStr;
                 if (additionalProperties.containsKey(TEST_DATA_FILE))
@@ -1332,8 +1470,8 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
                     throw new RuntimeException("Failed to canonicalize file " + testDataFileStr, e);
                 }
 
-                testDataCache = JsonCache.Factory.instance.get("test-data").mergePolicy(MergePolicy.KEEP_EXISTING)
-                        .child('/' + invokerPackage);
+                testDataCache = JsonCache.Factory.instance.getConcurrent("test-data").mergePolicy(MergePolicy.KEEP_EXISTING)
+                        .lazyLoadDepth(TEST_DATA_LAZY_LOAD_DEPTH).child('/' + invokerPackage);
                 if (this.testDataFile.exists()) {
                     try {
                         testDataCache.root().load(this.testDataFile);
@@ -1358,8 +1496,9 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
                     throw new RuntimeException("Failed to canonicalize file " + testDataControlFileStr, e);
                 }
 
-                testDataControlCache = JsonCache.Factory.instance.get("test-data-control")
-                        .mergePolicy(MergePolicy.KEEP_EXISTING).child('/' + invokerPackage);
+                testDataControlCache = JsonCache.Factory.instance.getConcurrent("test-data-control")
+                        .mergePolicy(MergePolicy.KEEP_EXISTING).lazyLoadDepth(TEST_DATA_LAZY_LOAD_DEPTH)
+                        .child('/' + invokerPackage);
                 if (this.testDataControlFile.exists()) {
                     try {
                         testDataControlCache.root().load(this.testDataControlFile);
@@ -1401,6 +1540,10 @@ public class JavaCXFExtServerCodegen extends JavaCXFServerCodegen implements CXF
         this.testDataFile = testDataFile;
     }
 
+    public void setTestDataThreads(int testDataThreads) {
+        this.testDataThreads = testDataThreads;
+    }
+
     @Override
     public String toDefaultValue(Schema p) {
         if (ModelUtils.isGenerateAliasAsModel() && StringUtils.isNotEmpty(p.get$ref())) {
@@ -54,6 +54,15 @@ public class JavaClientCodegen extends AbstractJavaCodegen
     public static final String PARCELABLE_MODEL = "parcelableModel";
     public static final String USE_RUNTIME_EXCEPTION = "useRuntimeException";
     public static final String USE_REFLECTION_EQUALS_HASHCODE = "useReflectionEqualsHashCode";
+    public static final String STREAMING_ARRAY_RESPONSES = "streamingArrayResponses";
+    public static final String STREAMING_REQUEST_BODIES = "streamingRequestBodies";
+    public static final String GSON_TYPE_ADAPTERS = "gsonTypeAdapters";
+    public static final String USE_COMPLETABLE_FUTURE = "useCompletableFuture";
+    public static final String MAX_CONNECTIONS = "maxConnections";
+    public static final String MAX_CONNECTIONS_PER_HOST = "maxConnectionsPerHost";
+    public static final String CONNECTION_KEEP_ALIVE = "connectionKeepAlive";
+    public static final String HTTP2_PRIOR_KNOWLEDGE = "http2PriorKnowledge";
+    public static final String USE_APACHE_HTTP_CLIENT = "useApacheHttpClient";
 
     public static final String PLAY_24 = "play24";
     public static final String PLAY_25 = "play25";
@@ -90,6 +99,15 @@ public class JavaClientCodegen extends AbstractJavaCodegen
     protected boolean useGzipFeature = false;
     protected boolean useRuntimeException = false;
     protected boolean useReflectionEqualsHashCode = false;
+    protected boolean streamingArrayResponses = false;
+    protected boolean streamingRequestBodies = false;
+    protected boolean gsonTypeAdapters = false;
+    protected boolean useCompletableFuture = false;
+    protected int maxConnections = 64;
+    protected int maxConnectionsPerHost = 20;
+    protected int connectionKeepAlive = 300;
+    protected boolean http2PriorKnowledge = false;
+    protected boolean useApacheHttpClient = false;
     protected String authFolder;
 
     public JavaClientCodegen() {
@@ -114,6 +132,15 @@ public class JavaClientCodegen extends AbstractJavaCodegen
         cliOptions.add(CliOption.newBoolean(USE_GZIP_FEATURE, "Send gzip-encoded requests"));
         cliOptions.add(CliOption.newBoolean(USE_RUNTIME_EXCEPTION, "Use RuntimeException instead of Exception"));
         cliOptions.add(CliOption.newBoolean(FEIGN_VERSION, "Version of OpenFeign: '10.x', '9.x' (default)"));
+        cliOptions.add(CliOption.newBoolean(STREAMING_ARRAY_RESPONSES, "Generate additional methods returning the elements of array responses lazily, while they are read from the response (okhttp-gson only)."));
+        cliOptions.add(CliOption.newBoolean(STREAMING_REQUEST_BODIES, "Serialize JSON request bodies while they are sent, instead of building them in memory first. Combined with useGzipFeature, the compressed body is streamed as well (okhttp-gson only)."));
+        cliOptions.add(CliOption.newBoolean(GSON_TYPE_ADAPTERS, "Generate a Gson TypeAdapter for each model, registered in the JSON class, instead of relying on Gson's reflection (okhttp-gson only)."));
+        cliOptions.add(CliOption.newBoolean(USE_COMPLETABLE_FUTURE, "Generate an additional CompletableFuture-returning method for each operation (okhttp-gson, resttemplate and jersey2 only, requires java8). Blocking libraries run the calls on a configurable executor, by default on virtual threads where the JDK supports them."));
+        cliOptions.add(new CliOption(MAX_CONNECTIONS, "Maximum number of concurrent requests and pooled connections (okhttp-gson, and resttemplate with useApacheHttpClient).").defaultValue(String.valueOf(maxConnections)));
+        cliOptions.add(new CliOption(MAX_CONNECTIONS_PER_HOST, "Maximum number of concurrent requests and pooled connections to a single host (okhttp-gson, and resttemplate with useApacheHttpClient).").defaultValue(String.valueOf(maxConnectionsPerHost)));
+        cliOptions.add(new CliOption(CONNECTION_KEEP_ALIVE, "Seconds after which idle pooled connections are closed (okhttp-gson, and resttemplate with useApacheHttpClient).").defaultValue(String.valueOf(connectionKeepAlive)));
+        cliOptions.add(CliOption.newBoolean(HTTP2_PRIOR_KNOWLEDGE, "Use cleartext HTTP/2 without negotiation, for servers known to support it (okhttp-gson only). HTTP/2 over TLS is negotiated regardless."));
+        cliOptions.add(CliOption.newBoolean(USE_APACHE_HTTP_CLIENT, "Send requests through a pooled Apache HttpClient instead of the JDK's HttpURLConnection (resttemplate only)."));
         cliOptions.add(CliOption.newBoolean(USE_REFLECTION_EQUALS_HASHCODE, "Use org.apache.commons.lang3.builder for equals and hashCode in the models. WARNING: This will fail under a security manager, unless the appropriate permissions are set up correctly and also there's potential performance impact."));
 
         supportedLibraries.put(JERSEY1, "HTTP client: Jersey client 1.19.x. JSON processing: Jackson 2.8.x. Enable Java6 support using '-DsupportJava6=true'. Enable gzip request encoding using '-DuseGzipFeature=true'.");
@@ -225,6 +252,45 @@ public class JavaClientCodegen extends AbstractJavaCodegen
             this.setUseReflectionEqualsHashCode(convertPropertyToBooleanAndWriteBack(USE_REFLECTION_EQUALS_HASHCODE));
         }
 
+        if (additionalProperties.containsKey(STREAMING_ARRAY_RESPONSES)) {
+            this.setStreamingArrayResponses(convertPropertyToBooleanAndWriteBack(STREAMING_ARRAY_RESPONSES));
+        }
+
+        if (additionalProperties.containsKey(STREAMING_REQUEST_BODIES)) {
+            this.setStreamingRequestBodies(convertPropertyToBooleanAndWriteBack(STREAMING_REQUEST_BODIES));
+        }
+
+        if (additionalProperties.containsKey(GSON_TYPE_ADAPTERS)) {
+            this.setGsonTypeAdapters(convertPropertyToBooleanAndWriteBack(GSON_TYPE_ADAPTERS));
+        }
+
+        if (additionalProperties.containsKey(USE_COMPLETABLE_FUTURE)) {
+            this.setUseCompletableFuture(convertPropertyToBooleanAndWriteBack(USE_COMPLETABLE_FUTURE));
+        }
+
+        if (additionalProperties.containsKey(MAX_CONNECTIONS)) {
+            this.setMaxConnections(Integer.parseInt(additionalProperties.get(MAX_CONNECTIONS).toString()));
+        }
+        additionalProperties.put(MAX_CONNECTIONS, maxConnections);
+
+        if (additionalProperties.containsKey(MAX_CONNECTIONS_PER_HOST)) {
+            this.setMaxConnectionsPerHost(Integer.parseInt(additionalProperties.get(MAX_CONNECTIONS_PER_HOST).toString()));
+        }
+        additionalProperties.put(MAX_CONNECTIONS_PER_HOST, maxConnectionsPerHost);
+
+        if (additionalProperties.containsKey(CONNECTION_KEEP_ALIVE)) {
+            this.setConnectionKeepAlive(Integer.parseInt(additionalProperties.get(CONNECTION_KEEP_ALIVE).toString()));
+        }
+        additionalProperties.put(CONNECTION_KEEP_ALIVE, connectionKeepAlive);
+
+        if (additionalProperties.containsKey(HTTP2_PRIOR_KNOWLEDGE)) {
+            this.setHttp2PriorKnowledge(convertPropertyToBooleanAndWriteBack(HTTP2_PRIOR_KNOWLEDGE));
+        }
+
+        if (additionalProperties.containsKey(USE_APACHE_HTTP_CLIENT)) {
+            this.setUseApacheHttpClient(convertPropertyToBooleanAndWriteBack(USE_APACHE_HTTP_CLIENT));
+        }
+
         final String invokerFolder = (sourceFolder + '/' + invokerPackage).replace(".", "/");
         final String apiFolder = (sourceFolder + '/' + apiPackage).replace(".", "/");
         authFolder = (sourceFolder + '/' + invokerPackage + ".auth").replace(".", "/");
@@ -294,6 +360,12 @@ public class JavaClientCodegen extends AbstractJavaCodegen
             supportingFiles.add(new SupportingFile("ProgressRequestBody.mustache", invokerFolder, "ProgressRequestBody.java"));
             supportingFiles.add(new SupportingFile("ProgressResponseBody.mustache", invokerFolder, "ProgressResponseBody.java"));
             supportingFiles.add(new SupportingFile("GzipRequestInterceptor.mustache", invokerFolder, "GzipRequestInterceptor.java"));
+            if (streamingArrayResponses) {
+                supportingFiles.add(new SupportingFile("JsonArrayIterator.mustache", invokerFolder, "JsonArrayIterator.java"));
+            }
+            if (streamingRequestBodies) {
+                supportingFiles.add(new SupportingFile("JsonRequestBody.mustache", invokerFolder, "JsonRequestBody.java"));
+            }
 
             // NOTE: below moved to postProcessOpoerationsWithModels
             //supportingFiles.add(new SupportingFile("auth/OAuthOkHttpClient.mustache", authFolder, "OAuthOkHttpClient.java"));
@@ -397,6 +469,23 @@ public class JavaClientCodegen extends AbstractJavaCodegen
             additionalProperties.remove("gson");
         }
 
+        if (gsonTypeAdapters && !(OKHTTP_GSON.equals(getLibrary()) || StringUtils.isEmpty(getLibrary()))) {
+            LOGGER.warn(GSON_TYPE_ADAPTERS + " is only supported by the " + OKHTTP_GSON + " library, ignoring it.");
+            additionalProperties.put(GSON_TYPE_ADAPTERS, false);
+        }
+
+        if (useCompletableFuture) {
+            if (!java8Mode) {
+                LOGGER.warn(USE_COMPLETABLE_FUTURE + " requires " + JAVA8_MODE + ", ignoring it.");
+                additionalProperties.put(USE_COMPLETABLE_FUTURE, false);
+            } else if (RESTTEMPLATE.equals(getLibrary()) || JERSEY2.equals(getLibrary())) {
+                supportingFiles.add(new SupportingFile("ApiExecutors.mustache", invokerFolder, "ApiExecutors.java"));
+            } else if (!(OKHTTP_GSON.equals(getLibrary()) || StringUtils.isEmpty(getLibrary()))) {
+                LOGGER.warn(USE_COMPLETABLE_FUTURE + " is not supported by the " + getLibrary() + " library, ignoring it.");
+                additionalProperties.put(USE_COMPLETABLE_FUTURE, false);
+            }
+        }
+
         if (additionalProperties.containsKey("jackson")) {
             supportingFiles.add(new SupportingFile("RFC3339DateFormat.mustache", invokerFolder, "RFC3339DateFormat.java"));
             if ("threetenbp".equals(dateLibrary) && !usePlayWS) {
@@ -460,6 +549,18 @@ public class JavaClientCodegen extends AbstractJavaCodegen
 
         }
 
+        // element types of array responses, for the streaming variants of okhttp-gson operations
+        if (streamingArrayResponses && (OKHTTP_GSON.equals(getLibrary()) || StringUtils.isEmpty(getLibrary()))) {
+            Map<String, Object> operations = (Map<String, Object>) objs.get("operations");
+            List<CodegenOperation> operationList = (List<CodegenOperation>) operations.get("operation");
+            for (CodegenOperation op : operationList) {
+                if (op.isListContainer && op.returnType != null && op.returnType.endsWith(">")) {
+                    String elementType = op.returnType.substring(op.returnType.indexOf('<') + 1, op.returnType.length() - 1);
+                    op.vendorExtensions.put("x-streaming-element-type", elementType);
+                }
+            }
+        }
+
         // camelize path variables for Feign client
         if (FEIGN.equals(getLibrary())) {
             Map<String, Object> operations = (Map<String, Object>) objs.get("operations");
@@ -652,6 +753,42 @@ public class JavaClientCodegen extends AbstractJavaCodegen
         this.useReflectionEqualsHashCode = useReflectionEqualsHashCode;
     }
 
+    public void setStreamingArrayResponses(boolean streamingArrayResponses) {
+        this.streamingArrayResponses = streamingArrayResponses;
+    }
+
+    public void setStreamingRequestBodies(boolean streamingRequestBodies) {
+        this.streamingRequestBodies = streamingRequestBodies;
+    }
+
+    public void setGsonTypeAdapters(boolean gsonTypeAdapters) {
+        this.gsonTypeAdapters = gsonTypeAdapters;
+    }
+
+    public void setUseCompletableFuture(boolean useCompletableFuture) {
+        this.useCompletableFuture = useCompletableFuture;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public void setConnectionKeepAlive(int connectionKeepAlive) {
+        this.connectionKeepAlive = connectionKeepAlive;
+    }
+
+    public void setHttp2PriorKnowledge(boolean http2PriorKnowledge) {
+        this.http2PriorKnowledge = http2PriorKnowledge;
+    }
+
+    public void setUseApacheHttpClient(boolean useApacheHttpClient) {
+        this.useApacheHttpClient = useApacheHttpClient;
+    }
+
     final private static Pattern JSON_MIME_PATTERN = Pattern.compile("(?i)application\\/json(;.*)?");
     final private static Pattern JSON_VENDOR_MIME_PATTERN = Pattern.compile("(?i)application\\/vnd.(.*)+json(;.*)?");
 
@@ -466,9 +466,9 @@ public class ObjcClientCodegen extends DefaultCodegen implements CodegenConfig {
     protected void setNonArrayMapProperty(CodegenProperty schema, String type) {
         super.setNonArrayMapProperty(schema, type);
         if ("NSDictionary".equals(type)) {
-            schema.setter = "initWithDictionary";
+            schema.setSetter("initWithDictionary");
         } else {
-            schema.setter = "initWithValues";
+            schema.setSetter("initWithValues");
         }
     }
 
@@ -40,6 +40,12 @@ public class PythonClientCodegen extends DefaultCodegen implements CodegenConfig
 
     public static final String PACKAGE_URL = "packageUrl";
     public static final String DEFAULT_LIBRARY = "urllib3";
+    public static final String SHARED_CONNECTION_POOL = "sharedConnectionPool";
+    public static final String CONNECTION_POOL_MAXSIZE = "connectionPoolMaxsize";
+    public static final String CONNECTION_KEEPALIVE = "connectionKeepalive";
+    public static final String JSON_LIBRARY = "jsonLibrary";
+    public static final String DEFAULT_JSON_LIBRARY = "json";
+    public static final int DEFAULT_CONNECTION_KEEPALIVE = 15;
 
     protected String packageName; // e.g. petstore_api
     protected String packageVersion;
@@ -54,6 +60,8 @@ public class PythonClientCodegen extends DefaultCodegen implements CodegenConfig
 
     public PythonClientCodegen() {
         super();
+        fromModelThreadSafe = true;
+        fromOperationThreadSafe = true;
 
         // clear import mapping (from default generator) as python does not use it
         // at the moment
@@ -150,6 +158,21 @@ public class PythonClientCodegen extends DefaultCodegen implements CodegenConfig
         cliOptions.add(new CliOption(CodegenConstants.SOURCECODEONLY_GENERATION, CodegenConstants.SOURCECODEONLY_GENERATION_DESC)
                 .defaultValue(Boolean.FALSE.toString()));
 
+        cliOptions.add(CliOption.newBoolean(SHARED_CONNECTION_POOL,
+                "Share connection pools (asyncio: client sessions) with all API clients of the process which use the same connection settings (not for tornado, which shares its client per IOLoop).")
+                .defaultValue(Boolean.FALSE.toString()));
+        cliOptions.add(new CliOption(CONNECTION_POOL_MAXSIZE, "Maximum number of connections per pool. Default: the number of CPUs * 5."));
+        cliOptions.add(new CliOption(CONNECTION_KEEPALIVE, "Seconds an idle connection is kept open for reuse (asyncio only).")
+                .defaultValue(String.valueOf(DEFAULT_CONNECTION_KEEPALIVE)));
+        CliOption jsonLibraryOption = new CliOption(JSON_LIBRARY, "JSON library to encode and decode request and response bodies with. The generated client falls back to json if the library is not installed.");
+        Map<String, String> jsonLibraries = new LinkedHashMap<String, String>();
+        jsonLibraries.put("json", "The json module of the standard library");
+        jsonLibraries.put("orjson", "orjson (python 3 only)");
+        jsonLibraries.put("ujson", "UltraJSON");
+        jsonLibraryOption.setEnum(jsonLibraries);
+        jsonLibraryOption.setDefault(DEFAULT_JSON_LIBRARY);
+        cliOptions.add(jsonLibraryOption);
+
         supportedLibraries.put("urllib3", "urllib3-based client");
         supportedLibraries.put("asyncio", "Asyncio-based client (python 3.5+)");
         supportedLibraries.put("tornado", "tornado-based client");
@@ -218,6 +241,38 @@ public class PythonClientCodegen extends DefaultCodegen implements CodegenConfig
             setPackageUrl((String) additionalProperties.get(PACKAGE_URL));
         }
 
+        if (additionalProperties.containsKey(SHARED_CONNECTION_POOL)) {
+            additionalProperties.put(SHARED_CONNECTION_POOL,
+                    Boolean.valueOf(additionalProperties.get(SHARED_CONNECTION_POOL).toString()));
+        }
+
+        if (additionalProperties.containsKey(CONNECTION_POOL_MAXSIZE)) {
+            String maxsize = additionalProperties.get(CONNECTION_POOL_MAXSIZE).toString();
+            if (StringUtils.isEmpty(maxsize)) {
+                additionalProperties.remove(CONNECTION_POOL_MAXSIZE);
+            } else {
+                additionalProperties.put(CONNECTION_POOL_MAXSIZE, Integer.parseInt(maxsize));
+            }
+        }
+
+        int keepalive = DEFAULT_CONNECTION_KEEPALIVE;
+        if (additionalProperties.containsKey(CONNECTION_KEEPALIVE)) {
+            keepalive = Integer.parseInt(additionalProperties.get(CONNECTION_KEEPALIVE).toString());
+        }
+        additionalProperties.put(CONNECTION_KEEPALIVE, keepalive);
+
+        String jsonLibrary = DEFAULT_JSON_LIBRARY;
+        if (additionalProperties.containsKey(JSON_LIBRARY)) {
+            jsonLibrary = additionalProperties.get(JSON_LIBRARY).toString();
+            if (!"json".equals(jsonLibrary) && !"orjson".equals(jsonLibrary) && !"ujson".equals(jsonLibrary)) {
+                LOGGER.warn("Unknown JSON library '" + jsonLibrary + "', using json");
+                jsonLibrary = DEFAULT_JSON_LIBRARY;
+            }
+        }
+        additionalProperties.put(JSON_LIBRARY, jsonLibrary);
+        // the generated client uses the json_codec module instead of json
+        additionalProperties.put("fastJson", !DEFAULT_JSON_LIBRARY.equals(jsonLibrary));
+
         String readmePath = "README.md";
         String readmeTemplate = "README.mustache";
         if (generateSourceCodeOnly) {
@@ -247,6 +302,9 @@ public class PythonClientCodegen extends DefaultCodegen implements CodegenConfig
         }
 
         supportingFiles.add(new SupportingFile("api_client.mustache", packagePath(), "api_client.py"));
+        if (!DEFAULT_JSON_LIBRARY.equals(jsonLibrary)) {
+            supportingFiles.add(new SupportingFile("json_codec.mustache", packagePath(), "json_codec.py"));
+        }
 
         if ("asyncio".equals(getLibrary())) {
             supportingFiles.add(new SupportingFile("asyncio/rest.mustache", packagePath(), "rest.py"));
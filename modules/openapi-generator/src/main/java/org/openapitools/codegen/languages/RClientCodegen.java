@@ -649,14 +649,14 @@ public class RClientCodegen extends DefaultCodegen implements CodegenConfig {
             return "TODO";
         } else if (languageSpecificPrimitives.contains(codegenProperty.dataType)) { // primitive type
             if ("character".equals(codegenProperty.dataType)) {
-                if (StringUtils.isEmpty(codegenProperty.example)) {
-                    return "\"" + codegenProperty.example + "\"";
+                if (StringUtils.isEmpty(codegenProperty.getExample())) {
+                    return "\"" + codegenProperty.getExample() + "\"";
                 } else {
                     return "\"" + codegenProperty.name + "_example\"";
                 }
             } else { // numeric
-                if (StringUtils.isEmpty(codegenProperty.example)) {
-                    return codegenProperty.example;
+                if (StringUtils.isEmpty(codegenProperty.getExample())) {
+                    return codegenProperty.getExample();
                 } else {
                     return "123";
                 }
@@ -993,8 +993,8 @@ public class StubreenaCodegen extends AbstractJavaCodegen
     public void postProcessModelProperty(CodegenModel model, CodegenProperty property) {
         super.postProcessModelProperty(model, property);
 
-        if ("null".equals(property.example)) {
-            property.example = null;
+        if ("null".equals(property.getExample())) {
+            property.setExample(null);
         }
         
         if (nestedMongoTypes.contains(property.complexType)) {
@@ -1141,8 +1141,8 @@ public class StubreenaCodegen extends AbstractJavaCodegen
   				// changing resource, getter, and setter. But not the JsonResource name as this will be passed
   				// back in the response, therefore keeping the API inline without having to change it
   				codegenProperty.name = propertyNameMap.get(cm.classname+"."+codegenProperty.name);
-  				codegenProperty.setter = "set"+camelize(codegenProperty.name);
-  				codegenProperty.getter = "get"+camelize(codegenProperty.name);
+  				codegenProperty.setSetter("set"+camelize(codegenProperty.name));
+  				codegenProperty.setGetter("get"+camelize(codegenProperty.name));
   			}
   		}
             
@@ -1255,8 +1255,8 @@ public class StubreenaCodegen extends AbstractJavaCodegen
 		} else if ("payg".equals(mongoProperty.accountType)) {
 			property.vendorExtensions.put("x-is-payg-property", true);
 		}
-		property.getter = "get" + mongoProperty.name;
-		property.setter = "set" + mongoProperty.name;
+		property.setGetter("get" + mongoProperty.name);
+		property.setSetter("set" + mongoProperty.name);
 		cm.vars.add(property);
 		
 	}
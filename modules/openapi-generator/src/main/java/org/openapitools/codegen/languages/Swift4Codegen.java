@@ -984,13 +984,13 @@ public class Swift4Codegen extends DefaultCodegen implements CodegenConfig {
             return "\"TODO\"";
         } else if (languageSpecificPrimitives.contains(codegenProperty.dataType)) { // primitive type
             if ("String".equals(codegenProperty.dataType) || "Character".equals(codegenProperty.dataType)) {
-                if (StringUtils.isEmpty(codegenProperty.example)) {
-                    return "\"" + codegenProperty.example + "\"";
+                if (StringUtils.isEmpty(codegenProperty.getExample())) {
+                    return "\"" + codegenProperty.getExample() + "\"";
                 } else {
                     return "\"" + codegenProperty.name + "_example\"";
                 }
             } else if ("Bool".equals(codegenProperty.dataType)) { // boolean
-                if (Boolean.TRUE.equals(codegenProperty.example)) {
+                if (Boolean.TRUE.equals(codegenProperty.getExample())) {
                     return "true";
                 } else {
                     return "false";
@@ -1000,8 +1000,8 @@ public class Swift4Codegen extends DefaultCodegen implements CodegenConfig {
             } else if ("Date".equals(codegenProperty.dataType)) { // date
                 return "Date()";
             } else { // numeric
-                if (StringUtils.isEmpty(codegenProperty.example)) {
-                    return codegenProperty.example;
+                if (StringUtils.isEmpty(codegenProperty.getExample())) {
+                    return codegenProperty.getExample();
                 } else {
                     return "123";
                 }
@@ -8,6 +8,7 @@ public interface CXFExtServerFeatures extends CXFServerFeatures {
     String SUPPORT_MULTIPLE_SPRING_SERVICES = "supportMultipleSpringServices";
     String TEST_DATA_FILE = "testDataFile";
     String TEST_DATA_CONTROL_FILE = "testDataControlFile";
+    String TEST_DATA_THREADS = "testDataThreads";
 
     void setGenerateOperationBody(boolean generateOperationBody);
 
@@ -17,4 +18,6 @@ public interface CXFExtServerFeatures extends CXFServerFeatures {
 
     void setTestDataControlFile(File testDataControlFile);
 
+    void setTestDataThreads(int testDataThreads);
+
 }
\ No newline at end of file
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.mustache;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records invocation counts and cumulative time for templates, partials and lambdas.
+ * <p>
+ * Enabled by the generator with the system property <code>-DprofileTemplates</code>, the number of entries reported
+ * is set with <code>-DprofileTemplatesLimit=&lt;n&gt;</code> (25 by default). Templates are timed from reading the
+ * source to the end of execution, partials are timed around each execution of the partial (see
+ * {@link #profile(Mustache.Compiler)}), and lambdas are timed around {@link Mustache.Lambda#execute} and
+ * {@link Mustache.InvertibleLambda#executeInverse}. Partial and lambda timings are inclusive: they contain the time
+ * spent rendering nested partials and lambdas.
+ */
+public class TemplateProfiler {
+    public static final String PROFILE_TEMPLATES = "profileTemplates";
+    public static final String PROFILE_TEMPLATES_LIMIT = "profileTemplatesLimit";
+    public static final int DEFAULT_LIMIT = 25;
+
+    /**
+     * Prefix of the section names of the profiling sections wrapped around partials.
+     */
+    private static final String PARTIAL_SECTION = "_profiledPartial_";
+
+    public enum Kind {
+        TEMPLATE, PARTIAL, LAMBDA
+    }
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> partialSections = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Mustache.Lambda> partialLambdas = new ConcurrentHashMap<>();
+    private final AtomicInteger partialCount = new AtomicInteger();
+
+    /**
+     * Record one invocation.
+     *
+     * @param kind  What has been measured
+     * @param name  Name of the template, partial or lambda
+     * @param nanos Elapsed time in nanoseconds
+     */
+    public void record(Kind kind, String name, long nanos) {
+        Entry entry = entries.computeIfAbsent(kind + ":" + name, k -> new Entry(kind, name));
+        entry.count.incrementAndGet();
+        entry.nanos.addAndGet(nanos);
+    }
+
+    /**
+     * Configure a compiler so that every execution of a partial is recorded.
+     * <p>
+     * The partials loaded by the compiler are wrapped in a section, which resolves to a lambda timing the rendering
+     * of the partial. The section tags stand alone on their lines, so they don't change the output. Partials which
+     * change the delimiters are not wrapped (and not recorded), as the closing tag could not be parsed.
+     *
+     * @param compiler The compiler, with the loader of the partials
+     * @return A compiler recording into this profiler
+     */
+    public Mustache.Compiler profile(Mustache.Compiler compiler) {
+        return compiler.withLoader(wrapLoader(compiler.loader)).withCollector(wrapCollector(compiler.collector));
+    }
+
+    private Mustache.TemplateLoader wrapLoader(final Mustache.TemplateLoader loader) {
+        return new Mustache.TemplateLoader() {
+            @Override
+            public Reader getTemplate(String name) throws Exception {
+                String source;
+                try (Reader reader = loader.getTemplate(name)) {
+                    StringBuilder sb = new StringBuilder();
+                    char[] buffer = new char[4096];
+                    for (int read; (read = reader.read(buffer)) >= 0; ) {
+                        sb.append(buffer, 0, read);
+                    }
+                    source = sb.toString();
+                }
+                if (source.contains("{{=")) {
+                    return new StringReader(source);
+                }
+                String section = partialSections.computeIfAbsent(name, k -> {
+                    String key = PARTIAL_SECTION + partialCount.incrementAndGet();
+                    partialLambdas.put(key, new PartialLambda(name));
+                    return key;
+                });
+                // the opening tag is on a line of its own, which is dropped with it
+                return new StringReader("{{#" + section + "}}\n" + source + "{{/" + section + "}}");
+            }
+        };
+    }
+
+    private Mustache.Collector wrapCollector(final Mustache.Collector collector) {
+        return new Mustache.Collector() {
+            @Override
+            public Iterator<?> toIterator(Object value) {
+                return collector.toIterator(value);
+            }
+
+            @Override
+            public Mustache.VariableFetcher createFetcher(Object ctx, String name) {
+                final Mustache.Lambda lambda = partialLambdas.get(name);
+                if (lambda != null) {
+                    return (context, n) -> lambda;
+                }
+                return collector.createFetcher(ctx, name);
+            }
+
+            @Override
+            public <K, V> Map<K, V> createFetcherCache() {
+                return collector.createFetcherCache();
+            }
+        };
+    }
+
+    /**
+     * Wrap a lambda so that every execution is recorded.
+     *
+     * @param name   The name the lambda is registered under
+     * @param lambda The lambda to delegate to
+     * @return A lambda recording into this profiler
+     */
+    public Mustache.Lambda wrapLambda(String name, Mustache.Lambda lambda) {
+        if (lambda instanceof ProfilingLambda) {
+            return lambda;
+        }
+        if (lambda instanceof Mustache.InvertibleLambda) {
+            return new ProfilingInvertibleLambda(name, (Mustache.InvertibleLambda) lambda);
+        }
+        return new ProfilingLambda(name, lambda);
+    }
+
+    /**
+     * Replace every lambda found in the given properties with a profiling wrapper. Lambdas nested in maps
+     * (e.g. the <code>lambda</code> map registered by several generators) are wrapped too, in which case the
+     * containing map is replaced with a mutable copy.
+     *
+     * @param properties The properties (typically additionalProperties) to update in place
+     */
+    @SuppressWarnings("unchecked")
+    public void wrapLambdas(Map<String, Object> properties) {
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Mustache.Lambda) {
+                entry.setValue(wrapLambda(entry.getKey(), (Mustache.Lambda) value));
+            } else if (value instanceof Map && containsLambda((Map<String, Object>) value)) {
+                Map<String, Object> nested = new HashMap<>((Map<String, Object>) value);
+                for (Map.Entry<String, Object> nestedEntry : nested.entrySet()) {
+                    if (nestedEntry.getValue() instanceof Mustache.Lambda) {
+                        String name = entry.getKey() + "." + nestedEntry.getKey();
+                        nestedEntry.setValue(wrapLambda(name, (Mustache.Lambda) nestedEntry.getValue()));
+                    }
+                }
+                entry.setValue(nested);
+            }
+        }
+    }
+
+    private static boolean containsLambda(Map<String, Object> map) {
+        for (Object value : map.values()) {
+            if (value instanceof Mustache.Lambda) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the recorded entries with the highest cumulative time first.
+     *
+     * @param limit Maximum number of entries to return
+     * @return Top entries
+     */
+    public List<Entry> getTopOffenders(int limit) {
+        List<Entry> sorted = new ArrayList<>(entries.values());
+        Collections.sort(sorted, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry one, Entry another) {
+                return Long.compare(another.getNanos(), one.getNanos());
+            }
+        });
+        return sorted.size() > limit ? sorted.subList(0, limit) : sorted;
+    }
+
+    /**
+     * Build a human readable table of the top entries.
+     *
+     * @param limit Maximum number of entries to report
+     * @return The report
+     */
+    public String report(int limit) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("############ Template profile ############").append(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "%-8s %10s %12s %10s  %s", "kind", "count", "total (ms)", "avg (ms)", "name"));
+        for (Entry entry : getTopOffenders(limit)) {
+            sb.append(System.lineSeparator());
+            sb.append(String.format(Locale.ROOT, "%-8s %10d %12.3f %10.3f  %s",
+                    entry.getKind().name().toLowerCase(Locale.ROOT),
+                    entry.getCount(),
+                    entry.getNanos() / 1e6,
+                    entry.getNanos() / 1e6 / Math.max(1, entry.getCount()),
+                    entry.getName()));
+        }
+        return sb.toString();
+    }
+
+    public static class Entry {
+        private final Kind kind;
+        private final String name;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+
+        Entry(Kind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getNanos() {
+            return nanos.get();
+        }
+    }
+
+    private class PartialLambda implements Mustache.Lambda {
+        private final String name;
+
+        PartialLambda(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute(Template.Fragment fragment, Writer writer) throws IOException {
+            long start = System.nanoTime();
+            try {
+                fragment.execute(writer);
+            } finally {
+                record(Kind.PARTIAL, name, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private class ProfilingLambda implements Mustache.Lambda {
+        final String name;
+        private final Mustache.Lambda delegate;
+
+        ProfilingLambda(String name, Mustache.Lambda delegate) {
+            String type = delegate.getClass().getSimpleName();
+            this.name = name + " (" + (type.isEmpty() ? delegate.getClass().getName() : type) + ")";
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Template.Fragment fragment, Writer writer) throws IOException {
+            long start = System.nanoTime();
+            try {
+                delegate.execute(fragment, writer);
+            } finally {
+                record(Kind.LAMBDA, name, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private class ProfilingInvertibleLambda extends ProfilingLambda implements Mustache.InvertibleLambda {
+        private final Mustache.InvertibleLambda delegate;
+
+        ProfilingInvertibleLambda(String name, Mustache.InvertibleLambda delegate) {
+            super(name, delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void executeInverse(Template.Fragment fragment, Writer writer) throws IOException {
+            long start = System.nanoTime();
+            try {
+                delegate.executeInverse(fragment, writer);
+            } finally {
+                record(Kind.LAMBDA, name, System.nanoTime() - start);
+            }
+        }
+    }
+}
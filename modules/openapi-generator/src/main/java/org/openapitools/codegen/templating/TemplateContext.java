@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Data of a template, layered over data shared by many templates (e.g. the additional properties of the generator).
+ * <p>
+ * Lookups fall through to the parent map for keys which are not set in this map, so the shared data is not copied
+ * for every generated file. All modifications go to this map: the parent is never modified, and removing a key of
+ * the parent only hides it from this map. Use {@link #putIfAbsent(Object, Object)} to add values which must not
+ * override the shared data, as the former <code>putAll</code> of the shared data after them did.
+ * <p>
+ * The parent is not copied, so changes made to it later on show through this map. Layer contexts over a
+ * {@link #snapshot(Map, Map)} of shared data which may still change while the contexts are in use.
+ */
+public class TemplateContext extends AbstractMap<String, Object> {
+    private final Map<String, Object> parent;
+    private final Map<String, Object> local = new HashMap<>();
+    private Set<Object> removed;
+
+    /**
+     * @param parent The shared data, which may itself be a template context
+     */
+    public TemplateContext(Map<String, Object> parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Copies shared data for template contexts layered over it, unless it is still the same as the copy made before.
+     * Values are compared by identity, like the former <code>putAll</code> shared them.
+     *
+     * @param shared   The shared data, e.g. the additional properties of the generator
+     * @param previous A copy returned by this method before, or null
+     * @return A read-only copy of the shared data as of now
+     */
+    public static Map<String, Object> snapshot(Map<String, Object> shared, Map<String, Object> previous) {
+        if (previous != null && previous.size() == shared.size()) {
+            boolean same = true;
+            for (Entry<String, Object> entry : shared.entrySet()) {
+                Object value = previous.get(entry.getKey());
+                if (value != entry.getValue() || (value == null && !previous.containsKey(entry.getKey()))) {
+                    same = false;
+                    break;
+                }
+            }
+            if (same) {
+                return previous;
+            }
+        }
+        return Collections.unmodifiableMap(new HashMap<>(shared));
+    }
+
+    /**
+     * @return The shared data this map falls back to
+     */
+    public Map<String, Object> getParent() {
+        return parent;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = local.get(key);
+        if (value != null || local.containsKey(key)) {
+            return value;
+        }
+        return isHidden(key) ? null : parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || (!isHidden(key) && parent.containsKey(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        local.put(key, value);
+        if (removed != null) {
+            removed.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        local.remove(key);
+        if (parent.containsKey(key)) {
+            hide(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        removed = new HashSet<>(parent.keySet());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = local.size();
+                for (String key : parent.keySet()) {
+                    if (!local.containsKey(key) && !isHidden(key)) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    private boolean isHidden(Object key) {
+        return removed != null && removed.contains(key);
+    }
+
+    private void hide(Object key) {
+        if (removed == null) {
+            removed = new HashSet<>();
+        }
+        removed.add(key);
+    }
+
+    /**
+     * Iterates the entries of this map, then the visible entries of the parent, which are read-only.
+     */
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> localEntries = local.entrySet().iterator();
+        private final Iterator<Entry<String, Object>> parentEntries = parent.entrySet().iterator();
+        private Entry<String, Object> next;
+        private Entry<String, Object> last;
+        private boolean lastIsLocal;
+
+        @Override
+        public boolean hasNext() {
+            if (localEntries.hasNext() || next != null) {
+                return true;
+            }
+            while (parentEntries.hasNext()) {
+                Entry<String, Object> entry = parentEntries.next();
+                if (!local.containsKey(entry.getKey()) && !isHidden(entry.getKey())) {
+                    next = new SimpleImmutableEntry<>(entry);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (localEntries.hasNext()) {
+                last = localEntries.next();
+                lastIsLocal = true;
+                return last;
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            lastIsLocal = false;
+            next = null;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (lastIsLocal) {
+                localEntries.remove();
+            }
+            if (parent.containsKey(last.getKey())) {
+                hide(last.getKey());
+            }
+            last = null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Resolves template names to template files for one generator run without touching the file system per lookup.
+ * <p>
+ * The user supplied template folder is scanned once when the index is built, and every resolution (including
+ * the classpath probe for embedded library templates) is memoized by template name. The lookup order matches
+ * the one documented on {@code AbstractGenerator#getFullTemplateFile}:
+ * <ol>
+ * <li>&lt;template folder&gt;/libraries/&lt;library&gt;</li>
+ * <li>&lt;template folder&gt;</li>
+ * <li>&lt;embedded template folder&gt;/libraries/&lt;library&gt;</li>
+ * <li>&lt;embedded template folder&gt;</li>
+ * </ol>
+ */
+public class TemplateIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateIndex.class);
+
+    private final String templateDir;
+    private final String embeddedTemplateDir;
+    private final String library;
+    private final ClassLoader classLoader;
+    private final Set<String> userTemplates; // null if the template folder could not be scanned
+    private final ConcurrentMap<String, String> resolved = new ConcurrentHashMap<>();
+
+    public TemplateIndex(String templateDir, String embeddedTemplateDir, String library, ClassLoader classLoader) {
+        this.templateDir = templateDir;
+        this.embeddedTemplateDir = embeddedTemplateDir;
+        this.library = library;
+        this.classLoader = classLoader;
+        this.userTemplates = scan(templateDir);
+    }
+
+    /**
+     * Whether this index was built for the given template locations.
+     *
+     * @param templateDir         The user template folder
+     * @param embeddedTemplateDir The embedded template folder
+     * @param library             The library, may be null
+     * @return true if the index can answer lookups for these locations
+     */
+    public boolean isFor(String templateDir, String embeddedTemplateDir, String library) {
+        return Objects.equals(this.templateDir, templateDir)
+                && Objects.equals(this.embeddedTemplateDir, embeddedTemplateDir)
+                && Objects.equals(this.library, library);
+    }
+
+    /**
+     * Get the template file path with template dir prepended, and use the library template if exists.
+     *
+     * @param templateFile Template file, relative to the template folders
+     * @return Full template file path
+     */
+    public String resolve(String templateFile) {
+        return resolved.computeIfAbsent(templateFile, this::lookup);
+    }
+
+    private String lookup(String templateFile) {
+        final String key = normalize(templateFile);
+        // names escaping the template folder can't be answered from the scan, so check the file system directly
+        final boolean indexed = key != null && userTemplates != null;
+
+        if (StringUtils.isNotEmpty(library)) {
+            final String libTemplateFile = buildLibraryFilePath(templateDir, templateFile);
+            if (indexed ? userTemplates.contains("libraries/" + library + "/" + key) : new File(libTemplateFile).exists()) {
+                return libTemplateFile;
+            }
+        }
+
+        final String template = templateDir + File.separator + templateFile;
+        if (indexed ? userTemplates.contains(key) : new File(template).exists()) {
+            return template;
+        }
+
+        if (StringUtils.isNotEmpty(library)) {
+            final String embeddedLibTemplateFile = buildLibraryFilePath(embeddedTemplateDir, templateFile);
+            if (classLoader.getResource(toResourcePath(embeddedLibTemplateFile)) != null) {
+                return embeddedLibTemplateFile;
+            }
+        }
+
+        return embeddedTemplateDir + File.separator + templateFile;
+    }
+
+    private String buildLibraryFilePath(String dir, String file) {
+        return dir + File.separator + "libraries" + File.separator + library + File.separator + file;
+    }
+
+    private static String normalize(String templateFile) {
+        if (new File(templateFile).isAbsolute()) {
+            return null;
+        }
+        final StringBuilder key = new StringBuilder();
+        for (String segment : toResourcePath(templateFile).split("/")) {
+            if ("..".equals(segment)) {
+                return null;
+            }
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if (key.length() > 0) {
+                key.append('/');
+            }
+            key.append(segment);
+        }
+        return key.toString();
+    }
+
+    private static String toResourcePath(String name) {
+        return name.replace(File.separatorChar, '/');
+    }
+
+    private static Set<String> scan(String templateDir) {
+        if (templateDir == null) {
+            return Collections.emptySet();
+        }
+        final Path root = new File(templateDir).toPath();
+        if (!Files.isDirectory(root)) {
+            return Collections.emptySet();
+        }
+        final Set<String> templates = new HashSet<>();
+        try (Stream<Path> paths = Files.walk(root, FileVisitOption.FOLLOW_LINKS)) {
+            paths.filter(Files::isRegularFile)
+                    .forEach(path -> templates.add(toResourcePath(root.relativize(path).toString())));
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Unable to index template folder " + templateDir + ", falling back to file lookups: " + e.getMessage());
+            return null;
+        }
+        return templates;
+    }
+}
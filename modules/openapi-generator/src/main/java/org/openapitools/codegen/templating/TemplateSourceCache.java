@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * JVM wide cache of template sources, so each template is read from disk or from a jar only once.
+ * <p>
+ * Entries are keyed by the resolved location (classpath URL or absolute file path) and carry a version
+ * (last modified time and size of the file, or of the jar containing the resource). A cached entry is only
+ * returned while its version still matches, so edits to custom templates are picked up by long running processes.
+ */
+public final class TemplateSourceCache {
+    private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+
+    private static final Cache<String, Source> CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_BYTES)
+            .weigher((String key, Source source) -> source.getBytes().length)
+            .build();
+
+    private TemplateSourceCache() {
+    }
+
+    /**
+     * Load a template from the classpath, falling back to the file system.
+     *
+     * @param classLoader  The class loader to look up classpath resources with
+     * @param resourcePath The name as a classpath resource (i.e. with '/' separators)
+     * @param filePath     The name as a file path
+     * @return The template source
+     * @throws IOException If the template can't be found or read
+     */
+    public static Source load(ClassLoader classLoader, String resourcePath, String filePath) throws IOException {
+        URL url = classLoader.getResource(resourcePath);
+        if (url != null) {
+            return load(url);
+        }
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(filePath + " (No such file)");
+        }
+        return load(file);
+    }
+
+    /**
+     * Load a template from the file system.
+     *
+     * @param file The template file
+     * @return The template source
+     * @throws IOException If the file can't be read
+     */
+    public static Source load(File file) throws IOException {
+        final File absoluteFile = file.getAbsoluteFile();
+        final String key = "file:" + absoluteFile.getPath();
+        final String version = version(absoluteFile);
+        Source cached = CACHE.getIfPresent(key);
+        if (cached != null && cached.version.equals(version)) {
+            return cached;
+        }
+        Source source = new Source(Files.readAllBytes(absoluteFile.toPath()), version);
+        CACHE.put(key, source);
+        return source;
+    }
+
+    /**
+     * Load a template from a classpath URL.
+     *
+     * @param url The resource URL
+     * @return The template source
+     * @throws IOException If the resource can't be read
+     */
+    public static Source load(URL url) throws IOException {
+        final String key = url.toExternalForm();
+        final String version = version(url);
+        Source cached = CACHE.getIfPresent(key);
+        if (cached != null && cached.version.equals(version)) {
+            return cached;
+        }
+        URLConnection connection = url.openConnection();
+        // the JarURLConnection cache would keep jar files open (and stale) after the source has been cached
+        connection.setUseCaches(false);
+        byte[] bytes;
+        try (InputStream in = connection.getInputStream()) {
+            bytes = IOUtils.toByteArray(in);
+        }
+        Source source = new Source(bytes, version);
+        CACHE.put(key, source);
+        return source;
+    }
+
+    /**
+     * Drop every cached template source.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    private static String version(File file) {
+        return file.lastModified() + ":" + file.length();
+    }
+
+    private static String version(URL url) throws IOException {
+        URL fileUrl = url;
+        if ("jar".equals(url.getProtocol())) {
+            URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                fileUrl = ((JarURLConnection) connection).getJarFileURL();
+            }
+        }
+        if ("file".equals(fileUrl.getProtocol())) {
+            try {
+                return version(new File(fileUrl.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return version(new File(fileUrl.getPath()));
+            }
+        }
+        // other protocols have no cheap way to detect changes, treat them as immutable
+        return "";
+    }
+
+    /**
+     * A template source, holding both the raw bytes and the UTF-8 decoded content.
+     */
+    public static final class Source {
+        private final byte[] bytes;
+        private final String content;
+        private final String version;
+
+        Source(byte[] bytes, String version) {
+            this.bytes = bytes;
+            this.content = new String(bytes, StandardCharsets.UTF_8);
+            this.version = version;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+}
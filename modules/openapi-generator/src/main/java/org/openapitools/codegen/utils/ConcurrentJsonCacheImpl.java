@@ -0,0 +1,526 @@
+/*
+ * Copyright 2019 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+
+/**
+ * A JSON cache which is safe for use by concurrent threads. Queries share a read lock; mutations, including the
+ * <code>get</code> methods which store a default value, and load/save operations take the write lock. Child caches
+ * delegate to their root, so they are covered as well.
+ *
+ * @since 4.0.0
+ */
+class ConcurrentJsonCacheImpl extends JsonCacheImpl {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    protected ConcurrentJsonCacheImpl() {
+        super();
+    }
+
+    @Override
+    protected JsonCache add(JsonPointer ptr, JsonNode node) {
+        lock.writeLock().lock();
+        try {
+            return super.add(ptr, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(JsonPointer ptr) {
+        lock.writeLock().lock();
+        try {
+            super.delete(ptr);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean exists(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.exists(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Root flush(File file) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.flush(file);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Root flush(OutputStream out) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.flush(out);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Object get(JsonPointer ptr) throws CacheException {
+        lock.readLock().lock();
+        try {
+            return super.get(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Object get(JsonPointer ptr, Object defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.get(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getBigDecimal(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(JsonPointer ptr, BigDecimal defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getBigDecimal(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BigInteger getBigInteger(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getBigInteger(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public BigInteger getBigInteger(JsonPointer ptr, BigInteger defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getBigInteger(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public byte[] getBinary(JsonPointer ptr) throws CacheException {
+        lock.readLock().lock();
+        try {
+            return super.getBinary(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public byte[] getBinary(JsonPointer ptr, byte[] defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getBinary(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean getBoolean(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getBoolean(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean getBoolean(JsonPointer ptr, boolean defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getBoolean(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public double getDouble(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getDouble(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double getDouble(JsonPointer ptr, double defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getDouble(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public float getFloat(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getFloat(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public float getFloat(JsonPointer ptr, float defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getFloat(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int getInt(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getInt(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getInt(JsonPointer ptr, int defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getInt(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long getLong(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getLong(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getLong(JsonPointer ptr, long defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getLong(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public JsonNodeType getNodeType(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getNodeType(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Number getNumber(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getNumber(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Number getNumber(JsonPointer ptr, Number defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getNumber(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> T getObject(JsonPointer ptr, Class<T> type) throws CacheException {
+        lock.readLock().lock();
+        try {
+            return super.getObject(ptr, type);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> T getObject(JsonPointer ptr, T defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getObject(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> List<T> getObjects(JsonPointer ptr, Class<T> type) throws CacheException {
+        lock.readLock().lock();
+        try {
+            return super.getObjects(ptr, type);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> List<T> getObjects(JsonPointer ptr, Class<T> type, List<T> defaultValue) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.getObjects(ptr, type, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public short getShort(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getShort(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public short getShort(JsonPointer ptr, short defaultValue) {
+        lock.writeLock().lock();
+        try {
+            return super.getShort(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String getString(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.getString(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getString(JsonPointer ptr, String defaultValue) {
+        lock.writeLock().lock();
+        try {
+            return super.getString(ptr, defaultValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isDirty() {
+        lock.readLock().lock();
+        try {
+            return super.isDirty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Root lazyLoadDepth(int depth) {
+        lock.writeLock().lock();
+        try {
+            return super.lazyLoadDepth(depth);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Root load(File file) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.load(file);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Root load(InputStream in) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.load(in);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Root mapper(ObjectMapper mapper) {
+        lock.writeLock().lock();
+        try {
+            return super.mapper(mapper);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Root mergePolicy(MergePolicy policy) {
+        lock.writeLock().lock();
+        try {
+            return super.mergePolicy(policy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected JsonNode nodeFor(Object value) {
+        lock.readLock().lock();
+        try {
+            return super.nodeFor(value);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Root save(File file) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.save(file);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Root save(OutputStream out) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.save(out);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public JsonCache set(JsonPointer ptr, List<?> values) throws CacheException {
+        lock.writeLock().lock();
+        try {
+            return super.set(ptr, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public JsonCache set(JsonPointer ptr, Object value) {
+        lock.writeLock().lock();
+        try {
+            return super.set(ptr, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size(JsonPointer ptr) {
+        lock.readLock().lock();
+        try {
+            return super.size(ptr);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Root unload() {
+        lock.writeLock().lock();
+        try {
+            return super.unload();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.readLock().lock();
+        try {
+            return "ConcurrentJsonCacheImpl [root=" + root + ']';
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
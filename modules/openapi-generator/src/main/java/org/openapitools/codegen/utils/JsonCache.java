@@ -42,7 +42,8 @@ import com.fasterxml.jackson.databind.node.JsonNodeType;
  * any of the corresponding paths. However, this shared object becomes multiple independent objects when serialised to
  * JSON and if subsequently loaded into a cache instance. Such graphs <b>must</b> be acyclic: storing a cyclic graph in
  * the tree will cause a stack overflow when the cache is saved. Instances are not guaranteed threadsafe and require
- * external synchronisation if mutator methods may be called concurrently from multiple threads. Sparse arrays are not
+ * external synchronisation if mutator methods may be called concurrently from multiple threads, unless they were
+ * obtained from {@link Factory#createConcurrent()} or {@link Factory#getConcurrent(String)}. Sparse arrays are not
  * supported - all array elements have a value, even if it is null.
  * <p>
  * <em>N.B. some <code>getXxx()</code> methods can return mutable objects, mutations to which will be unobserved by the
@@ -94,6 +95,23 @@ public interface JsonCache {
          * @return The singleton instance for <code>key</code>.
          */
         Root get(String key);
+
+        /**
+         * Returns a new cache root instance which is safe for use by concurrent threads.
+         *
+         * @return A new thread-safe instance.
+         */
+        Root createConcurrent();
+
+        /**
+         * Returns the singleton thread-safe cache root instance for the specified key, lazily creating it on the first
+         * call with that <code>key</code> value. {@link #get(String)} returns the same instance for the key.
+         *
+         * @param key The instance key.
+         * @return The singleton instance for <code>key</code>.
+         * @throws IllegalStateException if a cache which is not thread-safe already exists for <code>key</code>.
+         */
+        Root getConcurrent(String key);
     }
 
     /**
@@ -170,6 +188,15 @@ public interface JsonCache {
          */
         Root flushOnShutdown(OutputStream out);
 
+        /**
+         * Returns the depth to which {@link #load(File)} indexes a file instead of reading it into memory. The default
+         * is 0, which loads the whole file.
+         *
+         * @return The lazy load depth.
+         * @see #lazyLoadDepth(int)
+         */
+        int getLazyLoadDepth();
+
         /**
          * Returns the mapper used for JSON-object marshalling and serialisation operations. Callers may configure the
          * mapper to achieve the desired JSON serialisation format.
@@ -195,6 +222,22 @@ public interface JsonCache {
          */
         boolean isDirty();
 
+        /**
+         * Sets the depth to which {@link #load(File)} indexes a file instead of reading it into memory. With a depth
+         * of <i>n</i> &gt; 0, the file is scanned once with a streaming parser: object properties up to <i>n</i>
+         * levels below the root are loaded, while arrays and objects at level <i>n</i> (or arrays above it) are only
+         * located in the file and are read when first accessed. Saving or flushing copies subtrees which were never
+         * accessed from the file, rather than serializing them again. The file must not be modified by other means
+         * while subtrees are still unread. Loading from a stream, or merging into a loaded cache, always reads the
+         * whole tree.
+         *
+         * @param depth The lazy load depth, 0 to disable.
+         * @return The receiver, to allow chaining.
+         * @throws IllegalArgumentException if <code>depth</code> is negative.
+         * @see #getLazyLoadDepth()
+         */
+        Root lazyLoadDepth(int depth);
+
         /**
          * Loads the cache from the specified file. If the cache is already loaded, merges the incoming tree according
          * to the current {@link #mergePolicy(MergePolicy) merge policy}. The call has no effect if the file does not
@@ -23,24 +23,32 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -49,6 +57,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ContainerNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.POJONode;
 
@@ -71,6 +80,25 @@ class JsonCacheImpl implements JsonCache.Root {
             this.basePtr = basePtr;
         }
 
+        /**
+         * Same as <code>basePtr.append(JsonPointer.compile(path))</code>, but through the pointer cache: appending
+         * compiles the concatenated pointer again.
+         */
+        private JsonPointer resolve(String path) {
+            JsonPointer ptr = pointer(path);
+            if (basePtr.matches()) {
+                return ptr;
+            }
+            if (ptr.matches()) {
+                return basePtr;
+            }
+            String base = basePtr.toString();
+            if (base.endsWith("/")) {
+                base = base.substring(0, base.length() - 1);
+            }
+            return pointer(base + path);
+        }
+
         @Override
         public JsonCache add(JsonPointer ptr, BigDecimal value) throws CacheException {
             parent.add(basePtr.append(ptr), value);
@@ -127,55 +155,55 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public JsonCache add(String path, BigDecimal value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, BigInteger value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, boolean value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, double value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, float value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, int value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, long value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, Object value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache add(String path, short value) throws CacheException {
-            parent.add(basePtr.append(JsonPointer.compile(path)), value);
+            parent.add(resolve(path), value);
             return this;
         }
 
@@ -186,7 +214,7 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public JsonCache child(String path) {
-            return child(JsonPointer.compile(path));
+            return child(pointer(path));
         }
 
         @Override
@@ -196,7 +224,7 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public void delete(String path) throws CacheException {
-            parent.delete(basePtr.append(JsonPointer.compile(path)));
+            parent.delete(resolve(path));
         }
 
         @Override
@@ -206,7 +234,7 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public boolean exists(String path) {
-            return parent.exists(basePtr.append(JsonPointer.compile(path)));
+            return parent.exists(resolve(path));
         }
 
         @Override
@@ -221,12 +249,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public Object get(String path) throws CacheException {
-            return parent.get(basePtr.append(JsonPointer.compile(path)));
+            return parent.get(resolve(path));
         }
 
         @Override
         public Object get(String path, Object defaultValue) throws CacheException {
-            return parent.get(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.get(resolve(path), defaultValue);
         }
 
         @Override
@@ -241,12 +269,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public BigDecimal getBigDecimal(String path) throws CacheException {
-            return parent.getBigDecimal(basePtr.append(JsonPointer.compile(path)));
+            return parent.getBigDecimal(resolve(path));
         }
 
         @Override
         public BigDecimal getBigDecimal(String path, BigDecimal defaultValue) throws CacheException {
-            return parent.getBigDecimal(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getBigDecimal(resolve(path), defaultValue);
         }
 
         @Override
@@ -261,12 +289,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public BigInteger getBigInteger(String path) throws CacheException {
-            return parent.getBigInteger(basePtr.append(JsonPointer.compile(path)));
+            return parent.getBigInteger(resolve(path));
         }
 
         @Override
         public BigInteger getBigInteger(String path, BigInteger defaultValue) throws CacheException {
-            return parent.getBigInteger(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getBigInteger(resolve(path), defaultValue);
         }
 
         @Override
@@ -281,12 +309,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public byte[] getBinary(String path) throws CacheException {
-            return parent.getBinary(basePtr.append(JsonPointer.compile(path)));
+            return parent.getBinary(resolve(path));
         }
 
         @Override
         public byte[] getBinary(String path, byte[] defaultValue) throws CacheException {
-            return parent.getBinary(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getBinary(resolve(path), defaultValue);
         }
 
         @Override
@@ -301,12 +329,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public boolean getBoolean(String path) throws CacheException {
-            return parent.getBoolean(basePtr.append(JsonPointer.compile(path)));
+            return parent.getBoolean(resolve(path));
         }
 
         @Override
         public boolean getBoolean(String path, boolean defaultValue) throws CacheException {
-            return parent.getBoolean(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getBoolean(resolve(path), defaultValue);
         }
 
         @Override
@@ -321,12 +349,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public double getDouble(String path) throws CacheException {
-            return parent.getDouble(basePtr.append(JsonPointer.compile(path)));
+            return parent.getDouble(resolve(path));
         }
 
         @Override
         public double getDouble(String path, double defaultValue) throws CacheException {
-            return parent.getDouble(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getDouble(resolve(path), defaultValue);
         }
 
         @Override
@@ -341,12 +369,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public float getFloat(String path) throws CacheException {
-            return parent.getFloat(basePtr.append(JsonPointer.compile(path)));
+            return parent.getFloat(resolve(path));
         }
 
         @Override
         public float getFloat(String path, float defaultValue) throws CacheException {
-            return parent.getFloat(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getFloat(resolve(path), defaultValue);
         }
 
         @Override
@@ -361,12 +389,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public int getInt(String path) throws CacheException {
-            return parent.getInt(basePtr.append(JsonPointer.compile(path)));
+            return parent.getInt(resolve(path));
         }
 
         @Override
         public int getInt(String path, int defaultValue) throws CacheException {
-            return parent.getInt(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getInt(resolve(path), defaultValue);
         }
 
         @Override
@@ -381,12 +409,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public long getLong(String path) throws CacheException {
-            return parent.getLong(basePtr.append(JsonPointer.compile(path)));
+            return parent.getLong(resolve(path));
         }
 
         @Override
         public long getLong(String path, long defaultValue) throws CacheException {
-            return parent.getLong(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getLong(resolve(path), defaultValue);
         }
 
         @Override
@@ -396,7 +424,7 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public JsonNodeType getNodeType(String path) {
-            return parent.getNodeType(basePtr.append(JsonPointer.compile(path)));
+            return parent.getNodeType(resolve(path));
         }
 
         @Override
@@ -411,12 +439,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public Number getNumber(String path) throws CacheException {
-            return parent.getNumber(basePtr.append(JsonPointer.compile(path)));
+            return parent.getNumber(resolve(path));
         }
 
         @Override
         public Number getNumber(String path, Number defaultValue) throws CacheException {
-            return parent.getNumber(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getNumber(resolve(path), defaultValue);
         }
 
         @Override
@@ -431,12 +459,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public <T> T getObject(String path, Class<T> type) throws CacheException {
-            return parent.getObject(basePtr.append(JsonPointer.compile(path)), type);
+            return parent.getObject(resolve(path), type);
         }
 
         @Override
         public <T> T getObject(String path, T defaultValue) throws CacheException {
-            return parent.getObject(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getObject(resolve(path), defaultValue);
         }
 
         @Override
@@ -451,12 +479,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public <T> List<T> getObjects(String path, Class<T> type) throws CacheException {
-            return parent.getObjects(basePtr.append(JsonPointer.compile(path)), type);
+            return parent.getObjects(resolve(path), type);
         }
 
         @Override
         public <T> List<T> getObjects(String path, Class<T> type, List<T> defaultValue) throws CacheException {
-            return parent.getObjects(basePtr.append(JsonPointer.compile(path)), type, defaultValue);
+            return parent.getObjects(resolve(path), type, defaultValue);
         }
 
         @Override
@@ -471,12 +499,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public short getShort(String path) throws CacheException {
-            return parent.getShort(basePtr.append(JsonPointer.compile(path)));
+            return parent.getShort(resolve(path));
         }
 
         @Override
         public short getShort(String path, short defaultValue) throws CacheException {
-            return parent.getShort(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getShort(resolve(path), defaultValue);
         }
 
         @Override
@@ -491,12 +519,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public String getString(String path) throws CacheException {
-            return parent.getString(basePtr.append(JsonPointer.compile(path)));
+            return parent.getString(resolve(path));
         }
 
         @Override
         public String getString(String path, String defaultValue) throws CacheException {
-            return parent.getString(basePtr.append(JsonPointer.compile(path)), defaultValue);
+            return parent.getString(resolve(path), defaultValue);
         }
 
         @Override
@@ -577,67 +605,67 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public JsonCache set(String path, BigDecimal value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, BigInteger value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, boolean value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, double value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, float value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, int value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, List<?> values) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), values);
+            parent.set(resolve(path), values);
             return this;
         }
 
         @Override
         public JsonCache set(String path, long value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, Object value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, short value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
         @Override
         public JsonCache set(String path, String value) throws CacheException {
-            parent.set(basePtr.append(JsonPointer.compile(path)), value);
+            parent.set(resolve(path), value);
             return this;
         }
 
@@ -648,7 +676,7 @@ class JsonCacheImpl implements JsonCache.Root {
 
         @Override
         public int size(String path) {
-            return parent.size(basePtr.append(JsonPointer.compile(path)));
+            return parent.size(resolve(path));
         }
 
         @Override
@@ -664,6 +692,59 @@ class JsonCacheImpl implements JsonCache.Root {
         }
     }
 
+    /**
+     * Placeholder for a subtree of a lazily loaded file which has not been read yet.
+     */
+    private static final class DeferredNode extends POJONode {
+        private final long offset;
+        private final int length;
+        private volatile JsonNode node;
+        /**
+         * Set once the subtree may have been changed since it was read, so that it can't be copied from the file.
+         */
+        private volatile boolean modified;
+
+        private DeferredNode(long offset, int length) {
+            super(null);
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * The file from which a cache was lazily loaded.
+     */
+    private static final class LazySource {
+        private final File file;
+        private final long fileLength;
+        private final long lastModified;
+        private final int depth;
+        /**
+         * The placeholders of the subtrees read so far, by the node read.
+         */
+        private final Map<JsonNode, DeferredNode> readSubtrees = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        private LazySource(File file, int depth) {
+            this.file = file;
+            this.fileLength = file.length();
+            this.lastModified = file.lastModified();
+            this.depth = depth;
+        }
+
+        byte[] read(DeferredNode deferred) throws IOException {
+            if (file.length() != fileLength || file.lastModified() != lastModified)
+                throw new IOException(file + " has been modified since it was loaded");
+            byte[] bytes = new byte[deferred.length];
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+                in.seek(deferred.offset);
+                in.readFully(bytes);
+            }
+            if (bytes[0] != '{' && bytes[0] != '[')
+                throw new IOException("No JSON container at offset " + deferred.offset + " of " + file);
+            return bytes;
+        }
+    }
+
     static class FactoryImpl implements JsonCache.Factory {
         static final JsonCache.Factory instance = new FactoryImpl();
         private final Map<String, JsonCacheImpl> instances = new HashMap<>();
@@ -684,16 +765,44 @@ class JsonCacheImpl implements JsonCache.Root {
                 return instance;
             }
         }
+
+        @Override
+        public Root createConcurrent() {
+            return new ConcurrentJsonCacheImpl();
+        }
+
+        @Override
+        public Root getConcurrent(String key) {
+            synchronized (instances) {
+                JsonCacheImpl instance = instances.get(key);
+                if (instance == null) {
+                    instance = new ConcurrentJsonCacheImpl();
+                    instances.put(key, instance);
+                } else if (!(instance instanceof ConcurrentJsonCacheImpl)) {
+                    throw new IllegalStateException("cache '" + key + "' is not thread-safe");
+                }
+                return instance;
+            }
+        }
     }
 
     protected static final JsonPointer EMPTY_PTR = JsonPointer.compile("/");
 
+    /**
+     * Maximum number of compiled pointers kept by {@link #pointer(String)}.
+     */
+    static final int POINTER_CACHE_SIZE = 4096;
+
+    private static final ConcurrentMap<String, JsonPointer> POINTERS = new ConcurrentHashMap<>();
+
     private static final Pattern INTEGER = Pattern.compile("^\\d+$");
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(JsonCacheImpl.class);
 
     protected boolean isDirty;
 
+    protected int lazyLoadDepth;
+
     protected boolean isLoaded;
 
     protected ObjectMapper mapper;
@@ -704,6 +813,11 @@ class JsonCacheImpl implements JsonCache.Root {
 
     private boolean shutdownHookRegistered;
 
+    /**
+     * The file from which unread subtrees are loaded, <code>null</code> if the whole tree is in memory.
+     */
+    private LazySource source;
+
     protected JsonCacheImpl() {
         mapper = new ObjectMapper();
         mapper.enable(SerializationFeature.INDENT_OUTPUT);
@@ -763,7 +877,7 @@ class JsonCacheImpl implements JsonCache.Root {
             default:
                 throw new IllegalArgumentException(ptr + " does not identify an array");
         }
-        setDirty();
+        setDirty(ptr);
         return this;
     }
 
@@ -784,47 +898,84 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public JsonCache add(String path, BigDecimal value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, BigInteger value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, boolean value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, double value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, float value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, int value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, long value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, Object value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
     }
 
     @Override
     public JsonCache add(String path, short value) {
-        return add(JsonPointer.compile(path), value);
+        return add(pointer(path), value);
+    }
+
+    /**
+     * Returns the node identified by a pointer, like <code>at(ptr)</code>, reading the unread subtrees of a lazily
+     * loaded file along the way.
+     *
+     * @param ptr A <a href="https://tools.ietf.org/html/rfc6901">JSON Pointer</a> to the node.
+     * @return The node, which is missing if it does not exist.
+     */
+    protected JsonNode at(JsonPointer ptr) {
+        if (source == null)
+            return root.at(ptr);
+        JsonNode node = root;
+        for (JsonPointer p = ptr; !p.matches(); p = p.tail()) {
+            JsonNode child = node.isObject() // split
+                    ? node.get(p.getMatchingProperty())
+                    : node.isArray() ? node.get(p.getMatchingIndex()) : null;
+            if (child == null)
+                return MissingNode.getInstance();
+            if (child instanceof DeferredNode)
+                child = materialize((ObjectNode) node, p.getMatchingProperty(), (DeferredNode) child);
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Same as {@link #at(JsonPointer)}, but also reads all unread subtrees below the node.
+     *
+     * @param ptr A <a href="https://tools.ietf.org/html/rfc6901">JSON Pointer</a> to the node.
+     * @return The node, which is missing if it does not exist.
+     */
+    protected JsonNode deepAt(JsonPointer ptr) {
+        JsonNode node = at(ptr);
+        if (source != null)
+            materializeAll(node, depth(ptr));
+        return node;
     }
 
     @Override
@@ -834,7 +985,7 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public JsonCache child(String path) {
-        return child(JsonPointer.compile(path));
+        return child(pointer(path));
     }
 
     @Override
@@ -842,8 +993,9 @@ class JsonCacheImpl implements JsonCache.Root {
         JsonPointer head = ptr.head();
         if (head == null) {
             root = null;
+            source = null;
         } else if (root != null) {
-            JsonNode parent = root.at(head);
+            JsonNode parent = at(head);
             if (parent.isArray()) {
                 ((ArrayNode) parent).remove(Integer.parseInt(ptr.last().getMatchingProperty()));
             } else if (parent.isObject()) {
@@ -852,12 +1004,19 @@ class JsonCacheImpl implements JsonCache.Root {
                 throw new IllegalArgumentException(ptr + " does not identify a deletable node");
             }
         }
-        setDirty();
+        setDirty(ptr);
     }
 
     @Override
     public void delete(String path) {
-        delete(JsonPointer.compile(path));
+        delete(pointer(path));
+    }
+
+    private static int depth(JsonPointer ptr) {
+        int depth = 0;
+        for (JsonPointer p = ptr; !p.matches(); p = p.tail())
+            depth++;
+        return depth;
     }
 
     /**
@@ -886,11 +1045,11 @@ class JsonCacheImpl implements JsonCache.Root {
         String lastProperty = ptr.last().getMatchingProperty();
         Deque<String> stack = new ArrayDeque<>();
         JsonPointer ancestorPtr = forceArray && !isInteger(lastProperty) ? ptr : ptr.head();
-        JsonNode ancestor = root.at(ancestorPtr);
+        JsonNode ancestor = at(ancestorPtr);
         while (ancestor.isMissingNode()) {
             stack.push(ancestorPtr.last().getMatchingProperty());
             ancestorPtr = ancestorPtr.head();
-            ancestor = root.at(ancestorPtr);
+            ancestor = at(ancestorPtr);
         }
         if (!ancestor.isContainerNode())
             throw new IllegalArgumentException(ancestorPtr + " does not identify a container node");
@@ -931,7 +1090,7 @@ class JsonCacheImpl implements JsonCache.Root {
                         throw new IllegalArgumentException(ancestorProperty + " does not identify an array node");
                 }
             }
-            setDirty();
+            setDirty(ptr);
         }
 
         return (ContainerNode<?>) ancestor;
@@ -939,12 +1098,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public boolean exists(JsonPointer ptr) {
-        return root != null && !root.at(ptr).isMissingNode();
+        return root != null && !at(ptr).isMissingNode();
     }
 
     @Override
     public boolean exists(String path) {
-        return exists(JsonPointer.compile(path));
+        return exists(pointer(path));
     }
 
     @Override
@@ -1004,10 +1163,12 @@ class JsonCacheImpl implements JsonCache.Root {
             result = null;
         } else {
             try {
-                JsonNode node = root.at(ptr);
+                JsonNode node = deepAt(ptr);
                 switch (node.getNodeType()) {
                     case ARRAY:
                     case OBJECT:
+                        // The caller gets the live node and may change it.
+                        setModified(ptr);
                         result = node;
                         break;
                     case BINARY:
@@ -1051,17 +1212,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public Object get(String path) throws CacheException {
-        return get(JsonPointer.compile(path));
+        return get(pointer(path));
     }
 
     @Override
     public Object get(String path, Object defaultValue) throws CacheException {
-        return get(JsonPointer.compile(path), defaultValue);
+        return get(pointer(path), defaultValue);
     }
 
     @Override
     public BigDecimal getBigDecimal(JsonPointer ptr) {
-        return root == null ? null : root.at(ptr).decimalValue();
+        return root == null ? null : at(ptr).decimalValue();
     }
 
     @Override
@@ -1079,18 +1240,18 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public BigDecimal getBigDecimal(String path) {
-        return getBigDecimal(JsonPointer.compile(path));
+        return getBigDecimal(pointer(path));
     }
 
     @Override
     public BigDecimal getBigDecimal(String path, BigDecimal defaultValue) throws CacheException {
 
-        return getBigDecimal(JsonPointer.compile(path), defaultValue);
+        return getBigDecimal(pointer(path), defaultValue);
     }
 
     @Override
     public BigInteger getBigInteger(JsonPointer ptr) {
-        return root == null ? null : root.at(ptr).bigIntegerValue();
+        return root == null ? null : at(ptr).bigIntegerValue();
     }
 
     @Override
@@ -1108,18 +1269,18 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public BigInteger getBigInteger(String path) {
-        return getBigInteger(JsonPointer.compile(path));
+        return getBigInteger(pointer(path));
     }
 
     @Override
     public BigInteger getBigInteger(String path, BigInteger defaultValue) throws CacheException {
-        return getBigInteger(JsonPointer.compile(path), defaultValue);
+        return getBigInteger(pointer(path), defaultValue);
     }
 
     @Override
     public byte[] getBinary(JsonPointer ptr) throws CacheException {
         try {
-            return root == null ? null : root.at(ptr).binaryValue();
+            return root == null ? null : at(ptr).binaryValue();
         } catch (IOException e) {
             throw new CacheException(e);
         }
@@ -1140,17 +1301,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public byte[] getBinary(String path) throws CacheException {
-        return getBinary(JsonPointer.compile(path));
+        return getBinary(pointer(path));
     }
 
     @Override
     public byte[] getBinary(String path, byte[] defaultValue) throws CacheException {
-        return getBinary(JsonPointer.compile(path), defaultValue);
+        return getBinary(pointer(path), defaultValue);
     }
 
     @Override
     public boolean getBoolean(JsonPointer ptr) {
-        return root != null && root.at(ptr).booleanValue();
+        return root != null && at(ptr).booleanValue();
     }
 
     @Override
@@ -1167,17 +1328,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public boolean getBoolean(String path) {
-        return getBoolean(JsonPointer.compile(path));
+        return getBoolean(pointer(path));
     }
 
     @Override
     public boolean getBoolean(String path, boolean defaultValue) throws CacheException {
-        return getBoolean(JsonPointer.compile(path), defaultValue);
+        return getBoolean(pointer(path), defaultValue);
     }
 
     @Override
     public double getDouble(JsonPointer ptr) {
-        return root == null ? 0.0D : root.at(ptr).doubleValue();
+        return root == null ? 0.0D : at(ptr).doubleValue();
     }
 
     @Override
@@ -1195,17 +1356,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public double getDouble(String path) {
-        return getDouble(JsonPointer.compile(path));
+        return getDouble(pointer(path));
     }
 
     @Override
     public double getDouble(String path, double defaultValue) throws CacheException {
-        return getDouble(JsonPointer.compile(path), defaultValue);
+        return getDouble(pointer(path), defaultValue);
     }
 
     @Override
     public float getFloat(JsonPointer ptr) {
-        return root == null ? 0.0F : root.at(ptr).floatValue();
+        return root == null ? 0.0F : at(ptr).floatValue();
     }
 
     @Override
@@ -1222,17 +1383,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public float getFloat(String path) {
-        return getFloat(JsonPointer.compile(path));
+        return getFloat(pointer(path));
     }
 
     @Override
     public float getFloat(String path, float defaultValue) throws CacheException {
-        return getFloat(JsonPointer.compile(path), defaultValue);
+        return getFloat(pointer(path), defaultValue);
     }
 
     @Override
     public int getInt(JsonPointer ptr) {
-        return root == null ? 0 : root.at(ptr).intValue();
+        return root == null ? 0 : at(ptr).intValue();
     }
 
     @Override
@@ -1249,17 +1410,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public int getInt(String path) {
-        return getInt(JsonPointer.compile(path));
+        return getInt(pointer(path));
     }
 
     @Override
     public int getInt(String path, int defaultValue) throws CacheException {
-        return getInt(JsonPointer.compile(path), defaultValue);
+        return getInt(pointer(path), defaultValue);
     }
 
     @Override
     public long getLong(JsonPointer ptr) {
-        return root == null ? 0L : root.at(ptr).longValue();
+        return root == null ? 0L : at(ptr).longValue();
     }
 
     @Override
@@ -1276,12 +1437,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public long getLong(String path) {
-        return getLong(JsonPointer.compile(path));
+        return getLong(pointer(path));
     }
 
     @Override
     public long getLong(String path, long defaultValue) throws CacheException {
-        return getLong(JsonPointer.compile(path), defaultValue);
+        return getLong(pointer(path), defaultValue);
     }
 
     @Override
@@ -1289,6 +1450,11 @@ class JsonCacheImpl implements JsonCache.Root {
         return mapper;
     }
 
+    @Override
+    public int getLazyLoadDepth() {
+        return lazyLoadDepth;
+    }
+
     @Override
     public MergePolicy getMergePolicy() {
         return mergePolicy;
@@ -1296,12 +1462,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public JsonNodeType getNodeType(JsonPointer ptr) {
-        return root.at(ptr).getNodeType();
+        return at(ptr).getNodeType();
     }
 
     @Override
     public JsonNodeType getNodeType(String path) {
-        return getNodeType(JsonPointer.compile(path));
+        return getNodeType(pointer(path));
     }
 
     @Override
@@ -1330,7 +1496,7 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public Number getNumber(JsonPointer ptr) {
-        return root == null ? null : root.at(ptr).numberValue();
+        return root == null ? null : at(ptr).numberValue();
     }
 
     @Override
@@ -1348,12 +1514,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public Number getNumber(String path) {
-        return getNumber(JsonPointer.compile(path));
+        return getNumber(pointer(path));
     }
 
     @Override
     public Number getNumber(String path, Number defaultValue) throws CacheException {
-        return getNumber(JsonPointer.compile(path), defaultValue);
+        return getNumber(pointer(path), defaultValue);
     }
 
     @Override
@@ -1362,8 +1528,11 @@ class JsonCacheImpl implements JsonCache.Root {
         if (root == null) {
             result = null;
         } else {
-            JsonNode node = root.at(ptr);
+            JsonNode node = deepAt(ptr);
             Object value = node.isPojo() && !JsonNode.class.isAssignableFrom(type) ? ((POJONode) node).getPojo() : node;
+            // convertValue() returns the live node itself if it already has the requested type.
+            if (type.isInstance(value) && node.isContainerNode())
+                setModified(ptr);
             result = mapper.convertValue(value, type);
         }
         return result;
@@ -1385,12 +1554,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public <T> T getObject(String path, Class<T> type) throws CacheException {
-        return getObject(JsonPointer.compile(path), type);
+        return getObject(pointer(path), type);
     }
 
     @Override
     public <T> T getObject(String path, T defaultValue) throws CacheException {
-        return getObject(JsonPointer.compile(path), defaultValue);
+        return getObject(pointer(path), defaultValue);
     }
 
     @Override
@@ -1400,10 +1569,13 @@ class JsonCacheImpl implements JsonCache.Root {
         if (root == null) {
             result = null;
         } else {
-            JsonNode node = root.at(ptr);
+            JsonNode node = deepAt(ptr);
             switch (node.getNodeType()) {
                 case ARRAY:
                 case OBJECT:
+                    // convertValue() returns the live elements themselves if they already have the requested type.
+                    if (type.isAssignableFrom(ObjectNode.class) || type.isAssignableFrom(ArrayNode.class))
+                        setModified(ptr);
                     result = new ArrayList<T>(node.size());
                     Iterator<JsonNode> elements = node.elements();
                     while (elements.hasNext())
@@ -1433,17 +1605,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public <T> List<T> getObjects(String path, Class<T> type) throws CacheException {
-        return getObjects(JsonPointer.compile(path), type);
+        return getObjects(pointer(path), type);
     }
 
     @Override
     public <T> List<T> getObjects(String path, Class<T> type, List<T> defaultValue) throws CacheException {
-        return getObjects(JsonPointer.compile(path), type, defaultValue);
+        return getObjects(pointer(path), type, defaultValue);
     }
 
     @Override
     public short getShort(JsonPointer ptr) {
-        return root == null ? (short) 0 : root.at(ptr).shortValue();
+        return root == null ? (short) 0 : at(ptr).shortValue();
     }
 
     @Override
@@ -1460,17 +1632,17 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public short getShort(String path) {
-        return getShort(JsonPointer.compile(path));
+        return getShort(pointer(path));
     }
 
     @Override
     public short getShort(String path, short defaultValue) {
-        return getShort(JsonPointer.compile(path), defaultValue);
+        return getShort(pointer(path), defaultValue);
     }
 
     @Override
     public String getString(JsonPointer ptr) {
-        return root == null ? null : root.at(ptr).textValue();
+        return root == null ? null : at(ptr).textValue();
     }
 
     @Override
@@ -1488,12 +1660,12 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public String getString(String path) {
-        return getString(JsonPointer.compile(path));
+        return getString(pointer(path));
     }
 
     @Override
     public String getString(String path, String defaultValue) {
-        return getString(JsonPointer.compile(path), defaultValue);
+        return getString(pointer(path), defaultValue);
     }
 
     protected void insertNumber(ArrayNode array, int index, Number value) {
@@ -1526,10 +1698,40 @@ class JsonCacheImpl implements JsonCache.Root {
         return INTEGER.matcher(s).matches();
     }
 
+    /**
+     * Returns the compiled form of a JSON pointer. Pointers are immutable, so compiled pointers are shared by all
+     * caches. When the cache is full, it is cleared rather than evicting entries one by one.
+     *
+     * @param path A <a href="https://tools.ietf.org/html/rfc6901">JSON Pointer</a> expression.
+     * @return The compiled pointer.
+     * @throws IllegalArgumentException if <code>path</code> is not a valid JSON pointer.
+     */
+    static JsonPointer pointer(String path) {
+        JsonPointer ptr = POINTERS.get(path);
+        if (ptr == null) {
+            ptr = JsonPointer.compile(path);
+            if (POINTERS.size() >= POINTER_CACHE_SIZE) {
+                POINTERS.clear();
+            }
+            POINTERS.put(path, ptr);
+        }
+        return ptr;
+    }
+
+    @Override
+    public Root lazyLoadDepth(int depth) {
+        if (depth < 0)
+            throw new IllegalArgumentException("depth must not be negative");
+        this.lazyLoadDepth = depth;
+        return this;
+    }
+
     @Override
     public Root load(File file) throws CacheException {
         Objects.requireNonNull(file, "file is required");
         if (file.exists()) {
+            if (lazyLoadDepth > 0 && !isLoaded && loadLazily(file))
+                return this;
             try (InputStream in = new FileInputStream(file)) {
                 load(in);
             } catch (IOException e) {
@@ -1548,19 +1750,80 @@ class JsonCacheImpl implements JsonCache.Root {
                     ContainerNode<?> tree = (ContainerNode<?>) mapper.readTree(in);
 
                     // The cache is already loaded, so merge the incoming object tree into the existing root.
+                    if (source != null) {
+                        materializeAll(root, 0);
+                        source = null;
+                    }
                     merge(root, tree);
                 }
             } else {
                 root = (ContainerNode<?>) mapper.readTree(in);
+                source = null;
                 isDirty = false;
                 isLoaded = true;
             }
-        } catch (IOException e) {
+        } catch (IOException | IllegalStateException e) {
             throw new CacheException(e);
         }
         return this;
     }
 
+    /**
+     * Indexes a file to the {@link #lazyLoadDepth(int) lazy load depth}, deferring the subtrees below.
+     *
+     * @param file The JSON file to load.
+     * @return <code>false</code> if the file can't be loaded lazily, e.g. because its root is not an object.
+     * @throws CacheException if the file could not be read or its content is not valid JSON.
+     */
+    protected boolean loadLazily(File file) throws CacheException {
+        LazySource lazySource = new LazySource(file, lazyLoadDepth);
+        try (JsonParser parser = mapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                return false;
+            ObjectNode tree = index(parser, 1, lazySource);
+            if (tree == null)
+                return false;
+            root = tree;
+            source = lazySource;
+            isDirty = false;
+            isLoaded = true;
+            return true;
+        } catch (IOException e) {
+            throw new CacheException(e);
+        }
+    }
+
+    /**
+     * Builds the object on which a parser is positioned, deferring the subtrees at the lazy load depth.
+     *
+     * @return The object, or <code>null</code> if the parser does not report byte offsets.
+     */
+    private ObjectNode index(JsonParser parser, int depth, LazySource lazySource) throws IOException {
+        ObjectNode object = mapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            JsonNode value;
+            if (token == JsonToken.START_OBJECT && depth < lazySource.depth) {
+                value = index(parser, depth + 1, lazySource);
+                if (value == null)
+                    return null;
+            } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                // The parser has just consumed the opening bracket.
+                long start = parser.getCurrentLocation().getByteOffset() - 1;
+                parser.skipChildren();
+                long end = parser.getCurrentLocation().getByteOffset();
+                if (start < 0 || end <= start || end - start > Integer.MAX_VALUE)
+                    return null;
+                value = new DeferredNode(start, (int) (end - start));
+            } else {
+                value = mapper.readTree(parser);
+            }
+            object.set(name, value);
+        }
+        return object;
+    }
+
     @Override
     public Root mapper(ObjectMapper mapper) {
         Objects.requireNonNull(mapper, "mapper is required");
@@ -1568,6 +1831,48 @@ class JsonCacheImpl implements JsonCache.Root {
         return this;
     }
 
+    /**
+     * Reads a deferred subtree and puts it in place of its placeholder.
+     */
+    private JsonNode materialize(ObjectNode parent, String property, DeferredNode deferred) {
+        // Readers of a concurrent cache may get here at the same time, so the placeholder is read only once.
+        synchronized (deferred) {
+            if (deferred.node == null) {
+                try {
+                    deferred.node = mapper.readTree(source.read(deferred));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to read " + property + " from " + source.file, e);
+                }
+                parent.set(property, deferred.node);
+                source.readSubtrees.put(deferred.node, deferred);
+            }
+            return deferred.node;
+        }
+    }
+
+    /**
+     * Reads all deferred subtrees below a node.
+     *
+     * @param node  The node.
+     * @param depth The depth of the node below the root.
+     */
+    private void materializeAll(JsonNode node, int depth) {
+        if (depth >= source.depth || !node.isObject())
+            return;
+        ObjectNode object = (ObjectNode) node;
+        List<String> names = new ArrayList<>();
+        Iterator<String> fieldNames = object.fieldNames();
+        while (fieldNames.hasNext())
+            names.add(fieldNames.next());
+        for (String name : names) {
+            JsonNode child = object.get(name);
+            if (child instanceof DeferredNode)
+                materialize(object, name, (DeferredNode) child);
+            else
+                materializeAll(child, depth + 1);
+        }
+    }
+
     protected void merge(ContainerNode<?> dest, ContainerNode<?> src) {
         if (dest.getNodeType() == src.getNodeType()) {
             if (dest.isArray()) {
@@ -1735,6 +2040,11 @@ class JsonCacheImpl implements JsonCache.Root {
     @Override
     public Root save(File file) throws CacheException {
         Objects.requireNonNull(file, "file is required");
+        if (source != null && file.getAbsoluteFile().equals(source.file.getAbsoluteFile())) {
+            // Overwriting the file from which unread subtrees would be copied.
+            materializeAll(root, 0);
+            source = null;
+        }
         file.getParentFile().mkdirs();
         try {
             save(new FileOutputStream(file));
@@ -1750,8 +2060,16 @@ class JsonCacheImpl implements JsonCache.Root {
             throw new CacheException("null or missing root node");
         Objects.requireNonNull(out, "out is required");
         try (OutputStream o = out) {
-            mapper.writeValue(o, root);
-        } catch (IOException e) {
+            if (source == null) {
+                mapper.writeValue(o, root);
+            } else {
+                try (JsonGenerator generator = mapper.getFactory().createGenerator(o)) {
+                    if (mapper.isEnabled(SerializationFeature.INDENT_OUTPUT))
+                        generator.useDefaultPrettyPrinter();
+                    write(generator, root, 0);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
             throw new CacheException(e);
         }
         isDirty = false;
@@ -1818,7 +2136,7 @@ class JsonCacheImpl implements JsonCache.Root {
             JsonNode node = nodeFor(value);
             array.add(node);
         }
-        setDirty();
+        setDirty(ptr);
         return this;
     }
 
@@ -1851,7 +2169,7 @@ class JsonCacheImpl implements JsonCache.Root {
             default:
                 throw new IllegalArgumentException(ptr + " does not identify a settable container");
         }
-        setDirty();
+        setDirty(ptr);
         return this;
     }
 
@@ -1867,57 +2185,57 @@ class JsonCacheImpl implements JsonCache.Root {
 
     @Override
     public JsonCache set(String path, BigDecimal value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, BigInteger value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, boolean value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, double value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, float value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, int value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, List<?> values) throws CacheException {
-        return set(JsonPointer.compile(path), values);
+        return set(pointer(path), values);
     }
 
     @Override
     public JsonCache set(String path, long value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, Object value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, short value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     @Override
     public JsonCache set(String path, String value) {
-        return set(JsonPointer.compile(path), value);
+        return set(pointer(path), value);
     }
 
     protected void setDirty() {
@@ -1925,14 +2243,50 @@ class JsonCacheImpl implements JsonCache.Root {
         isLoaded = true;
     }
 
+    /**
+     * Same as {@link #setDirty()}, but also marks the read subtree of a lazily loaded file that contains the changed
+     * node as modified.
+     *
+     * @param ptr A <a href="https://tools.ietf.org/html/rfc6901">JSON Pointer</a> to the changed node.
+     */
+    protected void setDirty(JsonPointer ptr) {
+        setModified(ptr);
+        setDirty();
+    }
+
+    /**
+     * Marks the read subtree of a lazily loaded file that contains a node as modified, so that it is serialized from
+     * memory instead of being copied from the file.
+     *
+     * @param ptr A <a href="https://tools.ietf.org/html/rfc6901">JSON Pointer</a> to the node.
+     */
+    private void setModified(JsonPointer ptr) {
+        if (source == null || root == null)
+            return;
+        JsonNode node = root;
+        int depth = 0;
+        for (JsonPointer p = ptr; !p.matches() && depth < source.depth; p = p.tail(), depth++) {
+            node = node.isObject() // split
+                    ? node.get(p.getMatchingProperty())
+                    : node.isArray() ? node.get(p.getMatchingIndex()) : null;
+            if (node == null)
+                return;
+            DeferredNode deferred = source.readSubtrees.get(node);
+            if (deferred != null) {
+                deferred.modified = true;
+                return;
+            }
+        }
+    }
+
     @Override
     public int size(JsonPointer ptr) {
-        return root == null ? 0 : root.at(ptr).size();
+        return root == null ? 0 : at(ptr).size();
     }
 
     @Override
     public int size(String path) {
-        return size(JsonPointer.compile(path));
+        return size(pointer(path));
     }
 
     @Override
@@ -1945,6 +2299,32 @@ class JsonCacheImpl implements JsonCache.Root {
         isLoaded = false;
         isDirty = false;
         root = null;
+        source = null;
         return this;
     }
+
+    /**
+     * Writes a node of a lazily loaded tree, copying unread and unmodified subtrees from the file.
+     */
+    private void write(JsonGenerator generator, JsonNode node, int depth) throws IOException {
+        DeferredNode deferred = node instanceof DeferredNode ? (DeferredNode) node : source.readSubtrees.get(node);
+        if (deferred != null) {
+            JsonNode materialized = deferred.node;
+            if (materialized != null && deferred.modified)
+                mapper.writeTree(generator, materialized);
+            else
+                generator.writeRawValue(new String(source.read(deferred), StandardCharsets.UTF_8));
+        } else if (depth < source.depth && node.isObject()) {
+            generator.writeStartObject();
+            Iterator<Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Entry<String, JsonNode> field = fields.next();
+                generator.writeFieldName(field.getKey());
+                write(generator, field.getValue(), depth + 1);
+            }
+            generator.writeEndObject();
+        } else {
+            mapper.writeTree(generator, node);
+        }
+    }
 }
@@ -29,6 +29,7 @@ import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.parser.util.SchemaTypeUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.config.GenerationContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,13 +43,29 @@ import java.util.stream.Collectors;
 
 public class ModelUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ModelUtils.class);
-    private static boolean generateAliasAsModel = false;
+    // only used outside of a generator run, see GenerationContext
+    private static volatile boolean generateAliasAsModel = false;
 
+    /**
+     * Set the setting of the generator run in progress on the current thread, or the default used outside of a
+     * generator run.
+     *
+     * @param value true to generate models for aliases of arrays and maps
+     */
     public static void setGenerateAliasAsModel(boolean value) {
-        generateAliasAsModel = value;
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            context.setGenerateAliasAsModel(value);
+        } else {
+            generateAliasAsModel = value;
+        }
     }
 
     public static boolean isGenerateAliasAsModel() {
+        GenerationContext context = GenerationContext.current();
+        if (context != null) {
+            return context.isGenerateAliasAsModel();
+        }
         return generateAliasAsModel;
     }
 
@@ -784,7 +801,7 @@ public class ModelUtils {
                 // top-level enum class
                 return schema;
             } else if (isArraySchema(ref)) {
-                if (generateAliasAsModel) {
+                if (isGenerateAliasAsModel()) {
                     return schema; // generate a model extending array
                 } else {
                     return unaliasSchema(openAPI, allSchemas.get(ModelUtils.getSimpleRef(schema.get$ref())));
@@ -795,7 +812,7 @@ public class ModelUtils {
                 if (ref.getProperties() != null && !ref.getProperties().isEmpty()) // has at least one property
                     return schema; // treat it as model
                 else {
-                    if (generateAliasAsModel) {
+                    if (isGenerateAliasAsModel()) {
                         return schema; // generate a model extending map
                     } else {
                         // treat it as a typical map
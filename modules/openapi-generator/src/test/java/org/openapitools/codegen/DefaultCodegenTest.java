@@ -17,6 +17,7 @@
 
 package org.openapitools.codegen;
 
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
@@ -27,11 +28,13 @@ import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.openapitools.codegen.config.GenerationContext;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 
@@ -570,6 +573,287 @@ public class DefaultCodegenTest {
         Assert.assertTrue(property.isNullable);
     }
 
+    @Test
+    public void testLazyModelFields() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(new OpenAPI());
+        final Schema schema = new BooleanSchema().example(true);
+
+        GenerationContext context = new GenerationContext(
+                Collections.singletonMap(LazyModelFields.LAZY_MODEL_FIELDS, "true"), false);
+        GenerationContext previous = GenerationContext.enter(context);
+        CodegenProperty unresolved;
+        try {
+            unresolved = codegen.fromProperty("enabled", schema);
+            CodegenProperty property = codegen.fromProperty("enabled", schema);
+            Assert.assertNull(property.getter);
+            Assert.assertNull(property.jsonSchema);
+            Assert.assertEquals(property.getGetter(), "getEnabled");
+            Assert.assertEquals(property.getter, "getEnabled");
+
+            // assigned values are kept, even null
+            CodegenProperty other = codegen.fromProperty("other", schema);
+            other.setExample(null);
+            Assert.assertNull(other.getExample());
+
+            String report = LazyModelFields.report(context);
+            Assert.assertTrue(report.contains("of 3"), report);
+            Assert.assertTrue(report.matches("(?s).*getter\\s+1\\s.*"), report);
+            Assert.assertTrue(report.matches("(?s).*example\\s+0\\s.*"), report);
+        } finally {
+            GenerationContext.restore(previous);
+        }
+
+        // not lazy outside of a run with lazy model fields
+        CodegenProperty property = codegen.fromProperty("enabled", schema);
+        Assert.assertEquals(property.getter, "getEnabled");
+
+        // equal to the same property with unresolved lazy fields
+        Assert.assertNull(unresolved.getter);
+        Assert.assertEquals(unresolved.hashCode(), property.hashCode());
+        Assert.assertEquals(unresolved, property);
+        Assert.assertEquals(property, unresolved);
+    }
+
+    @Test
+    public void testLazyJsonSchema() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(new OpenAPI());
+        final Schema schema = new StringSchema().maxLength(10);
+        final Schema model = new ObjectSchema().addProperties("name", schema);
+
+        GenerationContext context = new GenerationContext(Collections.emptyMap(), false);
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            CodegenProperty property = codegen.fromProperty("name", schema);
+            CodegenProperty other = codegen.fromProperty("other", schema);
+            Assert.assertNull(property.jsonSchema);
+            Assert.assertEquals(property.getJsonSchema(), Json.pretty(schema));
+            // serialized once per schema
+            Assert.assertSame(other.getJsonSchema(), property.getJsonSchema());
+            // kept by the lazy JSON rather than the field
+            Assert.assertNull(property.jsonSchema);
+
+            CodegenModel cm = codegen.fromModel("Model", model);
+            Assert.assertNull(cm.modelJson);
+            Assert.assertEquals(cm.getModelJson(), Json.pretty(model));
+            Assert.assertNull(cm.modelJson);
+
+            property.setJsonSchema(null);
+            Assert.assertNull(property.getJsonSchema());
+        } finally {
+            GenerationContext.restore(previous);
+        }
+
+        context = new GenerationContext(Collections.singletonMap(LazyJson.EAGER_JSON_SCHEMA, "true"), false);
+        previous = GenerationContext.enter(context);
+        try {
+            CodegenProperty property = codegen.fromProperty("name", schema);
+            Assert.assertEquals(property.jsonSchema, Json.pretty(schema));
+            Assert.assertEquals(codegen.fromModel("Model", model).modelJson, Json.pretty(model));
+        } finally {
+            GenerationContext.restore(previous);
+        }
+    }
+
+    @Test
+    public void testLazyJsonSchemaEquality() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(new OpenAPI());
+        final Schema schema = new StringSchema().maxLength(10);
+        final Schema model = new ObjectSchema().addProperties("name", schema);
+
+        CodegenProperty lazyProperty;
+        CodegenModel lazyModel;
+        GenerationContext previous = GenerationContext.enter(new GenerationContext(Collections.emptyMap(), false));
+        try {
+            lazyProperty = codegen.fromProperty("name", schema);
+            lazyModel = codegen.fromModel("Model", model);
+        } finally {
+            GenerationContext.restore(previous);
+        }
+
+        CodegenProperty eagerProperty;
+        CodegenModel eagerModel;
+        previous = GenerationContext.enter(new GenerationContext(
+                Collections.singletonMap(LazyJson.EAGER_JSON_SCHEMA, "true"), false));
+        try {
+            eagerProperty = codegen.fromProperty("name", schema);
+            eagerModel = codegen.fromModel("Model", model);
+        } finally {
+            GenerationContext.restore(previous);
+        }
+
+        // the derived JSON is not compared, so the lazy instances don't serialize it
+        Assert.assertEquals(lazyProperty.hashCode(), eagerProperty.hashCode());
+        Assert.assertEquals(lazyProperty, eagerProperty);
+        Assert.assertEquals(eagerProperty, lazyProperty);
+        Assert.assertTrue(new HashSet<>(Collections.singleton(eagerProperty)).contains(lazyProperty));
+        Assert.assertEquals(lazyModel.hashCode(), eagerModel.hashCode());
+        Assert.assertEquals(lazyModel, eagerModel);
+        Assert.assertNull(lazyProperty.jsonSchema);
+        Assert.assertNull(lazyModel.modelJson);
+
+        eagerProperty.setJsonSchema("{}");
+        eagerModel.setModelJson("{}");
+        Assert.assertEquals(lazyProperty, eagerProperty);
+        Assert.assertEquals(lazyProperty.hashCode(), eagerProperty.hashCode());
+        Assert.assertEquals(lazyModel, eagerModel);
+        Assert.assertEquals(lazyModel.hashCode(), eagerModel.hashCode());
+    }
+
+    @Test
+    public void testMemoryBudgetSpillsJson() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(new OpenAPI());
+        final Schema schema = new StringSchema().maxLength(10);
+
+        // a budget of 1 KB is always exceeded
+        GenerationContext context = new GenerationContext(Collections.singletonMap(MemoryBudget.MEMORY_BUDGET, "1k"), false);
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            MemoryBudget budget = MemoryBudget.current();
+            Assert.assertNotNull(budget);
+            Assert.assertSame(MemoryBudget.current(), budget);
+
+            CodegenProperty property = codegen.fromProperty("name", schema);
+            Assert.assertEquals(property.getJsonSchema(), Json.pretty(schema));
+            // read back from the spill file
+            Assert.assertEquals(property.getJsonSchema(), Json.pretty(schema));
+            Assert.assertNull(property.jsonSchema);
+            CodegenProperty other = codegen.fromProperty("name", schema);
+
+            budget.close();
+            try {
+                property.getJsonSchema();
+                Assert.fail("spilled values can't be read after the run");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            // equals and hashCode don't read the JSON
+            Assert.assertEquals(property, other);
+            Assert.assertEquals(property.hashCode(), other.hashCode());
+        } finally {
+            GenerationContext.restore(previous);
+        }
+
+        Assert.assertEquals(MemoryBudget.parseSize("512m"), 512L * 1024 * 1024);
+        Assert.assertEquals(MemoryBudget.parseSize(" 2G "), 2L * 1024 * 1024 * 1024);
+        Assert.assertEquals(MemoryBudget.parseSize("4096"), 4096L);
+    }
+
+    @Test
+    public void testMemoryBudgetReleasesJson() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(new OpenAPI());
+        final Schema model = new ObjectSchema().addProperties("name", new StringSchema());
+
+        // a budget which is never exceeded keeps the JSON in memory until it is released
+        GenerationContext context = new GenerationContext(Collections.singletonMap(MemoryBudget.MEMORY_BUDGET, "1024g"), false);
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            MemoryBudget budget = MemoryBudget.current();
+            CodegenModel cm = codegen.fromModel("Model", model);
+            String json = cm.getModelJson();
+            Assert.assertEquals(json, Json.pretty(model));
+
+            cm.lazyModelJson.release();
+            Assert.assertEquals(cm.getModelJson(), json);
+
+            budget.close();
+            try {
+                cm.getModelJson();
+                Assert.fail("released values are spilled");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        } finally {
+            GenerationContext.restore(previous);
+        }
+    }
+
+    @Test
+    public void testCompactModels() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(new OpenAPI());
+        final Schema model = new ObjectSchema()
+                .addProperties("id", new IntegerSchema())
+                .addProperties("name", new StringSchema())
+                .addRequiredItem("id");
+
+        GenerationContext context = new GenerationContext(Collections.singletonMap(CompactModels.COMPACT_MODELS, "true"), false);
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            CodegenModel cm = codegen.fromModel("Model", model);
+            CodegenProperty id = cm.vars.get(0);
+            CodegenProperty name = cm.vars.get(1);
+            Assert.assertTrue(id.hasMore);
+            Assert.assertFalse(name.hasMore);
+            // vars and allVars have instances of their own
+            Assert.assertNotSame(cm.allVars, cm.vars);
+            Assert.assertNotSame(cm.allVars.get(0), id);
+            Assert.assertEquals(cm.allVars.get(0), id);
+            // the filtered lists share theirs
+            Assert.assertSame(cm.optionalVars.get(0), cm.readWriteVars.get(1));
+            Assert.assertNotSame(cm.optionalVars.get(0), name);
+            // the only required property needs hasMore = false
+            Assert.assertNotSame(cm.requiredVars.get(0), cm.readWriteVars.get(0));
+            Assert.assertEquals(cm.requiredVars.get(0).baseName, "id");
+            Assert.assertFalse(cm.requiredVars.get(0).hasMore);
+            Assert.assertTrue(cm.readWriteVars.get(0).hasMore);
+
+            // names are interned across models
+            CodegenModel other = codegen.fromModel("Other", model);
+            Assert.assertSame(other.vars.get(1).getter, name.getter);
+        } finally {
+            GenerationContext.restore(previous);
+        }
+
+        CodegenModel cm = codegen.fromModel("Model", model);
+        Assert.assertNotSame(cm.allVars, cm.vars);
+        Assert.assertNotSame(cm.optionalVars.get(0), cm.readWriteVars.get(1));
+    }
+
+    @Test
+    public void testCompactModelsAreEqualToDefaultModels() {
+        final DefaultCodegen codegen = new DefaultCodegen() {
+            @Override
+            public void postProcessModelProperty(CodegenModel model, CodegenProperty property) {
+                property.vendorExtensions.put("x-extra-annotation", "@Valid");
+                property.datatypeWithEnum = "Post" + property.datatypeWithEnum;
+            }
+        };
+        codegen.setOpenAPI(new OpenAPI());
+        final Schema model = new ObjectSchema()
+                .addProperties("id", new IntegerSchema())
+                .addProperties("name", new StringSchema())
+                .addProperties("created", new StringSchema().readOnly(true))
+                .addRequiredItem("id");
+
+        CodegenModel compact;
+        GenerationContext context = new GenerationContext(Collections.singletonMap(CompactModels.COMPACT_MODELS, "true"), false);
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            compact = codegen.fromModel("Model", model);
+        } finally {
+            GenerationContext.restore(previous);
+        }
+        CodegenModel cm = codegen.fromModel("Model", model);
+
+        // only the properties in vars are post-processed, as without compact models
+        Assert.assertEquals(compact.vars.get(0).vendorExtensions.get("x-extra-annotation"), "@Valid");
+        Assert.assertNull(compact.allVars.get(0).vendorExtensions.get("x-extra-annotation"));
+        Assert.assertNull(compact.requiredVars.get(0).vendorExtensions.get("x-extra-annotation"));
+
+        Assert.assertEquals(compact.vars, cm.vars);
+        Assert.assertEquals(compact.allVars, cm.allVars);
+        Assert.assertEquals(compact.requiredVars, cm.requiredVars);
+        Assert.assertEquals(compact.optionalVars, cm.optionalVars);
+        Assert.assertEquals(compact.parentVars, cm.parentVars);
+        Assert.assertEquals(compact.readOnlyVars, cm.readOnlyVars);
+        Assert.assertEquals(compact.readWriteVars, cm.readWriteVars);
+    }
+
     private void verifyPersonDiscriminator(CodegenDiscriminator discriminator) {
         CodegenDiscriminator test = new CodegenDiscriminator();
         test.setPropertyName("DollarUnderscoretype");
@@ -594,6 +878,115 @@ public class DefaultCodegenTest {
         return array;
     }
 
+    @Test
+    public void testAddOperationToGroupGeneratesUniqueOperationIds() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final Map<String, List<CodegenOperation>> operations = new TreeMap<>();
+        for (int i = 0; i < 3; i++) {
+            CodegenOperation co = new CodegenOperation();
+            co.operationId = "getPet";
+            codegen.addOperationToGroup("pet", "/pet", new Operation(), co, operations);
+        }
+        CodegenOperation other = new CodegenOperation();
+        other.operationId = "getPet_1";
+        codegen.addOperationToGroup("pet", "/pet", new Operation(), other, operations);
+
+        List<String> operationIds = operations.get("pet").stream().map(op -> op.operationId).collect(Collectors.toList());
+        Assert.assertEquals(operationIds, Arrays.asList("getPet", "getPet_0", "getPet_1", "getPet_1_0"));
+    }
+
+    @Test
+    public void testAddOperationToGroupMatchesLinearScan() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final Map<String, List<CodegenOperation>> operations = new TreeMap<>();
+        final String[] tags = {"pet", "store", "user"};
+        final String[] ids = {"getPet", "getPet", "getPet_0", "getPet_1", "findPets", "getPet_0_0"};
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            String tag = tags[random.nextInt(tags.length)];
+            List<CodegenOperation> group = operations.get(tag);
+            if (group != null && !group.isEmpty() && random.nextInt(20) == 0) {
+                // groups modified behind the back of addOperationToGroup
+                group.remove(random.nextInt(group.size()));
+            }
+            CodegenOperation co = new CodegenOperation();
+            co.operationId = ids[random.nextInt(ids.length)];
+
+            List<String> before = group == null ? Collections.emptyList()
+                    : group.stream().map(op -> op.operationId).collect(Collectors.toList());
+            String expected = linearScanOperationId(before, co.operationId);
+            codegen.addOperationToGroup(tag, "/" + tag, new Operation(), co, operations);
+
+            // including the names the linear scan generates although they are taken already
+            Assert.assertEquals(co.operationId, expected);
+        }
+
+        // groups of a previous run are released, new groups start from scratch
+        codegen.resetOperationGroups();
+        CodegenOperation co = new CodegenOperation();
+        co.operationId = "getPet";
+        Map<String, List<CodegenOperation>> next = new TreeMap<>();
+        codegen.addOperationToGroup("pet", "/pet", new Operation(), co, next);
+        Assert.assertEquals(co.operationId, "getPet");
+    }
+
+    @Test
+    public void testAddOperationToGroupDoesNotRescanGroup() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final Map<String, List<CodegenOperation>> operations = new TreeMap<>();
+        final AtomicInteger reads = new AtomicInteger();
+        operations.put("pet", new ArrayList<CodegenOperation>() {
+            @Override
+            public Iterator<CodegenOperation> iterator() {
+                Iterator<CodegenOperation> iterator = super.iterator();
+                return new Iterator<CodegenOperation>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public CodegenOperation next() {
+                        reads.incrementAndGet();
+                        return iterator.next();
+                    }
+                };
+            }
+
+            @Override
+            public CodegenOperation get(int index) {
+                reads.incrementAndGet();
+                return super.get(index);
+            }
+        });
+
+        final int count = 20000;
+        for (int i = 0; i < count; i++) {
+            CodegenOperation co = new CodegenOperation();
+            co.operationId = i % 100 == 0 ? "getPet" : "getPet" + i;
+            codegen.addOperationToGroup("pet", "/pet", new Operation(), co, operations);
+        }
+
+        // a scan per operation would read count * (count - 1) / 2 operations
+        Assert.assertEquals(operations.get("pet").size(), count);
+        Assert.assertEquals(reads.get(), 0);
+    }
+
+    /**
+     * The operationId addOperationToGroup generated before the operationIds of each group were indexed.
+     */
+    private static String linearScanOperationId(List<String> group, String operationId) {
+        String uniqueName = operationId;
+        int counter = 0;
+        for (String existing : group) {
+            if (uniqueName.equals(existing)) {
+                uniqueName = operationId + "_" + counter;
+                counter++;
+            }
+        }
+        return uniqueName;
+    }
+
     private CodegenProperty codegenPropertyWithXEnumVarName(List<String> values, List<String> aliases) {
         final CodegenProperty var = new CodegenProperty();
         final HashMap<String, Object> allowableValues = new HashMap<>();
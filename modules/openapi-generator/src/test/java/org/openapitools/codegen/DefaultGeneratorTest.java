@@ -1,5 +1,6 @@
 package org.openapitools.codegen;
 
+import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -9,13 +10,22 @@ import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.tags.Tag;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.openapitools.codegen.config.GeneratorProperties;
+import org.openapitools.codegen.languages.JavaClientCodegen;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 public class DefaultGeneratorTest {
 
@@ -49,6 +59,156 @@ public class DefaultGeneratorTest {
         Assert.assertEquals(defaultList.get(3).allParams.size(), 1);
     }
     
+    @Test
+    public void testProcessPathsWithManyTags() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.setPaths(new Paths());
+        for (int i = 0; i < 1200; i++) {
+            openAPI.addTagsItem(new Tag().name("tag" + i).description("Tag " + i));
+            openAPI.getPaths().addPathItem("/path" + i, new PathItem().get(new Operation().operationId("op").addTagsItem("tag" + i).responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        }
+
+        ClientOptInput opts = new ClientOptInput();
+        opts.setOpenAPI(openAPI);
+        opts.setConfig(new DefaultCodegen());
+        opts.setOpts(new ClientOpts());
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(opts);
+        Map<String, List<CodegenOperation>> result = generator.processPaths(openAPI.getPaths());
+        Assert.assertEquals(result.size(), 1200);
+        List<CodegenOperation> ops = result.get("Tag42");
+        Assert.assertEquals(ops.size(), 1);
+        Assert.assertEquals(ops.get(0).tags.get(0).getDescription(), "Tag 42");
+    }
+
+    @Test
+    public void testAllOperationsHasMore() throws IOException {
+        File output = Files.createTempDirectory("test").toFile().getCanonicalFile();
+        output.deleteOnExit();
+        File templates = Files.createTempDirectory("templates").toFile();
+        templates.deleteOnExit();
+        Files.write(new File(templates, "README.mustache").toPath(),
+                "{{#apiInfo}}{{#apis}}{{baseName}}{{#hasMore}},{{/hasMore}}{{/apis}}{{/apiInfo}}".getBytes(StandardCharsets.UTF_8));
+
+        OpenAPI openAPI = new OpenAPIParser()
+                .readLocation("src/test/resources/3_0/petstore.yaml", null, new ParseOptions()).getOpenAPI();
+        JavaClientCodegen codegen = new JavaClientCodegen();
+        codegen.setOutputDir(output.getAbsolutePath());
+        ClientOpts clientOpts = new ClientOpts();
+        clientOpts.getProperties().put(CodegenConstants.TEMPLATE_DIR, templates.getAbsolutePath());
+        ClientOptInput opts = new ClientOptInput();
+        opts.setOpenAPI(openAPI);
+        opts.setConfig(codegen);
+        opts.setOpts(clientOpts);
+
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.opts(opts).generate();
+
+        // every API but the last one has a successor
+        String readme = generator.getFiles().get(output.getPath().replace("\\", "/") + "/README.md");
+        Assert.assertEquals(readme, "Pet,Store,User");
+    }
+
+    @Test
+    public void testProcessPathsWithOperationThreads() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.setPaths(new Paths());
+        for (int i = 0; i < 200; i++) {
+            // duplicate operationIds within a tag are renamed in the order of the paths
+            openAPI.getPaths().addPathItem("/path" + i, new PathItem()
+                    .get(new Operation().operationId("op").addTagsItem("tag" + (i % 3)).responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("OK"))))
+                    .post(new Operation().operationId("op" + i).addParametersItem(new QueryParameter().name("p" + i).schema(new StringSchema())).responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        }
+
+        Map<String, List<String>> expected = null;
+        for (String threads : new String[]{null, "4"}) {
+            JavaClientCodegen codegen = new JavaClientCodegen();
+            Assert.assertTrue(codegen.isFromOperationThreadSafe());
+            ClientOptInput opts = new ClientOptInput();
+            opts.setOpenAPI(openAPI);
+            opts.setConfig(codegen);
+            opts.setOpts(new ClientOpts());
+
+            if (threads != null) {
+                GeneratorProperties.setProperty(CodegenConstants.OPERATION_THREADS, threads);
+            }
+            try {
+                DefaultGenerator generator = new DefaultGenerator();
+                generator.opts(opts);
+                Map<String, List<String>> result = new TreeMap<>();
+                generator.processPaths(openAPI.getPaths()).forEach((tag, ops) ->
+                        result.put(tag, ops.stream().map(op -> op.path + " " + op.httpMethod + " " + op.operationId).collect(Collectors.toList())));
+                Assert.assertEquals(result.get("Tag0").size(), 67);
+                if (expected == null) {
+                    expected = result;
+                } else {
+                    Assert.assertEquals(result, expected);
+                }
+            } finally {
+                GeneratorProperties.reset();
+            }
+        }
+    }
+
+    @Test
+    public void testProcessTemplateToFileOutsideOfGenerate() throws IOException {
+        File output = Files.createTempDirectory("test").toFile().getCanonicalFile();
+        output.deleteOnExit();
+        JavaClientCodegen codegen = new JavaClientCodegen();
+        codegen.setOutputDir(output.getAbsolutePath());
+        ClientOptInput opts = new ClientOptInput();
+        opts.setOpenAPI(TestUtils.createOpenAPI());
+        opts.setConfig(codegen);
+        opts.setOpts(new ClientOpts());
+
+        // subclasses and tests render templates without a generator run in progress
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.opts(opts);
+        generator.processTemplateToFile(new HashMap<>(), "gitignore.mustache", output + "/.gitignore");
+
+        Assert.assertTrue(generator.getFiles().get(output.getPath().replace("\\", "/") + "/.gitignore").contains("*.class"));
+    }
+
+    @Test
+    public void testModelThreads() throws IOException {
+        File output = Files.createTempDirectory("test").toFile().getCanonicalFile();
+        output.deleteOnExit();
+
+        try {
+            Map<String, String> expected = null;
+            for (String threads : new String[]{null, "4"}) {
+                OpenAPI openAPI = new OpenAPIParser()
+                        .readLocation("src/test/resources/3_0/petstore.yaml", null, new ParseOptions()).getOpenAPI();
+                JavaClientCodegen codegen = new JavaClientCodegen();
+                codegen.setOutputDir(output.getAbsolutePath());
+                Assert.assertTrue(codegen.isFromModelThreadSafe());
+
+                ClientOpts clientOpts = new ClientOpts();
+                clientOpts.getProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, "true");
+                ClientOptInput opts = new ClientOptInput();
+                opts.setOpenAPI(openAPI);
+                opts.setConfig(codegen);
+                opts.setOpts(clientOpts);
+
+                if (threads != null) {
+                    GeneratorProperties.setProperty(CodegenConstants.MODEL_THREADS, threads);
+                }
+                MockDefaultGenerator generator = new MockDefaultGenerator();
+                generator.opts(opts).generate();
+
+                Assert.assertTrue(generator.getFiles().keySet().stream().anyMatch(f -> f.endsWith("/model/Pet.java")));
+                if (expected == null) {
+                    expected = generator.getFiles();
+                } else {
+                    Assert.assertEquals(generator.getFiles(), expected);
+                }
+            }
+        } finally {
+            GeneratorProperties.reset();
+        }
+    }
+
     @Test
     public void minimalUpdateTest() throws IOException {
         OpenAPI openAPI = TestUtils.createOpenAPI();
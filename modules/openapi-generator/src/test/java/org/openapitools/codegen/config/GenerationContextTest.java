@@ -0,0 +1,94 @@
+package org.openapitools.codegen.config;
+
+import org.openapitools.codegen.utils.ModelUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class GenerationContextTest {
+
+    @BeforeMethod
+    @AfterMethod
+    public void resetGlobalState() {
+        // the assertions outside of a context fall back to the thread's properties and the static alias flag
+        GeneratorProperties.reset();
+        ModelUtils.setGenerateAliasAsModel(false);
+    }
+
+    @Test
+    public void currentContextAnswersPropertyAndAliasLookups() {
+        GenerationContext context = new GenerationContext(Collections.singletonMap("models", "Pet"), true);
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            Assert.assertEquals(GeneratorProperties.getProperty("models"), "Pet");
+            Assert.assertEquals(GeneratorProperties.getProperty("apis", "none"), "none");
+            Assert.assertTrue(ModelUtils.isGenerateAliasAsModel());
+        } finally {
+            GenerationContext.restore(previous);
+        }
+        Assert.assertNull(GenerationContext.current());
+        Assert.assertFalse(ModelUtils.isGenerateAliasAsModel());
+    }
+
+    @Test
+    public void wrappedTasksCarryTheirOwnContext() throws Exception {
+        GenerationContext first = new GenerationContext(Collections.singletonMap("models", "Pet"), true);
+        GenerationContext second = new GenerationContext(Collections.singletonMap("models", "Order"), false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertEquals(executor.submit(first.wrap(() -> GeneratorProperties.getProperty("models"))).get(), "Pet");
+            Assert.assertEquals(executor.submit(second.wrap(() -> GeneratorProperties.getProperty("models"))).get(), "Order");
+            Assert.assertFalse(executor.submit(second.wrap(ModelUtils::isGenerateAliasAsModel)).get());
+            Assert.assertNull(executor.submit(GenerationContext::current).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void propertiesSetDuringARunAreSeenByTheRun() throws Exception {
+        GenerationContext context = new GenerationContext(Collections.singletonMap("models", "Pet"), false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            GeneratorProperties.setProperty("apis", "Store");
+            GeneratorProperties.clearProperty("models");
+            Assert.assertEquals(GeneratorProperties.getProperty("apis"), "Store");
+            Assert.assertNull(GeneratorProperties.getProperty("models"));
+            Assert.assertEquals(executor.submit(context.wrap(() -> GeneratorProperties.getProperty("apis"))).get(), "Store");
+            Assert.assertNull(executor.submit(context.wrap(() -> GeneratorProperties.getProperty("models"))).get());
+        } finally {
+            GenerationContext.restore(previous);
+            executor.shutdown();
+        }
+        // the thread's own properties are updated as well
+        Assert.assertEquals(GeneratorProperties.getProperty("apis"), "Store");
+    }
+
+    @Test
+    public void aliasSettingChangedDuringARunStaysInTheRun() {
+        GenerationContext context = new GenerationContext(Collections.<String, String>emptyMap(), false);
+        GenerationContext previous = GenerationContext.enter(context);
+        try {
+            ModelUtils.setGenerateAliasAsModel(true);
+            Assert.assertTrue(ModelUtils.isGenerateAliasAsModel());
+        } finally {
+            GenerationContext.restore(previous);
+        }
+        Assert.assertTrue(context.isGenerateAliasAsModel());
+        Assert.assertFalse(ModelUtils.isGenerateAliasAsModel());
+    }
+
+    @Test
+    public void cachesAreScopedToTheContext() {
+        GenerationContext context = new GenerationContext(Collections.<String, String>emptyMap(), false);
+        context.<String, Integer>getCache("test").put("a", 1);
+        Assert.assertEquals(context.<String, Integer>getCache("test").get("a"), Integer.valueOf(1));
+        Assert.assertTrue(new GenerationContext(Collections.<String, String>emptyMap(), false).getCache("test").isEmpty());
+    }
+}
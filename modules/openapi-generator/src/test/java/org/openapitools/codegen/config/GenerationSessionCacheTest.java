@@ -0,0 +1,132 @@
+package org.openapitools.codegen.config;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openapitools.codegen.MockDefaultGenerator;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class GenerationSessionCacheTest {
+    private static final String PETSTORE = "src/test/resources/3_0/petstore.yaml";
+
+    @Test
+    public void parsedSpecsAreSharedAsIndependentModels() {
+        GenerationSessionCache cache = new GenerationSessionCache();
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+
+        OpenAPI expected = new OpenAPIParser().readLocation(PETSTORE, null, options).getOpenAPI();
+        OpenAPI first = cache.readLocation(PETSTORE, null, options).getOpenAPI();
+        OpenAPI second = cache.readLocation(PETSTORE, null, options).getOpenAPI();
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, expected);
+        Assert.assertEquals(second, expected);
+        Schema name = (Schema) second.getComponents().getSchemas().get("Pet").getProperties().get("name");
+        Assert.assertTrue(name instanceof StringSchema);
+
+        first.getComponents().getSchemas().remove("Pet");
+        Assert.assertTrue(second.getComponents().getSchemas().containsKey("Pet"));
+        Assert.assertTrue(cache.readLocation(PETSTORE, null, options)
+                .getOpenAPI().getComponents().getSchemas().containsKey("Pet"));
+    }
+
+    @Test
+    public void changedSpecsAreParsedAgain() throws Exception {
+        File spec = File.createTempFile("session-cache", ".yaml");
+        spec.deleteOnExit();
+        GenerationSessionCache cache = new GenerationSessionCache();
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+
+        Files.write(spec.toPath(), spec("first").getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(cache.readLocation(spec.getPath(), null, options).getOpenAPI().getInfo().getTitle(), "first");
+
+        Files.write(spec.toPath(), spec("second").getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(cache.readLocation(spec.getPath(), null, options).getOpenAPI().getInfo().getTitle(), "second");
+    }
+
+    @Test
+    public void templatesAreSharedBetweenRunsOfTheSameGenerator() {
+        GenerationSessionCache cache = new GenerationSessionCache();
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        Template first = cache.getTemplate(new DefaultCodegen(), classLoader, "model.mustache", "{{name}}");
+        Template second = cache.getTemplate(new DefaultCodegen(), classLoader, "model.mustache", "{{name}}");
+        Template changed = cache.getTemplate(new DefaultCodegen(), classLoader, "model.mustache", "{{name}}!");
+
+        Assert.assertSame(second, first);
+        Assert.assertNotSame(changed, first);
+        Assert.assertEquals(first.execute(Collections.singletonMap("name", "Pet")), "Pet");
+        Assert.assertEquals(changed.execute(Collections.singletonMap("name", "Pet")), "Pet!");
+    }
+
+    @Test
+    public void templatesAreNotSharedWithDifferentCompilerSettings() {
+        GenerationSessionCache cache = new GenerationSessionCache();
+        OptionalStrictCodegen strict = new OptionalStrictCodegen();
+        strict.strict = true;
+
+        Assert.assertNotNull(cache.getTemplate(new OptionalStrictCodegen(), getClass().getClassLoader(), "model.mustache", "{{name}}"));
+        Assert.assertNull(cache.getTemplate(strict, getClass().getClassLoader(), "model.mustache", "{{name}}"));
+    }
+
+    @Test
+    public void sharedRunsGenerateTheSameFiles() throws Exception {
+        String output = Files.createTempDirectory("test").toFile().getAbsolutePath().replace("\\", "/");
+        GenerationSessionCache cache = new GenerationSessionCache();
+
+        Map<String, String> expected = generate(output, null);
+        Map<String, String> first = generate(output, cache);
+        Map<String, String> second = generate(output, cache);
+
+        Assert.assertEquals(first, expected);
+        Assert.assertEquals(second, expected);
+    }
+
+    private static Map<String, String> generate(String output, GenerationSessionCache cache) {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setLibrary(JavaClientCodegen.OKHTTP_GSON)
+                .setInputSpec(PETSTORE)
+                .setOutputDir(output)
+                .setSessionCache(cache);
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.opts(configurator.toClientOptInput()).generate();
+        // the generation timestamp differs between the runs
+        Map<String, String> files = new HashMap<>();
+        generator.getFiles().forEach((name, content) -> files.put(name, content.replaceAll("\\d{4}-\\d{2}-\\d{2}T[^\"\\s]+", "<date>")));
+        return files;
+    }
+
+    private static String spec(String title) {
+        return "openapi: 3.0.1\n"
+                + "info:\n"
+                + "  title: " + title + "\n"
+                + "  version: 1.0.0\n"
+                + "paths: {}\n";
+    }
+
+    public static class OptionalStrictCodegen extends DefaultCodegen {
+        boolean strict;
+
+        @Override
+        public Mustache.Compiler processCompiler(Mustache.Compiler compiler) {
+            return compiler.strictSections(strict);
+        }
+    }
+}
@@ -304,6 +304,161 @@ public class JavaClientCodegenTest {
         output.deleteOnExit();
     }
 
+    @Test
+    public void testStreamingArrayResponses() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JavaClientCodegen.STREAMING_ARRAY_RESPONSES, true);
+
+        File output = Files.createTempDirectory("test").toFile();
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setLibrary(JavaClientCodegen.OKHTTP_GSON)
+                .setAdditionalProperties(properties)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.opts(configurator.toClientOptInput()).generate();
+
+        Map<String, String> generatedFiles = generator.getFiles();
+        ensureContainsFile(generatedFiles, output, "src/main/java/org/openapitools/client/JsonArrayIterator.java");
+
+        String petApi = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/api/PetApi.java").getAbsolutePath().replace("\\", "/"));
+        assertTrue(petApi.contains("public JsonArrayIterator<Pet> findPetsByStatusStream(List<String> status) throws ApiException"));
+        Assert.assertFalse(petApi.contains("getPetByIdStream"));
+
+        String apiClient = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/ApiClient.java").getAbsolutePath().replace("\\", "/"));
+        assertTrue(apiClient.contains("public <T> JsonArrayIterator<T> executeStream(Call call, Type elementType) throws ApiException"));
+
+        output.deleteOnExit();
+    }
+
+    @Test
+    public void testStreamingRequestBodies() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JavaClientCodegen.STREAMING_REQUEST_BODIES, true);
+        properties.put(JavaClientCodegen.USE_GZIP_FEATURE, true);
+
+        File output = Files.createTempDirectory("test").toFile();
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setLibrary(JavaClientCodegen.OKHTTP_GSON)
+                .setAdditionalProperties(properties)
+                .setInputSpec("src/test/resources/3_0/ping.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.opts(configurator.toClientOptInput()).generate();
+
+        Map<String, String> generatedFiles = generator.getFiles();
+        ensureContainsFile(generatedFiles, output, "src/main/java/org/openapitools/client/JsonRequestBody.java");
+
+        String apiClient = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/ApiClient.java").getAbsolutePath().replace("\\", "/"));
+        assertTrue(apiClient.contains("return new JsonRequestBody(json.getGson(), obj, MediaType.parse(contentType));"));
+        assertTrue(apiClient.contains("builder.addInterceptor(new GzipRequestInterceptor());"));
+
+        String interceptor = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/GzipRequestInterceptor.java").getAbsolutePath().replace("\\", "/"));
+        Assert.assertFalse(interceptor.contains("forceContentLength"));
+
+        output.deleteOnExit();
+    }
+
+    @Test
+    public void testGsonTypeAdapters() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JavaClientCodegen.GSON_TYPE_ADAPTERS, true);
+
+        File output = Files.createTempDirectory("test").toFile();
+
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setLibrary(JavaClientCodegen.OKHTTP_GSON)
+                .setAdditionalProperties(properties)
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+        MockDefaultGenerator generator = new MockDefaultGenerator();
+        generator.opts(configurator.toClientOptInput()).generate();
+
+        Map<String, String> generatedFiles = generator.getFiles();
+        String pet = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/model/Pet.java").getAbsolutePath().replace("\\", "/"));
+        assertTrue(pet.contains("public static class CustomTypeAdapterFactory implements com.google.gson.TypeAdapterFactory"));
+        assertTrue(pet.contains("case SERIALIZED_NAME_NAME:"));
+        assertTrue(pet.contains("StatusEnum result = VALUES.get(value);"));
+
+        String json = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/JSON.java").getAbsolutePath().replace("\\", "/"));
+        assertTrue(json.contains(".registerTypeAdapterFactory(new Pet.CustomTypeAdapterFactory())"));
+
+        output.deleteOnExit();
+    }
+
+    @Test
+    public void testCompletableFutureApis() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JavaClientCodegen.JAVA8_MODE, true);
+        properties.put(JavaClientCodegen.USE_COMPLETABLE_FUTURE, true);
+
+        for (String library : Arrays.asList(JavaClientCodegen.OKHTTP_GSON, JavaClientCodegen.RESTTEMPLATE)) {
+            File output = Files.createTempDirectory("test").toFile();
+
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setLibrary(library)
+                    .setAdditionalProperties(properties)
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+            MockDefaultGenerator generator = new MockDefaultGenerator();
+            generator.opts(configurator.toClientOptInput()).generate();
+
+            Map<String, String> generatedFiles = generator.getFiles();
+            String petApi = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/api/PetApi.java").getAbsolutePath().replace("\\", "/"));
+            assertTrue(petApi.contains("public CompletableFuture<Pet> getPetByIdFuture(Long petId)"), library);
+            assertTrue(petApi.contains("public CompletableFuture<Void> deletePetFuture(Long petId, String apiKey)"), library);
+
+            String apiExecutors = new File(output, "src/main/java/org/openapitools/client/ApiExecutors.java").getAbsolutePath().replace("\\", "/");
+            Assert.assertEquals(generatedFiles.containsKey(apiExecutors), JavaClientCodegen.RESTTEMPLATE.equals(library), library);
+
+            output.deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testConnectionPoolSettings() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JavaClientCodegen.MAX_CONNECTIONS_PER_HOST, "50");
+        properties.put(JavaClientCodegen.USE_APACHE_HTTP_CLIENT, true);
+
+        for (String library : Arrays.asList(JavaClientCodegen.OKHTTP_GSON, JavaClientCodegen.RESTTEMPLATE)) {
+            File output = Files.createTempDirectory("test").toFile();
+
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setLibrary(library)
+                    .setAdditionalProperties(properties)
+                    .setInputSpec("src/test/resources/3_0/ping.yaml")
+                    .setOutputDir(output.getAbsolutePath().replace("\\", "/"));
+
+            MockDefaultGenerator generator = new MockDefaultGenerator();
+            generator.opts(configurator.toClientOptInput()).generate();
+
+            Map<String, String> generatedFiles = generator.getFiles();
+            String apiClient = generatedFiles.get(new File(output, "src/main/java/org/openapitools/client/ApiClient.java").getAbsolutePath().replace("\\", "/"));
+            if (JavaClientCodegen.OKHTTP_GSON.equals(library)) {
+                assertTrue(apiClient.contains("builder.connectionPool(new ConnectionPool(64, 300, TimeUnit.SECONDS));"));
+                assertTrue(apiClient.contains("httpClient.dispatcher().setMaxRequestsPerHost(50);"));
+            } else {
+                assertTrue(apiClient.contains("connectionManager.setDefaultMaxPerRoute(50);"));
+                String pom = generatedFiles.get(new File(output, "pom.xml").getAbsolutePath().replace("\\", "/"));
+                assertTrue(pom.contains("<artifactId>httpclient</artifactId>"));
+            }
+
+            output.deleteOnExit();
+        }
+    }
+
     @Test
     public void testReferencedHeader() {
         final OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/issue855.yaml");
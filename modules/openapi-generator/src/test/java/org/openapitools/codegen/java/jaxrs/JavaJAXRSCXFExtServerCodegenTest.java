@@ -10,6 +10,7 @@ import org.openapitools.codegen.languages.AbstractJavaCodegen;
 import org.openapitools.codegen.languages.AbstractJavaJAXRSServerCodegen;
 import org.openapitools.codegen.languages.JavaCXFExtServerCodegen;
 import org.openapitools.codegen.languages.features.*;
+import org.openapitools.codegen.utils.JsonCache;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -332,6 +333,11 @@ public class JavaJAXRSCXFExtServerCodegenTest extends JavaJaxrsBaseTest {
             return loadTestDataFromFile;
         }
 
+        // CXFExtServerFeatures.TEST_DATA_THREADS
+        public int getTestDataThreads() {
+            return testDataThreads;
+        }
+
         // CXFExtServerFeatures.SUPPORT_MULTIPLE_SPRING_SERVICES
         public boolean isSupportMultipleSpringServices() {
             return supportMultipleSpringServices;
@@ -435,6 +441,7 @@ public class JavaJAXRSCXFExtServerCodegenTest extends JavaJaxrsBaseTest {
         additionalProperties.put(CXFExtServerFeatures.SUPPORT_MULTIPLE_SPRING_SERVICES, Boolean.TRUE);
         additionalProperties.put(CXFExtServerFeatures.TEST_DATA_FILE, "my/test-data.json");
         additionalProperties.put(CXFExtServerFeatures.TEST_DATA_CONTROL_FILE, "my/test-data-control.json");
+        additionalProperties.put(CXFExtServerFeatures.TEST_DATA_THREADS, "3");
 
         testerCodegen.processOpts();
 
@@ -510,6 +517,7 @@ public class JavaJAXRSCXFExtServerCodegenTest extends JavaJaxrsBaseTest {
         assertEquals(testerCodegen.isSupportMultipleSpringServices(), true);
         assertEquals(testerCodegen.getTestDataFile(), new File(curdir, "my/test-data.json"));
         assertEquals(testerCodegen.getTestDataControlFile(), new File(curdir, "my/test-data-control.json"));
+        assertEquals(testerCodegen.getTestDataThreads(), 3);
     }
 
     @Test
@@ -677,9 +685,54 @@ public class JavaJAXRSCXFExtServerCodegenTest extends JavaJaxrsBaseTest {
         checkFile(generator, outputPath + "/src/test/java/org/openapitools/api/PetApiTest.java", true, reInitCache,
                 reAddPetTest);
 
-        checkFile(generator, outputPath + "/src/main/resources/test-data.json", true);
+        // The test data files are written directly rather than rendered by the generator.
+        checkFile(generator, outputPath + "/src/main/resources/test-data.json", false);
+        JsonCache.Root testData = JsonCache.Factory.instance.create()
+                .load(new File(output, "src/main/resources/test-data.json"));
+        assertTrue(testData.exists("/org.openapitools.api/PetApi/addPet/pet"));
+
+        checkFile(generator, outputPath + "/test-data-control.json", false);
+        assertTrue(new File(output, "test-data-control.json").isFile());
+    }
 
-        checkFile(generator, outputPath + "/test-data-control.json", true);
+    @Test
+    public void testGenerateOperationBodyIndependentOfThreads() throws Exception {
+        File output = Files.createTempDirectory("test").toFile().getCanonicalFile();
+        output.deleteOnExit();
+        String outputPath = output.getAbsolutePath().replace('\\', '/');
+        String[] paths = {outputPath + "/src/main/java/org/openapitools/api/impl/PetApiServiceImpl.java",
+                outputPath + "/src/test/java/org/openapitools/api/PetApiTest.java"};
+
+        String[] expected = null;
+        for (String threads : new String[]{"1", "4"}) {
+            OpenAPI openAPI = new OpenAPIParser()
+                    .readLocation("src/test/resources/3_0/petstore.yaml", null, new ParseOptions()).getOpenAPI();
+            JavaCXFExtServerCodegen cxfCodegen = new JavaCXFExtServerCodegen();
+            cxfCodegen.setOutputDir(output.getAbsolutePath());
+
+            ClientOpts opts = new ClientOpts();
+            opts.getProperties().put(CXFExtServerFeatures.GENERATE_OPERATION_BODY, "true");
+            opts.getProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, "true");
+            opts.getProperties().put(CXFExtServerFeatures.TEST_DATA_THREADS, threads);
+
+            ClientOptInput input = new ClientOptInput();
+            input.setOpenAPI(openAPI);
+            input.setConfig(cxfCodegen);
+            input.setOpts(opts);
+
+            MockDefaultGenerator generator = new MockDefaultGenerator();
+            generator.opts(input).generate();
+
+            String[] actual = new String[paths.length];
+            for (int i = 0; i < paths.length; i++) {
+                actual[i] = generator.getFiles().get(paths[i]);
+                assertNotNull(actual[i]);
+            }
+            if (expected == null)
+                expected = actual;
+            else
+                assertEquals(actual, expected);
+        }
     }
 
     @Test
@@ -765,6 +818,7 @@ public class JavaJAXRSCXFExtServerCodegenTest extends JavaJaxrsBaseTest {
         assertNull(additionalProperties.get(CXFExtServerFeatures.SUPPORT_MULTIPLE_SPRING_SERVICES));
         assertNull(additionalProperties.get(CXFExtServerFeatures.TEST_DATA_FILE));
         assertNull(additionalProperties.get(CXFExtServerFeatures.TEST_DATA_CONTROL_FILE));
+        assertNull(additionalProperties.get(CXFExtServerFeatures.TEST_DATA_THREADS));
         assertNull(additionalProperties.get(CXFServerFeatures.USE_ANNOTATED_BASE_PATH));
         assertNull(additionalProperties.get(CXFServerFeatures.USE_MULTIPART_FEATURE));
         assertNull(additionalProperties.get(CXFServerFeatures.USE_WADL_FEATURE));
@@ -0,0 +1,101 @@
+package org.openapitools.codegen.mustache;
+
+import com.google.common.collect.ImmutableMap;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TemplateProfilerTest {
+
+    @Test
+    public void wrapsTopLevelAndNestedLambdas() {
+        TemplateProfiler profiler = new TemplateProfiler();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("uppercase", new UppercaseLambda());
+        properties.put("lambda", ImmutableMap.of("lowercase", new LowercaseLambda()));
+        properties.put("name", "pet");
+
+        profiler.wrapLambdas(properties);
+
+        String result = Mustache.compiler()
+                .compile("{{#uppercase}}{{name}}{{/uppercase}}-{{#lambda.lowercase}}PET{{/lambda.lowercase}}")
+                .execute(properties);
+        Assert.assertEquals(result, "PET-pet");
+
+        List<TemplateProfiler.Entry> entries = profiler.getTopOffenders(10);
+        Assert.assertEquals(entries.size(), 2);
+        for (TemplateProfiler.Entry entry : entries) {
+            Assert.assertEquals(entry.getKind(), TemplateProfiler.Kind.LAMBDA);
+            Assert.assertEquals(entry.getCount(), 1);
+        }
+    }
+
+    @Test
+    public void recordsPartialExecutions() {
+        TemplateProfiler profiler = new TemplateProfiler();
+        Map<String, String> partials = new HashMap<>();
+        partials.put("one", "partial {{name}}");
+        partials.put("lines", "\n  {{#items}}\n  - {{.}}\n  {{/items}}\n");
+        Mustache.Compiler compiler = Mustache.compiler().withLoader(name -> new StringReader(partials.get(name)));
+        String template = "{{>one}} {{>one}}\nitems:{{>lines}}end";
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "pet");
+        data.put("items", Arrays.asList("a", "b"));
+
+        String expected = compiler.compile(template).execute(data);
+        String result = profiler.profile(compiler).compile(template).execute(data);
+        Assert.assertEquals(result, expected);
+
+        List<TemplateProfiler.Entry> entries = profiler.getTopOffenders(10);
+        Assert.assertEquals(entries.size(), 2);
+        for (TemplateProfiler.Entry entry : entries) {
+            Assert.assertEquals(entry.getKind(), TemplateProfiler.Kind.PARTIAL);
+            Assert.assertEquals(entry.getCount(), "one".equals(entry.getName()) ? 2 : 1);
+        }
+    }
+
+    @Test
+    public void wrapsInvertibleLambdas() {
+        TemplateProfiler profiler = new TemplateProfiler();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("empty", new Mustache.InvertibleLambda() {
+            @Override
+            public void execute(Template.Fragment frag, Writer out) {
+            }
+
+            @Override
+            public void executeInverse(Template.Fragment frag, Writer out) throws IOException {
+                frag.execute(out);
+            }
+        });
+
+        profiler.wrapLambdas(properties);
+
+        Assert.assertTrue(properties.get("empty") instanceof Mustache.InvertibleLambda);
+        String result = Mustache.compiler().compile("{{^empty}}inverted{{/empty}}").execute(properties);
+        Assert.assertEquals(result, "inverted");
+        Assert.assertEquals(profiler.getTopOffenders(10).get(0).getCount(), 1);
+    }
+
+    @Test
+    public void reportIsOrderedByCumulativeTime() {
+        TemplateProfiler profiler = new TemplateProfiler();
+        profiler.record(TemplateProfiler.Kind.TEMPLATE, "fast.mustache", 10);
+        profiler.record(TemplateProfiler.Kind.TEMPLATE, "slow.mustache", 1000);
+        profiler.record(TemplateProfiler.Kind.TEMPLATE, "fast.mustache", 10);
+
+        List<TemplateProfiler.Entry> entries = profiler.getTopOffenders(1);
+        Assert.assertEquals(entries.size(), 1);
+        Assert.assertEquals(entries.get(0).getName(), "slow.mustache");
+        Assert.assertTrue(profiler.report(5).contains("fast.mustache"));
+    }
+}
@@ -45,6 +45,10 @@ public class PythonClientOptionsProvider implements OptionsProvider {
                 .put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, "true")
                 .put(CodegenConstants.SOURCECODEONLY_GENERATION, "false")
                 .put(CodegenConstants.LIBRARY, "urllib3")
+                .put(PythonClientCodegen.SHARED_CONNECTION_POOL, "false")
+                .put(PythonClientCodegen.CONNECTION_POOL_MAXSIZE, "")
+                .put(PythonClientCodegen.CONNECTION_KEEPALIVE, "15")
+                .put(PythonClientCodegen.JSON_LIBRARY, "json")
                 .build();
     }
 
@@ -22,6 +22,7 @@ import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.media.StringSchema;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.SupportingFile;
 import org.openapitools.codegen.TestUtils;
 import org.openapitools.codegen.languages.PythonClientCodegen;
 import org.testng.Assert;
@@ -61,6 +62,41 @@ public class PythonClientCodegenTest {
         Assert.assertEquals(codegen.isHideGenerationTimestamp(), false);
     }
 
+    @Test
+    public void testConnectionPoolAndJsonLibraryOptions() throws Exception {
+        final PythonClientCodegen codegen = new PythonClientCodegen();
+        codegen.processOpts();
+
+        Assert.assertEquals(codegen.additionalProperties().get(PythonClientCodegen.JSON_LIBRARY), "json");
+        Assert.assertEquals(codegen.additionalProperties().get("fastJson"), Boolean.FALSE);
+        Assert.assertEquals(codegen.additionalProperties().get(PythonClientCodegen.CONNECTION_KEEPALIVE), 15);
+        Assert.assertFalse(codegen.additionalProperties().containsKey(PythonClientCodegen.CONNECTION_POOL_MAXSIZE));
+        Assert.assertFalse(hasSupportingFile(codegen, "json_codec.mustache"));
+
+        final PythonClientCodegen fast = new PythonClientCodegen();
+        fast.setLibrary("asyncio");
+        fast.additionalProperties().put(PythonClientCodegen.JSON_LIBRARY, "orjson");
+        fast.additionalProperties().put(PythonClientCodegen.SHARED_CONNECTION_POOL, "true");
+        fast.additionalProperties().put(PythonClientCodegen.CONNECTION_POOL_MAXSIZE, "32");
+        fast.additionalProperties().put(PythonClientCodegen.CONNECTION_KEEPALIVE, "60");
+        fast.processOpts();
+
+        Assert.assertEquals(fast.additionalProperties().get("fastJson"), Boolean.TRUE);
+        Assert.assertEquals(fast.additionalProperties().get(PythonClientCodegen.SHARED_CONNECTION_POOL), Boolean.TRUE);
+        Assert.assertEquals(fast.additionalProperties().get(PythonClientCodegen.CONNECTION_POOL_MAXSIZE), 32);
+        Assert.assertEquals(fast.additionalProperties().get(PythonClientCodegen.CONNECTION_KEEPALIVE), 60);
+        Assert.assertTrue(hasSupportingFile(fast, "json_codec.mustache"));
+    }
+
+    private static boolean hasSupportingFile(PythonClientCodegen codegen, String templateFile) {
+        for (SupportingFile file : codegen.supportingFiles()) {
+            if (templateFile.equals(file.templateFile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Test(description = "test enum null/nullable patterns")
     public void testEnumNull() {
         final OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/issue_1997.yaml");
@@ -0,0 +1,92 @@
+package org.openapitools.codegen.templating;
+
+import com.samskivert.mustache.Mustache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class TemplateContextTest {
+
+    private static Map<String, Object> shared() {
+        Map<String, Object> shared = new HashMap<>();
+        shared.put("package", "org.example");
+        shared.put("version", "1.0.0");
+        return shared;
+    }
+
+    @Test
+    public void fallsBackToParentWithoutModifyingIt() {
+        Map<String, Object> shared = shared();
+        Map<String, Object> context = new TemplateContext(shared);
+        context.put("classname", "Pet");
+        context.put("version", "2.0.0");
+        // a value of the parent is present
+        Assert.assertEquals(context.putIfAbsent("package", "com.other"), "org.example");
+
+        Assert.assertEquals(context.get("classname"), "Pet");
+        Assert.assertEquals(context.get("version"), "2.0.0");
+        Assert.assertEquals(context.get("package"), "org.example");
+        Assert.assertEquals(context.size(), 3);
+        Assert.assertEquals(new HashMap<>(context), new HashMap<String, Object>() {{
+            put("classname", "Pet");
+            put("version", "2.0.0");
+            put("package", "org.example");
+        }});
+        Assert.assertEquals(shared, shared());
+    }
+
+    @Test
+    public void removingParentKeyOnlyHidesIt() {
+        Map<String, Object> shared = shared();
+        Map<String, Object> context = new TemplateContext(shared);
+        context.put("version", "2.0.0");
+
+        Assert.assertEquals(context.remove("version"), "2.0.0");
+        Assert.assertFalse(context.containsKey("version"));
+        Assert.assertNull(context.get("version"));
+
+        for (Iterator<Map.Entry<String, Object>> it = context.entrySet().iterator(); it.hasNext(); ) {
+            it.next();
+            it.remove();
+        }
+        Assert.assertTrue(context.isEmpty());
+        Assert.assertEquals(shared, shared());
+
+        context.put("package", "com.other");
+        Assert.assertEquals(context.get("package"), "com.other");
+    }
+
+    @Test
+    public void parentChangesShowThroughUnlessSnapshotted() {
+        Map<String, Object> shared = shared();
+        Map<String, Object> snapshot = TemplateContext.snapshot(shared, null);
+        Map<String, Object> live = new TemplateContext(shared);
+        Map<String, Object> context = new TemplateContext(snapshot);
+
+        shared.put("version", "2.0.0");
+        Assert.assertEquals(live.get("version"), "2.0.0");
+        Assert.assertEquals(context.get("version"), "1.0.0");
+
+        // a snapshot is reused as long as the shared data doesn't change
+        Map<String, Object> next = TemplateContext.snapshot(shared, snapshot);
+        Assert.assertNotSame(next, snapshot);
+        Assert.assertEquals(next.get("version"), "2.0.0");
+        Assert.assertSame(TemplateContext.snapshot(shared, next), next);
+        shared.remove("package");
+        Assert.assertFalse(TemplateContext.snapshot(shared, next).containsKey("package"));
+    }
+
+    @Test
+    public void rendersThroughLayers() {
+        Map<String, Object> apiData = new TemplateContext(shared());
+        apiData.put("basePath", "/v2");
+        Map<String, Object> context = new TemplateContext(apiData);
+        context.put("classname", "PetApi");
+
+        String rendered = Mustache.compiler().compile("{{package}}.{{classname}} {{basePath}} {{version}}").execute(context);
+        Assert.assertEquals(rendered, "org.example.PetApi /v2 1.0.0");
+    }
+}
@@ -0,0 +1,65 @@
+package org.openapitools.codegen.templating;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class TemplateIndexTest {
+    private Path templateDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        templateDir = Files.createTempDirectory("templateIndex");
+        Files.createDirectories(templateDir.resolve("libraries").resolve("okhttp-gson"));
+        Files.write(templateDir.resolve("model.mustache"), "custom model".getBytes("UTF-8"));
+        Files.write(templateDir.resolve("libraries").resolve("okhttp-gson").resolve("api.mustache"), "custom api".getBytes("UTF-8"));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(templateDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void resolvesInDocumentedOrder() {
+        String dir = templateDir.toString();
+        TemplateIndex index = new TemplateIndex(dir, "Java", "okhttp-gson", getClass().getClassLoader());
+
+        Assert.assertEquals(index.resolve("api.mustache"),
+                dir + File.separator + "libraries" + File.separator + "okhttp-gson" + File.separator + "api.mustache");
+        Assert.assertEquals(index.resolve("model.mustache"), dir + File.separator + "model.mustache");
+        Assert.assertEquals(index.resolve("ApiClient.mustache"),
+                "Java" + File.separator + "libraries" + File.separator + "okhttp-gson" + File.separator + "ApiClient.mustache");
+        Assert.assertEquals(index.resolve("enum_outer_doc.mustache"), "Java" + File.separator + "enum_outer_doc.mustache");
+    }
+
+    @Test
+    public void answersFromScanWithoutFurtherFileLookups() throws IOException {
+        String dir = templateDir.toString();
+        TemplateIndex index = new TemplateIndex(dir, "Java", null, getClass().getClassLoader());
+
+        // files created after the index was built are not visible to it
+        Files.write(templateDir.resolve("pom.mustache"), "custom pom".getBytes("UTF-8"));
+        Assert.assertEquals(index.resolve("pom.mustache"), "Java" + File.separator + "pom.mustache");
+        Assert.assertEquals(new TemplateIndex(dir, "Java", null, getClass().getClassLoader()).resolve("pom.mustache"),
+                dir + File.separator + "pom.mustache");
+    }
+
+    @Test
+    public void isForMatchesLocations() {
+        TemplateIndex index = new TemplateIndex("Java", "Java", null, getClass().getClassLoader());
+        Assert.assertTrue(index.isFor("Java", "Java", null));
+        Assert.assertFalse(index.isFor("Java", "Java", "feign"));
+        Assert.assertFalse(index.isFor("custom", "Java", null));
+    }
+}
@@ -0,0 +1,39 @@
+package org.openapitools.codegen.templating;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+
+public class TemplateSourceCacheTest {
+
+    @Test
+    public void cachesFileSourcesUntilTheyChange() throws Exception {
+        File template = File.createTempFile("template", ".mustache");
+        template.deleteOnExit();
+        Files.write(template.toPath(), "{{name}}".getBytes("UTF-8"));
+
+        TemplateSourceCache.Source first = TemplateSourceCache.load(template);
+        Assert.assertEquals(first.getContent(), "{{name}}");
+        Assert.assertSame(TemplateSourceCache.load(template), first);
+
+        Files.write(template.toPath(), "{{classname}}".getBytes("UTF-8"));
+        Assert.assertEquals(TemplateSourceCache.load(template).getContent(), "{{classname}}");
+    }
+
+    @Test
+    public void prefersClasspathOverFileSystem() throws Exception {
+        TemplateSourceCache.Source source = TemplateSourceCache.load(getClass().getClassLoader(),
+                "_common/.openapi-generator-ignore", "does-not-exist");
+        Assert.assertSame(TemplateSourceCache.load(getClass().getClassLoader(),
+                "_common/.openapi-generator-ignore", "does-not-exist"), source);
+        Assert.assertTrue(source.getContent().contains("OpenAPI Generator Ignore"));
+    }
+
+    @Test(expectedExceptions = FileNotFoundException.class)
+    public void failsForMissingTemplates() throws Exception {
+        TemplateSourceCache.load(getClass().getClassLoader(), "missing/template.mustache", "missing" + File.separator + "template.mustache");
+    }
+}
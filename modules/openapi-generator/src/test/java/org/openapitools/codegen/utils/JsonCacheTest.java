@@ -32,15 +32,22 @@ import org.testng.annotations.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.file.Files;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.testng.Assert.*;
 
@@ -446,6 +453,63 @@ public class JsonCacheTest {
                 "Array element at index 1 incorrect after add(path, value);");
     }
 
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final JsonCache.Root concurrentRoot = JsonCache.Factory.instance.createConcurrent();
+        concurrentRoot.load(new ByteArrayInputStream(JSON.getBytes("UTF-8")));
+        final JsonCache concurrentCache = concurrentRoot.child("/JsonCacheTest");
+        final int threads = 8;
+        final int iterations = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int i = 0; i < iterations; i++) {
+                            concurrentCache.add("/added", i);
+                            concurrentCache.set("/threads/t" + thread + "/value" + i, i);
+                            concurrentCache.getInt("/defaults/d" + (i % 10), i % 10);
+                            assertEquals("a string", concurrentCache.getString("/string"),
+                                    "getString returned incorrect result during concurrent writes;");
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads * iterations, concurrentCache.size("/added"),
+                "Array size incorrect after concurrent adds;");
+        for (int t = 0; t < threads; t++)
+            assertEquals(iterations, concurrentCache.size("/threads/t" + t),
+                    "Object size incorrect after concurrent sets;");
+        assertEquals(10, concurrentCache.size("/defaults"), "Object size incorrect after concurrent default gets;");
+        assertTrue(concurrentRoot.isDirty(), "cache should be dirty after concurrent writes;");
+    }
+
+    @Test
+    public void testConcurrentFactory() throws Exception {
+        JsonCache.Root concurrentRoot = JsonCache.Factory.instance.getConcurrent("JsonCacheTest.concurrent");
+        assertSame(JsonCache.Factory.instance.getConcurrent("JsonCacheTest.concurrent"), concurrentRoot,
+                "getConcurrent(key) returned a different instance;");
+        assertSame(JsonCache.Factory.instance.get("JsonCacheTest.concurrent"), concurrentRoot,
+                "get(key) returned a different instance;");
+
+        JsonCache.Factory.instance.get("JsonCacheTest.plain");
+        try {
+            JsonCache.Factory.instance.getConcurrent("JsonCacheTest.plain");
+            fail("getConcurrent(key) should fail for an existing cache which is not thread-safe;");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testDelete() throws Exception {
         assertTrue(cache.get("") instanceof ObjectNode, "existing root element is not an object;");
@@ -969,6 +1033,77 @@ public class JsonCacheTest {
                 "getString(nestedPath) returned incorrect result after update;");
     }
 
+    @Test
+    public void testLazyLoad() throws Exception {
+        File file = File.createTempFile("JsonCacheTest", ".json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), JSON.getBytes("UTF-8"));
+
+        root = JsonCache.Factory.instance.create().lazyLoadDepth(2).load(file);
+        cache = root.child("/JsonCacheTest");
+        assertFalse(root.isDirty(), "cache should not be dirty after lazy load();");
+
+        testGet();
+
+        assertFalse(root.isDirty(), "cache should not be dirty after reads;");
+    }
+
+    @Test
+    public void testLazyLoadFlush() throws Exception {
+        File file = File.createTempFile("JsonCacheTest", ".json");
+        file.deleteOnExit();
+        String json = "{\"a\": {\"b\": {\"c\": [1,  2]}, \"d\": {\"e\": 1}, \"f\": \"g\"}}";
+        Files.write(file.toPath(), json.getBytes("UTF-8"));
+
+        JsonCache.Root lazyRoot = JsonCache.Factory.instance.create().lazyLoadDepth(2).load(file);
+        assertEquals("g", lazyRoot.getString("/a/f"), "getString returned incorrect result;");
+        assertEquals(1, lazyRoot.getInt("/a/d/e"), "getInt returned incorrect result;");
+        lazyRoot.set("/a/d/h", 2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        lazyRoot.flush(out);
+        assertFalse(lazyRoot.isDirty(), "cache should not be dirty after flush();");
+        assertTrue(new String(out.toByteArray(), "UTF-8").contains("[1,  2]"),
+                "unread subtree should have been copied from the file;");
+
+        JsonCache.Root copy = JsonCache.Factory.instance.create().load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(2, copy.size("/a/b/c"), "unread subtree incorrect after flush();");
+        assertEquals(2, copy.getInt("/a/d/h"), "changed subtree incorrect after flush();");
+        assertEquals("g", copy.getString("/a/f"), "loaded property incorrect after flush();");
+
+        // Saving over the file reads the unread subtrees first.
+        lazyRoot.save(file);
+        copy = JsonCache.Factory.instance.create().load(file);
+        assertEquals(2, copy.getInt("/a/b/c/1"), "unread subtree incorrect after save(file);");
+        assertEquals(2, lazyRoot.getInt("/a/b/c/1"), "unread subtree incorrect after save(file);");
+    }
+
+    @Test
+    public void testLazyLoadFlushCopiesReadSubtrees() throws Exception {
+        File file = File.createTempFile("JsonCacheTest", ".json");
+        file.deleteOnExit();
+        String json = "{\"a\": {\"b\": {\"c\":  1}, \"d\": {\"e\":  2}, \"f\": {\"g\":  3}}}";
+        Files.write(file.toPath(), json.getBytes("UTF-8"));
+
+        JsonCache.Root lazyRoot = JsonCache.Factory.instance.create().lazyLoadDepth(2).load(file);
+        assertEquals(1, lazyRoot.getInt("/a/b/c"), "getInt returned incorrect result;");
+        assertEquals(2, lazyRoot.getInt("/a/d/e"), "getInt returned incorrect result;");
+        lazyRoot.set("/a/d/h", 4);
+        assertTrue(lazyRoot.get("/a/f") instanceof ObjectNode, "get returned incorrect result;");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        lazyRoot.flush(out);
+        String flushed = new String(out.toByteArray(), "UTF-8");
+        assertTrue(flushed.contains("{\"c\":  1}"), "read subtree should have been copied from the file;");
+        assertFalse(flushed.contains("{\"e\":  2"), "changed subtree should have been serialized;");
+        assertFalse(flushed.contains("{\"g\":  3}"), "subtree returned by get() should have been serialized;");
+
+        JsonCache.Root copy = JsonCache.Factory.instance.create().load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(1, copy.getInt("/a/b/c"), "read subtree incorrect after flush();");
+        assertEquals(4, copy.getInt("/a/d/h"), "changed subtree incorrect after flush();");
+        assertEquals(3, copy.getInt("/a/f/g"), "returned subtree incorrect after flush();");
+    }
+
     @Test
     public void testMerge() throws Exception {
         String incoming = "{\n" // split
@@ -1076,6 +1211,23 @@ public class JsonCacheTest {
         assertFalse(root.isDirty(), "cache should not be dirty after reads;");
     }
 
+    @Test
+    public void testPointerCache() throws Exception {
+        assertSame(JsonCacheImpl.pointer("/JsonCacheTest/object"), JsonCacheImpl.pointer("/JsonCacheTest/object"),
+                "pointer(path) should return the cached instance;");
+        assertEquals(JsonPointer.compile("/a/b").toString(), JsonCacheImpl.pointer("/a/b").toString(),
+                "pointer(path) returned incorrect pointer;");
+
+        // Child caches resolve relative paths like JsonPointer.append().
+        assertEquals("foo", cache.getString("/object/nestedObject/a"), "child getString returned incorrect result;");
+        JsonCache nested = cache.child("/object").child("/nestedObject");
+        assertEquals("bar", nested.getString("/b"), "nested child getString returned incorrect result;");
+        assertEquals(null, nested.getString(""), "nested child getString returned incorrect result;");
+        assertEquals(2, nested.size(""), "nested child size returned incorrect result;");
+        assertEquals("a string", root.child("").getString("/JsonCacheTest/string"),
+                "empty child getString returned incorrect result;");
+    }
+
     @Test
     public void testSet() throws Exception {
         cache.set("/boolean", false);